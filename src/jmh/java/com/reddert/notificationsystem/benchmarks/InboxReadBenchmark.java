@@ -0,0 +1,106 @@
+package com.reddert.notificationsystem.benchmarks;
+
+import com.reddert.notificationsystem.ReddertApplication;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationPageDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.notification.services.NotificationService;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The read paths against the real repositories on an in-memory H2 database, at several
+ * inbox sizes. Other users' notifications share the table, so the queries have to use
+ * the (user_id, timestamp, id) index to stay fast. The application runs without the web
+ * server and with every background job switched off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InboxReadBenchmark {
+
+    private static final int OTHER_USERS = 20;
+
+    @Param({"10", "100", "1000"})
+    public int inboxSize;
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ReddertApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:inbox-benchmark-" + inboxSize,
+                        "spring.mail.username=benchmark",
+                        "spring.mail.password=benchmark",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "notification.dispatch.enabled=false",
+                        "notification.scheduler.enabled=false",
+                        "notification.retention.enabled=false")
+                .run();
+        notificationService = context.getBean(NotificationService.class);
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        NotificationRepository notificationRepository = context.getBean(NotificationRepository.class);
+
+        for (int u = 0; u <= OTHER_USERS; u++) {
+            User user = userRepository.save(new User("User " + u, "user" + u + "@example.com"));
+            if (u == 0) {
+                userId = user.getId();
+            }
+            LocalDateTime start = LocalDateTime.now().minusDays(1);
+            List<Notification> notifications = new ArrayList<>(inboxSize);
+            for (int i = 0; i < inboxSize; i++) {
+                Notification notification = new Notification("Notification " + i + " for user " + u, i % 3 == 0, user);
+                notification.setTimestamp(start.plusSeconds(i));
+                notifications.add(notification);
+            }
+            notificationRepository.saveAll(notifications);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<NotificationDTO> getAllNotificationsForUser() {
+        return notificationService.getAllNotificationsForUser(userId);
+    }
+
+    @Benchmark
+    public NotificationPageDTO getInboxFirstPage() {
+        return notificationService.getInbox(userId, null, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.reddert.notificationsystem.benchmarks;
+
+import com.reddert.notificationsystem.notification.config.DispatchProperties;
+import com.reddert.notificationsystem.notification.config.IdempotencyProperties;
+import com.reddert.notificationsystem.notification.config.RateLimitProperties;
+import com.reddert.notificationsystem.notification.config.RetryProperties;
+import com.reddert.notificationsystem.notification.config.UnreadCountProperties;
+import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.notification.repositories.OutboxRepository;
+import com.reddert.notificationsystem.notification.repositories.UserNotificationStatsRepository;
+import com.reddert.notificationsystem.notification.services.CircuitBreakerRegistry;
+import com.reddert.notificationsystem.notification.services.IdempotencyCache;
+import com.reddert.notificationsystem.notification.services.NotificationChannel;
+import com.reddert.notificationsystem.notification.services.NotificationService;
+import com.reddert.notificationsystem.notification.services.OutboxService;
+import com.reddert.notificationsystem.notification.services.RateLimiter;
+import com.reddert.notificationsystem.notification.services.RetryPolicy;
+import com.reddert.notificationsystem.notification.services.UnreadCountService;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationService#createNotification} with the database stubbed out: message
+ * validation, the per-channel rate limiter, entity construction, the outbox write and the
+ * unread counter update. Channels are stubs that only contribute their names; delivery
+ * happens later on the dispatcher and is not part of the request path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationCreateBenchmark {
+
+    private static final int USERS = 1024;
+
+    private NotificationService notificationService;
+    private UUID[] userIds;
+    private CreateNotificationDTO request;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        userIds = new UUID[USERS];
+        Map<UUID, User> users = new HashMap<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User("User " + i, "user" + i + "@example.com");
+            user.setId(UUID.randomUUID());
+            userIds[i] = user.getId();
+            users.put(user.getId(), user);
+        }
+
+        NotificationRepository notificationRepository = Stubs.of(NotificationRepository.class, Map.of(
+                "save", args -> {
+                    Notification notification = (Notification) args[0];
+                    notification.setId(UUID.randomUUID());
+                    return notification;
+                }));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(users.get((UUID) args[0]))));
+        OutboxRepository outboxRepository = Stubs.of(OutboxRepository.class, Map.of("save", args -> args[0]));
+
+        RetryProperties retryProperties = new RetryProperties(5, Duration.ofSeconds(1), 2.0, Duration.ofMinutes(5),
+                new RetryProperties.CircuitBreaker(5, Duration.ofSeconds(30)));
+        OutboxService outboxService = new OutboxService(outboxRepository, Stubs.of(DeadLetterRepository.class, Map.of()),
+                new RetryPolicy(retryProperties), new CircuitBreakerRegistry(retryProperties), event -> { },
+                new DispatchProperties(true, 4, 50, Duration.ofMillis(500), Duration.ofSeconds(30)));
+        UnreadCountService unreadCountService = new UnreadCountService(
+                Stubs.of(UserNotificationStatsRepository.class, Map.of()), notificationRepository, userRepository,
+                new TransactionTemplate(), new UnreadCountProperties(Duration.ofSeconds(5), 100_000, 500));
+
+        // Enabled, but far above what the benchmark can reach, so every call takes the admitting path
+        RateLimitProperties rateLimit = new RateLimitProperties(true, RateLimitProperties.Mode.REJECT,
+                new RateLimitProperties.Limit(Integer.MAX_VALUE, Duration.ofSeconds(1)), Map.of(), Duration.ofMinutes(1));
+        List<NotificationChannel> channels = List.of(new StubChannel("in-app"), new StubChannel("email"));
+
+        notificationService = new NotificationService(notificationRepository, outboxService, userRepository,
+                unreadCountService, new RateLimiter(rateLimit, channels),
+                new IdempotencyCache(new IdempotencyProperties(Duration.ofMinutes(10), 10_000)));
+        request = new CreateNotificationDTO("Your order #1042 has shipped and will arrive on Thursday",
+                NotificationPriority.NORMAL);
+    }
+
+    @Benchmark
+    public NotificationDTO createNotification() {
+        UUID userId = userIds[next++ & (USERS - 1)];
+        return notificationService.createNotification(userId, request);
+    }
+
+    private record StubChannel(String name) implements NotificationChannel {
+        @Override
+        public void send(Notification notification) {
+        }
+    }
+}
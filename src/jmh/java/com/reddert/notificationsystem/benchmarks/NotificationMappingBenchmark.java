@@ -0,0 +1,63 @@
+package com.reddert.notificationsystem.benchmarks;
+
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.user.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping with {@link NotificationDTO#fromEntity}, for one notification and
+ * for a list the size of an inbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotificationMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private Notification notification;
+    private List<Notification> notifications;
+
+    @Setup
+    public void setUp() {
+        User user = new User("Lionel Messi", "lionel.messi@example.com");
+        user.setId(UUID.randomUUID());
+        notifications = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Notification created = new Notification("Notification " + i, i % 3 == 0, user);
+            created.setId(UUID.randomUUID());
+            notifications.add(created);
+        }
+        notification = notifications.get(0);
+    }
+
+    @Benchmark
+    public NotificationDTO mapOne() {
+        return NotificationDTO.fromEntity(notification);
+    }
+
+    @Benchmark
+    public List<NotificationDTO> mapList() {
+        return notifications.stream().map(NotificationDTO::fromEntity).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package com.reddert.notificationsystem.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Hand-rolled stand-ins for repositories and other collaborators. A plain dynamic proxy
+ * costs a map lookup per call, so unlike a mocking framework it does not dominate what
+ * a benchmark measures.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * @param answers results by method name; every other method returns an empty or zero value
+     */
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    Function<Object[], Object> answer = answers.get(method.getName());
+                    if (answer != null) {
+                        return answer.apply(args);
+                    }
+                    return switch (method.getName()) {
+                        case "equals" -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "toString" -> "Stub of " + type.getSimpleName();
+                        default -> emptyValue(method.getReturnType());
+                    };
+                }));
+    }
+
+    private static Object emptyValue(Class<?> type) {
+        if (type == Optional.class) {
+            return Optional.empty();
+        }
+        if (type == List.class) {
+            return List.of();
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
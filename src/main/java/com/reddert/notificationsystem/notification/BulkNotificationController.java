@@ -0,0 +1,29 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.dtos.BulkCreateNotificationsDTO;
+import com.reddert.notificationsystem.notification.dtos.BulkCreateResultDTO;
+import com.reddert.notificationsystem.notification.services.BulkNotificationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/notifications")
+public class BulkNotificationController {
+
+    private final BulkNotificationService bulkNotificationService;
+
+    public BulkNotificationController(BulkNotificationService bulkNotificationService) {
+        this.bulkNotificationService = bulkNotificationService;
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkCreateResultDTO> createNotifications(
+            @Valid @RequestBody BulkCreateNotificationsDTO bulkCreateNotificationsDTO
+    ) {
+        return ResponseEntity.ok(
+                bulkNotificationService.createNotifications(bulkCreateNotificationsDTO.notifications())
+        );
+    }
+}
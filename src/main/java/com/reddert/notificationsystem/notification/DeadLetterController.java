@@ -0,0 +1,39 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.dtos.DeadLetterDTO;
+import com.reddert.notificationsystem.notification.dtos.ReplayResultDTO;
+import com.reddert.notificationsystem.notification.services.DeadLetterService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/notifications/dead-letters")
+public class DeadLetterController {
+
+    private final DeadLetterService deadLetterService;
+
+    public DeadLetterController(DeadLetterService deadLetterService) {
+        this.deadLetterService = deadLetterService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DeadLetterDTO>> getDeadLetters(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(deadLetterService.getDeadLetters(page, size));
+    }
+
+    @PostMapping("/{id}/replay")
+    public ResponseEntity<ReplayResultDTO> replay(@PathVariable UUID id) {
+        return ResponseEntity.accepted().body(deadLetterService.replay(id));
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<ReplayResultDTO> replayAll(@RequestParam(required = false) String channel) {
+        return ResponseEntity.accepted().body(deadLetterService.replayAll(channel));
+    }
+}
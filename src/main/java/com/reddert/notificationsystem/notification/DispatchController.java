@@ -0,0 +1,26 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.dtos.DispatchLatencyDTO;
+import com.reddert.notificationsystem.notification.services.DispatchLatencyTracker;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/notifications/dispatch")
+public class DispatchController {
+
+    private final DispatchLatencyTracker latencyTracker;
+
+    public DispatchController(DispatchLatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+
+    @GetMapping("/latency")
+    public ResponseEntity<List<DispatchLatencyDTO>> getLatency() {
+        return ResponseEntity.ok(latencyTracker.snapshot());
+    }
+}
@@ -1,12 +1,19 @@
 package com.reddert.notificationsystem.notification;
 
 import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.MarkReadDTO;
+import com.reddert.notificationsystem.notification.dtos.MarkReadResultDTO;
 import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationPageDTO;
+import com.reddert.notificationsystem.notification.dtos.UnreadCountDTO;
+import com.reddert.notificationsystem.notification.services.IdempotencyService;
 import com.reddert.notificationsystem.notification.services.NotificationService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,18 +22,24 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final IdempotencyService idempotencyService;
 
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, IdempotencyService idempotencyService) {
         this.notificationService = notificationService;
+        this.idempotencyService = idempotencyService;
     }
 
     @PostMapping
     public ResponseEntity<NotificationDTO> createNotification(
             @PathVariable UUID userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CreateNotificationDTO createNotificationDTO
     ) {
+        if (idempotencyKey == null) {
+            return ResponseEntity.ok(notificationService.createNotification(userId, createNotificationDTO));
+        }
         return ResponseEntity.ok(
-                notificationService.createNotification(userId, createNotificationDTO)
+                idempotencyService.createNotification(userId, idempotencyKey, createNotificationDTO)
         );
     }
 
@@ -35,6 +48,20 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getAllNotificationsForUser(userId));
     }
 
+    @GetMapping("/inbox")
+    public ResponseEntity<NotificationPageDTO> getInbox(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(notificationService.getInbox(userId, cursor, limit));
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCountDTO> getUnreadCount(@PathVariable UUID userId) {
+        return ResponseEntity.ok(new UnreadCountDTO(userId, notificationService.getUnreadCount(userId)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<NotificationDTO> getNotificationById(
             @PathVariable UUID userId,
@@ -59,6 +86,22 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.markAsUnread(userId, id));
     }
 
+    @PutMapping("/read")
+    public ResponseEntity<MarkReadResultDTO> markAsRead(
+            @PathVariable UUID userId,
+            @Valid @RequestBody MarkReadDTO markReadDTO
+    ) {
+        return ResponseEntity.ok(notificationService.markAsRead(userId, markReadDTO.ids()));
+    }
+
+    @PutMapping("/read-all")
+    public ResponseEntity<MarkReadResultDTO> markAllAsRead(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime upTo
+    ) {
+        return ResponseEntity.ok(notificationService.markAllAsRead(userId, upTo));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNotification(
             @PathVariable UUID userId,
@@ -0,0 +1,34 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.services.SseSubscriberRegistry;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/users/{userId}/notifications")
+public class NotificationStreamController {
+
+    private final SseSubscriberRegistry subscriberRegistry;
+    private final UserRepository userRepository;
+
+    public NotificationStreamController(SseSubscriberRegistry subscriberRegistry, UserRepository userRepository) {
+        this.subscriberRegistry = subscriberRegistry;
+        this.userRepository = userRepository;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        return subscriberRegistry.subscribe(userId);
+    }
+}
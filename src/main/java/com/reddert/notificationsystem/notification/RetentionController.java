@@ -0,0 +1,24 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.dtos.RetentionStatusDTO;
+import com.reddert.notificationsystem.notification.services.NotificationPurger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/notifications/retention")
+public class RetentionController {
+
+    private final NotificationPurger purger;
+
+    public RetentionController(NotificationPurger purger) {
+        this.purger = purger;
+    }
+
+    @GetMapping
+    public ResponseEntity<RetentionStatusDTO> getStatus() {
+        return ResponseEntity.ok(purger.status());
+    }
+}
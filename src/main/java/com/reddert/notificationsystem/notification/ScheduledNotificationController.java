@@ -0,0 +1,44 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.dtos.ScheduleNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.ScheduledNotificationDTO;
+import com.reddert.notificationsystem.notification.services.ScheduledNotificationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/users/{userId}/notifications/scheduled")
+public class ScheduledNotificationController {
+
+    private final ScheduledNotificationService scheduledNotificationService;
+
+    public ScheduledNotificationController(ScheduledNotificationService scheduledNotificationService) {
+        this.scheduledNotificationService = scheduledNotificationService;
+    }
+
+    // Accepted rather than OK: the notification itself is created when it comes due
+    @PostMapping
+    public ResponseEntity<ScheduledNotificationDTO> schedule(
+            @PathVariable UUID userId,
+            @Valid @RequestBody ScheduleNotificationDTO scheduleNotificationDTO
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(scheduledNotificationService.schedule(userId, scheduleNotificationDTO));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ScheduledNotificationDTO>> getScheduled(@PathVariable UUID userId) {
+        return ResponseEntity.ok(scheduledNotificationService.getScheduled(userId));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable UUID userId, @PathVariable UUID id) {
+        scheduledNotificationService.cancel(userId, id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.reddert.notificationsystem.notification;
+
+import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.TeamBroadcastDTO;
+import com.reddert.notificationsystem.notification.services.TeamBroadcastService;
+import com.reddert.notificationsystem.team.model.RoleType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/teams/{teamId}/notifications")
+public class TeamNotificationController {
+
+    private final TeamBroadcastService teamBroadcastService;
+
+    public TeamNotificationController(TeamBroadcastService teamBroadcastService) {
+        this.teamBroadcastService = teamBroadcastService;
+    }
+
+    // Accepted rather than OK: the notifications are stored, but delivered later through the outbox
+    @PostMapping
+    public ResponseEntity<TeamBroadcastDTO> broadcast(
+            @PathVariable UUID teamId,
+            @RequestParam(required = false) RoleType role,
+            @Valid @RequestBody CreateNotificationDTO createNotificationDTO
+    ) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(teamBroadcastService.broadcast(teamId, createNotificationDTO, role));
+    }
+}
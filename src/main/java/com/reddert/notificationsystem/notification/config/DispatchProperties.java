@@ -0,0 +1,59 @@
+package com.reddert.notificationsystem.notification.config;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.ConstructorBinding;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Settings for the background dispatcher that drains the notification outbox.
+ *
+ * @param enabled        whether the dispatcher is started with the application
+ * @param workers        number of threads delivering notifications to the channels
+ * @param batchSize      maximum number of claimed outbox entries waiting for a worker, shared between the
+ *                       priority levels by weight
+ * @param pollInterval   how long the poller waits when the outbox is empty
+ * @param leaseTimeout   how long a claimed entry stays locked before another dispatcher may retry it
+ * @param weights        share of the workers each priority level gets while several levels have work
+ * @param latencyTargets time from an entry becoming due to its delivery that each level should stay within
+ */
+@ConfigurationProperties(prefix = "notification.dispatch")
+public record DispatchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("4") int workers,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("30s") Duration leaseTimeout,
+        @DefaultValue Map<NotificationPriority, Integer> weights,
+        @DefaultValue Map<NotificationPriority, Duration> latencyTargets
+) {
+
+    private static final Map<NotificationPriority, Integer> DEFAULT_WEIGHTS = Map.of(
+            NotificationPriority.HIGH, 8,
+            NotificationPriority.NORMAL, 3,
+            NotificationPriority.LOW, 1);
+
+    private static final Map<NotificationPriority, Duration> DEFAULT_LATENCY_TARGETS = Map.of(
+            NotificationPriority.HIGH, Duration.ofSeconds(1),
+            NotificationPriority.NORMAL, Duration.ofSeconds(10),
+            NotificationPriority.LOW, Duration.ofMinutes(5));
+
+    @ConstructorBinding
+    public DispatchProperties {
+    }
+
+    public DispatchProperties(boolean enabled, int workers, int batchSize, Duration pollInterval, Duration leaseTimeout) {
+        this(enabled, workers, batchSize, pollInterval, leaseTimeout, Map.of(), Map.of());
+    }
+
+    public int weightOf(NotificationPriority priority) {
+        return Math.max(weights.getOrDefault(priority, DEFAULT_WEIGHTS.get(priority)), 1);
+    }
+
+    public Duration latencyTargetOf(NotificationPriority priority) {
+        return latencyTargets.getOrDefault(priority, DEFAULT_LATENCY_TARGETS.get(priority));
+    }
+}
@@ -0,0 +1,44 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the email channel.
+ *
+ * @param batch  batching of outgoing emails into shared SMTP sessions
+ * @param digest coalescing of a user's notifications into one email
+ */
+@ConfigurationProperties(prefix = "notification.email")
+public record EmailProperties(@DefaultValue Batch batch, @DefaultValue Digest digest) {
+
+    /**
+     * @param enabled     whether emails are collected into batches instead of being sent one by one
+     * @param window      how long the first email of a batch waits for others to join it
+     * @param maxSize     number of emails that closes a batch before the window ends
+     * @param sessions    number of batches that may be sent in parallel, each over its own SMTP session
+     * @param sendTimeout how long a sender waits for the batch holding its email to be sent
+     */
+    public record Batch(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("100ms") Duration window,
+            @DefaultValue("50") int maxSize,
+            @DefaultValue("2") int sessions,
+            @DefaultValue("10s") Duration sendTimeout
+    ) {
+    }
+
+    /**
+     * @param enabled whether a user's notifications are collected into one digest email
+     * @param window  how long the first notification of a digest waits for others to join it
+     * @param maxSize number of notifications that sends a digest before the window ends
+     */
+    public record Digest(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("1m") Duration window,
+            @DefaultValue("50") int maxSize
+    ) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Deadlines for the parallel channel fan-out.
+ *
+ * @param defaultTimeout deadline applied to channels without an explicit entry in {@code timeouts}
+ * @param timeouts       per-channel deadlines keyed by {@code NotificationChannel.name()}
+ */
+@ConfigurationProperties(prefix = "notification.fanout")
+public record FanOutProperties(
+        @DefaultValue("10s") Duration defaultTimeout,
+        @DefaultValue Map<String, Duration> timeouts
+) {
+
+    public Duration timeoutFor(String channelName) {
+        return timeouts.getOrDefault(channelName, defaultTimeout);
+    }
+}
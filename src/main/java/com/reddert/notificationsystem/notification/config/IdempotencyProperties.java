@@ -0,0 +1,21 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the cache in front of the idempotency key lookup. Keys themselves are kept
+ * as long as their notification; the cache only saves the database round trip for the
+ * retries that follow shortly after the original request.
+ *
+ * @param cacheTtl        how long a created notification is answered from memory
+ * @param cacheMaxEntries upper bound on cached keys; the least recently used one is evicted first
+ */
+@ConfigurationProperties(prefix = "notification.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("10m") Duration cacheTtl,
+        @DefaultValue("10000") int cacheMaxEntries
+) {
+}
@@ -0,0 +1,22 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({
+        DispatchProperties.class,
+        FanOutProperties.class,
+        EmailProperties.class,
+        UnreadCountProperties.class,
+        StreamProperties.class,
+        RetryProperties.class,
+        RateLimitProperties.class,
+        SchedulerProperties.class,
+        RetentionProperties.class,
+        IdempotencyProperties.class
+})
+public class NotificationConfig {
+}
@@ -0,0 +1,47 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Token-bucket limits on notification creation, one bucket per user and channel.
+ *
+ * @param enabled       whether creation is rate limited at all
+ * @param mode          what happens to a request that is over the limit of a channel
+ * @param defaultLimit  limit of channels without an explicit entry in {@code channels}
+ * @param channels      per-channel limits keyed by {@code NotificationChannel.name()}
+ * @param sweepInterval how often buckets that have refilled completely are dropped
+ */
+@ConfigurationProperties(prefix = "notification.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("REJECT") Mode mode,
+        @DefaultValue Limit defaultLimit,
+        @DefaultValue Map<String, Limit> channels,
+        @DefaultValue("1m") Duration sweepInterval
+) {
+
+    public Limit limitFor(String channelName) {
+        return channels.getOrDefault(channelName, defaultLimit);
+    }
+
+    /**
+     * @param capacity notifications a user can receive in a burst
+     * @param period   time in which an empty bucket refills to {@code capacity}
+     */
+    public record Limit(
+            @DefaultValue("60") int capacity,
+            @DefaultValue("1m") Duration period
+    ) {
+    }
+
+    public enum Mode {
+        /** Refuse the whole request with 429 and a Retry-After header. */
+        REJECT,
+        /** Create the notification but leave out the throttled channels when delivering it. */
+        SKIP_CHANNEL
+    }
+}
@@ -0,0 +1,37 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Retention rules for notifications and the pace of the purger that enforces them. The
+ * purge interval is read by the scheduler directly from
+ * {@code notification.retention.interval}.
+ *
+ * @param maxAge     notifications older than this are purged; zero keeps them regardless of age
+ * @param maxPerUser only the newest notifications of each user are kept; zero means no cap
+ * @param scope      whether unread notifications may be purged as well
+ * @param batchSize  rows deleted per transaction
+ * @param batchPause pause between batches, so the purge never competes with requests for long
+ */
+@ConfigurationProperties(prefix = "notification.retention")
+public record RetentionProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("90d") Duration maxAge,
+        @DefaultValue("0") int maxPerUser,
+        @DefaultValue("read-only") Scope scope,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("50ms") Duration batchPause
+) {
+
+    public enum Scope {
+        READ_ONLY,
+        ALL
+    }
+
+    public boolean includesUnread() {
+        return scope == Scope.ALL;
+    }
+}
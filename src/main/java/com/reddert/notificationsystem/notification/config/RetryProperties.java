@@ -0,0 +1,35 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for redelivering notifications to channels that failed.
+ *
+ * @param maxAttempts    deliveries per channel before the notification goes to the dead-letter store
+ * @param initialBackoff delay before the first retry
+ * @param multiplier     growth of the delay with every further attempt
+ * @param maxBackoff     upper bound on the delay
+ * @param circuitBreaker per-channel circuit breaker settings
+ */
+@ConfigurationProperties(prefix = "notification.retry")
+public record RetryProperties(
+        @DefaultValue("5") int maxAttempts,
+        @DefaultValue("1s") Duration initialBackoff,
+        @DefaultValue("2.0") double multiplier,
+        @DefaultValue("5m") Duration maxBackoff,
+        @DefaultValue CircuitBreaker circuitBreaker
+) {
+
+    /**
+     * @param failureThreshold consecutive failures that open the breaker
+     * @param openDuration     how long an open breaker rejects calls before letting a trial call through
+     */
+    public record CircuitBreaker(
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("30s") Duration openDuration
+    ) {
+    }
+}
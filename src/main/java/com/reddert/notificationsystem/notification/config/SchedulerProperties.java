@@ -0,0 +1,27 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for delivering scheduled notifications.
+ *
+ * @param enabled      whether the scheduler is started with the application
+ * @param tick         resolution of the timing wheel; schedules fire at most one tick late
+ * @param wheelSize    slots per level of the timing wheel, a power of two
+ * @param horizon      how far ahead schedules are loaded into memory; must exceed {@code loadInterval}
+ * @param loadInterval how often the next stretch of schedules is loaded from the database
+ * @param batchSize    schedules loaded per query and delivered per transaction
+ */
+@ConfigurationProperties(prefix = "notification.scheduler")
+public record SchedulerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100ms") Duration tick,
+        @DefaultValue("512") int wheelSize,
+        @DefaultValue("10m") Duration horizon,
+        @DefaultValue("1m") Duration loadInterval,
+        @DefaultValue("500") int batchSize
+) {
+}
@@ -0,0 +1,32 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Server-Sent Events stream of in-app notifications.
+ *
+ * @param bufferSize         events queued per connection before the slow-consumer policy applies
+ * @param heartbeatInterval  idle time after which a comment line is sent to keep proxies from closing the connection
+ * @param timeout            lifetime of a connection; clients reconnect automatically afterwards
+ * @param slowConsumerPolicy what to do when a connection's buffer is full
+ */
+@ConfigurationProperties(prefix = "notification.stream")
+public record StreamProperties(
+        @DefaultValue("64") int bufferSize,
+        @DefaultValue("25s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("DROP_OLDEST") SlowConsumerPolicy slowConsumerPolicy
+) {
+
+    public enum SlowConsumerPolicy {
+        /** Discard the oldest queued event to make room for the new one. */
+        DROP_OLDEST,
+        /** Discard the new event. */
+        DROP_NEWEST,
+        /** Close the connection; the client reconnects and reloads its inbox. */
+        DISCONNECT
+    }
+}
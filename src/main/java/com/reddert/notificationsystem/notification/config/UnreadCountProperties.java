@@ -0,0 +1,23 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the per-user unread counters. The reconciliation interval is read by the
+ * scheduler directly from {@code notification.unread.reconcile-interval}.
+ *
+ * @param cacheTtl           how long a count is served from memory before it is read again
+ * @param cacheMaxEntries    upper bound on the number of users cached at once
+ * @param reconcileBatchSize counters checked per statement, by reconciliation and when a
+ *                           broadcast looks for its recipients among the cached users
+ */
+@ConfigurationProperties(prefix = "notification.unread")
+public record UnreadCountProperties(
+        @DefaultValue("5s") Duration cacheTtl,
+        @DefaultValue("100000") int cacheMaxEntries,
+        @DefaultValue("500") int reconcileBatchSize
+) {
+}
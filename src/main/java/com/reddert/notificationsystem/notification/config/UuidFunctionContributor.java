@@ -0,0 +1,48 @@
+package com.reddert.notificationsystem.notification.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.CockroachDialect;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.SQLServerDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code new_uuid()} for HQL, rendered as the current database's own random UUID
+ * function. Set-based inserts such as a team broadcast need an id per row inside the
+ * statement, where Hibernate's UUID generator cannot run, and this keeps those queries
+ * free of any one database's function name.
+ * <p>
+ * Only databases with a native random UUID function are covered; on any other the
+ * function stays unknown and the queries using it fail when the repositories start.
+ * Registered through {@code META-INF/services}.
+ */
+public class UuidFunctionContributor implements FunctionContributor {
+
+    public static final String NEW_UUID = "new_uuid";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = randomUuidFunction(functionContributions.getDialect());
+        if (pattern == null) {
+            return;
+        }
+        functionContributions.getFunctionRegistry().registerPattern(NEW_UUID, pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.UUID));
+    }
+
+    private static String randomUuidFunction(Dialect dialect) {
+        if (dialect instanceof H2Dialect) {
+            return "random_uuid()";
+        }
+        if (dialect instanceof PostgreSQLDialect || dialect instanceof CockroachDialect) {
+            return "gen_random_uuid()";
+        }
+        if (dialect instanceof SQLServerDialect) {
+            return "newid()";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkCreateNotificationsDTO(
+        @NotEmpty(message = "At least one notification is required")
+        @Size(max = 10000, message = "At most 10000 notifications can be created per request")
+        List<BulkNotificationItemDTO> notifications
+) {
+}
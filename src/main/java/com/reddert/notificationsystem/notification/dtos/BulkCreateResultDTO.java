@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.util.List;
+
+public record BulkCreateResultDTO(int created, int rejected, List<BulkItemResultDTO> results) {
+
+    public static BulkCreateResultDTO of(List<BulkItemResultDTO> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.status() == BulkItemResultDTO.Status.CREATED)
+                .count();
+        return new BulkCreateResultDTO(created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,20 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.util.UUID;
+
+public record BulkItemResultDTO(int index, UUID userId, Status status, UUID notificationId, String error) {
+
+    public enum Status {
+        CREATED,
+        USER_NOT_FOUND,
+        INVALID
+    }
+
+    public static BulkItemResultDTO created(int index, UUID userId, UUID notificationId) {
+        return new BulkItemResultDTO(index, userId, Status.CREATED, notificationId, null);
+    }
+
+    public static BulkItemResultDTO rejected(int index, UUID userId, Status status, String error) {
+        return new BulkItemResultDTO(index, userId, status, null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+
+import java.util.UUID;
+
+// Items are validated one by one in the service so a bad item fails alone, not the whole request
+public record BulkNotificationItemDTO(UUID userId, String message, NotificationPriority priority) {
+
+    public BulkNotificationItemDTO(UUID userId, String message) {
+        this(userId, message, null);
+    }
+}
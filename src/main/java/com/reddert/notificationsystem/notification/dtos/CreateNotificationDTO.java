@@ -1,11 +1,22 @@
 package com.reddert.notificationsystem.notification.dtos;
 
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 public record CreateNotificationDTO(
         @NotBlank(message = "Notification message cannot be blank")
         @Size(max = 500, message = "Notification message is too long")
-        String message
+        String message,
+        // Optional; notifications without one are NORMAL
+        NotificationPriority priority
 ) {
+
+    public CreateNotificationDTO(String message) {
+        this(message, null);
+    }
+
+    public NotificationPriority priorityOrDefault() {
+        return priority == null ? NotificationPriority.NORMAL : priority;
+    }
 }
@@ -0,0 +1,26 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.model.DeadLetter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record DeadLetterDTO(
+        UUID id,
+        UUID notificationId,
+        String channel,
+        int attempts,
+        String lastError,
+        LocalDateTime failedAt
+) {
+    public static DeadLetterDTO fromEntity(DeadLetter deadLetter) {
+        return new DeadLetterDTO(
+                deadLetter.getId(),
+                deadLetter.getNotificationId(),
+                deadLetter.getChannel(),
+                deadLetter.getAttempts(),
+                deadLetter.getLastError(),
+                deadLetter.getFailedAt()
+        );
+    }
+}
@@ -0,0 +1,8 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+/**
+ * A notification its owner is about to delete: enough to fix the unread counter and drop
+ * the response cached for its idempotency key, without loading the row.
+ */
+public record DeleteCandidateDTO(boolean read, String idempotencyKey) {
+}
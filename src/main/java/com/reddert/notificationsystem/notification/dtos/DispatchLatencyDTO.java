@@ -0,0 +1,19 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+
+/**
+ * Dispatch latency of one priority level since startup.
+ *
+ * @param withinTarget fraction of deliveries that met {@code targetMillis}
+ */
+public record DispatchLatencyDTO(
+        NotificationPriority priority,
+        long delivered,
+        long targetMillis,
+        double withinTarget,
+        long p50Millis,
+        long p99Millis,
+        long maxMillis
+) {
+}
@@ -0,0 +1,14 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Inbox query result: the {@link NotificationDTO} columns plus the timestamp needed to
+ * build the next page's cursor.
+ */
+public record InboxRowDTO(UUID id, String message, boolean read, LocalDateTime timestamp) {
+    public NotificationDTO toNotificationDTO() {
+        return new NotificationDTO(id, message, read);
+    }
+}
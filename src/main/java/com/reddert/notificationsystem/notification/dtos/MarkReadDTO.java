@@ -0,0 +1,14 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record MarkReadDTO(
+        @NotEmpty(message = "At least one notification id is required")
+        @Size(max = 1000, message = "At most 1000 notifications can be marked per request")
+        List<UUID> ids
+) {
+}
@@ -0,0 +1,8 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+/**
+ * Result of a bulk read-state change. {@code updated} counts only notifications that
+ * were unread before the call.
+ */
+public record MarkReadResultDTO(int updated) {
+}
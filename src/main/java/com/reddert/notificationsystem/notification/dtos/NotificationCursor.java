@@ -0,0 +1,40 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the inbox ordering, the (timestamp, id) of the last notification on a page.
+ * Clients only ever see the URL-safe encoded form and should treat it as opaque.
+ */
+public record NotificationCursor(LocalDateTime timestamp, UUID id) {
+
+    public static NotificationCursor of(InboxRowDTO row) {
+        return new NotificationCursor(row.timestamp(), row.id());
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static NotificationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new NotificationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
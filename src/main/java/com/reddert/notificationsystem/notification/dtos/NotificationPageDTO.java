@@ -0,0 +1,10 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.util.List;
+
+/**
+ * One page of a user's inbox. {@code nextCursor} is passed back to fetch the following
+ * page and is {@code null} on the last one.
+ */
+public record NotificationPageDTO(List<NotificationDTO> items, String nextCursor) {
+}
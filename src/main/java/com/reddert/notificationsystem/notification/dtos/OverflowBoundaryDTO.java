@@ -0,0 +1,11 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The newest notification of a user that no longer fits under the per-user cap; the
+ * retention purger deletes it and everything older.
+ */
+public record OverflowBoundaryDTO(UUID userId, LocalDateTime timestamp, UUID id) {
+}
@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification the retention purger is about to delete: enough to delete it by id, fix
+ * the owner's unread counter, drop its cached idempotent response and continue the scan
+ * after it.
+ */
+public record PurgeCandidateDTO(UUID id, UUID userId, boolean read, LocalDateTime timestamp,
+                                String idempotencyKey) {
+}
@@ -0,0 +1,4 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+public record ReplayResultDTO(int replayed) {
+}
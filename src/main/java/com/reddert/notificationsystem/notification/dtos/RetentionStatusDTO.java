@@ -0,0 +1,19 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the retention purger.
+ *
+ * @param lagMillis how far past its retention the oldest notification seen in the last batch was;
+ *                  zero once a run has caught up
+ */
+public record RetentionStatusDTO(
+        boolean enabled,
+        LocalDateTime lastRunStartedAt,
+        long lastRunMillis,
+        long lastRunPurged,
+        long totalPurged,
+        long lagMillis
+) {
+}
@@ -0,0 +1,25 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+public record ScheduleNotificationDTO(
+        @NotBlank(message = "Notification message cannot be blank")
+        @Size(max = 500, message = "Notification message is too long")
+        String message,
+        // Optional; notifications without one are NORMAL
+        NotificationPriority priority,
+        @NotNull(message = "sendAt is required")
+        @Future(message = "sendAt must be in the future")
+        LocalDateTime sendAt
+) {
+
+    public NotificationPriority priorityOrDefault() {
+        return priority == null ? NotificationPriority.NORMAL : priority;
+    }
+}
@@ -0,0 +1,8 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// What the scheduler keeps in memory per schedule; the message stays in the database until it is due
+public record ScheduleSlotDTO(UUID id, LocalDateTime sendAt) {
+}
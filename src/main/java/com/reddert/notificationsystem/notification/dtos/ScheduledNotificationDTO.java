@@ -0,0 +1,25 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.ScheduledNotification;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ScheduledNotificationDTO(
+        UUID id,
+        UUID userId,
+        String message,
+        NotificationPriority priority,
+        LocalDateTime sendAt
+) {
+    public static ScheduledNotificationDTO fromEntity(ScheduledNotification scheduled) {
+        return new ScheduledNotificationDTO(
+                scheduled.getId(),
+                scheduled.getUserId(),
+                scheduled.getMessage(),
+                scheduled.getPriority(),
+                scheduled.getSendAt()
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.team.model.RoleType;
+
+import java.util.UUID;
+
+// roleType is null when the broadcast goes to every member
+public record TeamBroadcastDTO(UUID broadcastId, UUID teamId, String message,
+                               NotificationPriority priority, RoleType roleType) {
+}
@@ -0,0 +1,6 @@
+package com.reddert.notificationsystem.notification.dtos;
+
+import java.util.UUID;
+
+public record UnreadCountDTO(UUID userId, long unread) {
+}
@@ -0,0 +1,8 @@
+package com.reddert.notificationsystem.notification.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,8 @@
+package com.reddert.notificationsystem.notification.exceptions;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
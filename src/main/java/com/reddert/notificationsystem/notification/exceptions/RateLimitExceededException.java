@@ -0,0 +1,17 @@
+package com.reddert.notificationsystem.notification.exceptions;
+
+import java.time.Duration;
+
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(String channel, Duration retryAfter) {
+        super("Too many notifications via " + channel);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,94 @@
+package com.reddert.notificationsystem.notification.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A delivery that failed on every attempt. It is kept until an operator replays it,
+ * which puts it back into the outbox with a fresh set of attempts.
+ */
+@Entity
+@Table(name = "notification_dead_letter", indexes = {
+        @Index(name = "idx_dead_letter_failed_at", columnList = "failed_at")
+})
+public class DeadLetter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @NotNull
+    @Column(name = "notification_id", nullable = false)
+    private UUID notificationId;
+
+    @NotNull
+    @Column(name = "channel", nullable = false, length = 50)
+    private String channel;
+
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+
+    // Kept so a replay is queued at the level the notification was created with
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false, length = 10)
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    public DeadLetter() {
+        // Default constructor for JPA
+    }
+
+    public DeadLetter(UUID notificationId, String channel, int attempts, String lastError) {
+        this(notificationId, channel, attempts, lastError, NotificationPriority.NORMAL);
+    }
+
+    public DeadLetter(UUID notificationId, String channel, int attempts, String lastError,
+                      NotificationPriority priority) {
+        this.priority = priority;
+        this.notificationId = notificationId;
+        this.channel = channel;
+        this.attempts = attempts;
+        this.lastError = lastError;
+        this.failedAt = LocalDateTime.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getNotificationId() {
+        return notificationId;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getFailedAt() {
+        return failedAt;
+    }
+
+    public NotificationPriority getPriority() {
+        return priority;
+    }
+}
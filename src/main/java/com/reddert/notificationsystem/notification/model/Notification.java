@@ -7,8 +7,21 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@Table(uniqueConstraints = {
+        // A retried create finds the original through this constraint, and a racing retry fails on it
+        @UniqueConstraint(name = "uk_notification_user_idempotency_key", columnNames = {"user_id", "idempotency_key"})
+}, indexes = {
+        // Serves the inbox: equality on user_id, then a range scan in (timestamp, id) order
+        @Index(name = "idx_notification_user_timestamp_id", columnList = "user_id, timestamp, id"),
+        // Lets the retention purger walk the table oldest first
+        @Index(name = "idx_notification_timestamp_id", columnList = "timestamp, id"),
+        // Finds the rows of a team broadcast right after they are inserted, to queue their delivery
+        @Index(name = "idx_notification_broadcast_id", columnList = "broadcast_id")
+})
 public class Notification {
 
+    public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
@@ -21,6 +34,18 @@ public class Notification {
     @NotNull
     private LocalDateTime timestamp;
 
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    @Column(name = "idempotency_key", length = Notification.MAX_IDEMPOTENCY_KEY_LENGTH)
+    private String idempotencyKey;
+
+    // Set on the notifications a team broadcast creates
+    @Column(name = "broadcast_id")
+    private UUID broadcastId;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private final User user; // Make the field final for security
@@ -74,6 +99,26 @@ public class Notification {
         this.timestamp = timestamp;
     }
 
+    public NotificationPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(NotificationPriority priority) {
+        this.priority = priority;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public UUID getBroadcastId() {
+        return broadcastId;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.notification.model;
+
+/**
+ * Delivery priority of a notification. Each level has its own dispatch queue, served in
+ * proportion to its weight in {@code notification.dispatch.weights}.
+ */
+public enum NotificationPriority {
+    /** Security alerts and other notifications a user must see right away. */
+    HIGH,
+    NORMAL,
+    /** Marketing and other bulk traffic that may wait behind everything else. */
+    LOW
+}
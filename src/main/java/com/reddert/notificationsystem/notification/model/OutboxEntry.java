@@ -0,0 +1,143 @@
+package com.reddert.notificationsystem.notification.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A pending delivery of a {@link Notification} to the notification channels.
+ * Entries are written in the same transaction as the notification and removed
+ * by the dispatcher once delivery has succeeded. An entry without a channel
+ * targets every channel; channels that fail get an entry of their own, which is
+ * rescheduled with backoff until it succeeds or runs out of attempts.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        // Each priority level is claimed separately, oldest due entry first
+        @Index(name = "idx_outbox_priority_available_at", columnList = "priority, available_at"),
+        @Index(name = "idx_outbox_claim_token", columnList = "claim_token")
+})
+public class OutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @NotNull
+    @Column(name = "notification_id", nullable = false)
+    private UUID notificationId;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @NotNull
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    // Set while a dispatcher holds the entry; an expired lease makes it claimable again
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "claim_token")
+    private UUID claimToken;
+
+    private int attempts = 0;
+
+    // Null means all channels
+    @Column(name = "channel", length = 50)
+    private String channel;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false, length = 10)
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    public OutboxEntry() {
+        // Default constructor for JPA
+    }
+
+    public OutboxEntry(UUID notificationId) {
+        this(notificationId, null);
+    }
+
+    public OutboxEntry(UUID notificationId, String channel) {
+        this(notificationId, channel, NotificationPriority.NORMAL);
+    }
+
+    public OutboxEntry(UUID notificationId, String channel, NotificationPriority priority) {
+        this.notificationId = notificationId;
+        this.channel = channel;
+        this.priority = priority;
+        this.createdAt = LocalDateTime.now();
+        this.availableAt = this.createdAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getNotificationId() {
+        return notificationId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(LocalDateTime availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public UUID getClaimToken() {
+        return claimToken;
+    }
+
+    public void setClaimToken(UUID claimToken) {
+        this.claimToken = claimToken;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public NotificationPriority getPriority() {
+        return priority;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
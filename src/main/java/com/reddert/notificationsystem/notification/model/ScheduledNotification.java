@@ -0,0 +1,86 @@
+package com.reddert.notificationsystem.notification.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification to be created at {@code sendAt}. The row is deleted in the same
+ * transaction that creates the notification, so a schedule is delivered exactly once
+ * and survives restarts until then. The user is kept as a plain id: a schedule of a
+ * deleted user is dropped when it comes due.
+ */
+@Entity
+@Table(name = "scheduled_notification", indexes = {
+        // Serves the scheduler's look-ahead: a range scan over the next few minutes
+        @Index(name = "idx_scheduled_send_at_id", columnList = "send_at, id"),
+        @Index(name = "idx_scheduled_user_send_at", columnList = "user_id, send_at")
+})
+public class ScheduledNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private UUID id;
+
+    @NotNull
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @NotNull
+    @Column(nullable = false, length = 500)
+    private String message;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private NotificationPriority priority = NotificationPriority.NORMAL;
+
+    @NotNull
+    @Column(name = "send_at", nullable = false)
+    private LocalDateTime sendAt;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public ScheduledNotification() {
+        // Default constructor for JPA
+    }
+
+    public ScheduledNotification(UUID userId, String message, NotificationPriority priority, LocalDateTime sendAt) {
+        this.userId = userId;
+        this.message = message;
+        this.priority = priority;
+        this.sendAt = sendAt;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public NotificationPriority getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getSendAt() {
+        return sendAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
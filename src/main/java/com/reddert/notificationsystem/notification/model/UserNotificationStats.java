@@ -0,0 +1,60 @@
+package com.reddert.notificationsystem.notification.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.util.UUID;
+
+/**
+ * Per-user notification counters, kept up to date by the write paths so the unread badge
+ * is a primary-key lookup instead of a scan over the user's notifications. Rows are
+ * created lazily on first read and only ever changed with relative updates.
+ */
+@Entity
+@Table(name = "user_notification_stats")
+public class UserNotificationStats implements Persistable<UUID> {
+
+    @Id
+    @Column(name = "user_id")
+    private UUID userId;
+
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+
+    // Ids are assigned, so tell Spring Data when to persist rather than merge
+    @Transient
+    private boolean isNew = true;
+
+    protected UserNotificationStats() {
+        // Default constructor for JPA
+    }
+
+    public UserNotificationStats(UUID userId, long unreadCount) {
+        this.userId = userId;
+        this.unreadCount = unreadCount;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public UUID getId() {
+        return userId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+}
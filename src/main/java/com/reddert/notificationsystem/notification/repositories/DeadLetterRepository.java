@@ -0,0 +1,17 @@
+package com.reddert.notificationsystem.notification.repositories;
+
+import com.reddert.notificationsystem.notification.model.DeadLetter;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface DeadLetterRepository extends JpaRepository<DeadLetter, UUID> {
+
+    List<DeadLetter> findAllByOrderByFailedAtDesc(Pageable pageable);
+
+    List<DeadLetter> findByChannelOrderByFailedAt(String channel, Pageable pageable);
+
+    List<DeadLetter> findAllByOrderByFailedAt(Pageable pageable);
+}
@@ -1,12 +1,147 @@
 package com.reddert.notificationsystem.notification.repositories;
 
+import com.reddert.notificationsystem.notification.dtos.DeleteCandidateDTO;
+import com.reddert.notificationsystem.notification.dtos.InboxRowDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.OverflowBoundaryDTO;
+import com.reddert.notificationsystem.notification.dtos.PurgeCandidateDTO;
 import com.reddert.notificationsystem.notification.model.Notification;
-import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.team.model.RoleType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
-    List<Notification> findByUser(User user);
+
+    // Read paths select straight into DTOs: no entity hydration, no User join, ownership checked in SQL
+
+    @Query("select new com.reddert.notificationsystem.notification.dtos.NotificationDTO(n.id, n.message, n.read) "
+            + "from Notification n where n.user.id = :userId")
+    List<NotificationDTO> findDTOsByUserId(@Param("userId") UUID userId);
+
+    @Query("select new com.reddert.notificationsystem.notification.dtos.NotificationDTO(n.id, n.message, n.read) "
+            + "from Notification n where n.id = :id and n.user.id = :userId")
+    Optional<NotificationDTO> findDTOByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("select new com.reddert.notificationsystem.notification.dtos.NotificationDTO(n.id, n.message, n.read) "
+            + "from Notification n where n.user.id = :userId and n.idempotencyKey = :idempotencyKey")
+    Optional<NotificationDTO> findDTOByUserIdAndIdempotencyKey(@Param("userId") UUID userId,
+                                                              @Param("idempotencyKey") String idempotencyKey);
+
+    @Query("select new com.reddert.notificationsystem.notification.dtos.DeleteCandidateDTO(n.read, n.idempotencyKey) "
+            + "from Notification n where n.id = :id and n.user.id = :userId")
+    Optional<DeleteCandidateDTO> findDeleteCandidate(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Query("select count(n) from Notification n where n.user.id = :userId and n.read = false")
+    long countUnreadByUserId(@Param("userId") UUID userId);
+
+    @Query("select new com.reddert.notificationsystem.notification.dtos.InboxRowDTO(n.id, n.message, n.read, n.timestamp) "
+            + "from Notification n where n.user.id = :userId order by n.timestamp desc, n.id desc")
+    List<InboxRowDTO> findInboxPage(@Param("userId") UUID userId, Limit limit);
+
+    /**
+     * Next inbox page after the given position. The row-value comparison keeps the
+     * predicate on the (user_id, timestamp, id) index, so every page is a bounded range
+     * scan no matter how deep the caller has paged.
+     */
+    @Query("select new com.reddert.notificationsystem.notification.dtos.InboxRowDTO(n.id, n.message, n.read, n.timestamp) "
+            + "from Notification n where n.user.id = :userId "
+            + "and (n.timestamp, n.id) < (:timestamp, :id) "
+            + "order by n.timestamp desc, n.id desc")
+    List<InboxRowDTO> findInboxPageAfter(@Param("userId") UUID userId,
+                                         @Param("timestamp") LocalDateTime timestamp,
+                                         @Param("id") UUID id,
+                                         Limit limit);
+
+    // Bulk read-state changes skip already-read rows so the returned count can move the unread counter
+
+    @Modifying
+    @Query("update Notification n set n.read = true "
+            + "where n.user.id = :userId and n.read = false and n.timestamp <= :upTo")
+    int markAllAsRead(@Param("userId") UUID userId, @Param("upTo") LocalDateTime upTo);
+
+    @Modifying
+    @Query("update Notification n set n.read = true "
+            + "where n.user.id = :userId and n.read = false and n.id in :ids")
+    int markAsRead(@Param("userId") UUID userId, @Param("ids") Collection<UUID> ids);
+
+    // Retention: candidates are read in index order and deleted by id in short batches
+
+    /**
+     * Next notifications older than the cutoff, oldest first, after the given position.
+     * The scan follows the (timestamp, id) index; the position lets it step over the
+     * unread rows that a read-only policy keeps.
+     */
+    @Query("select new com.reddert.notificationsystem.notification.dtos.PurgeCandidateDTO(n.id, n.user.id, n.read, n.timestamp, n.idempotencyKey) "
+            + "from Notification n where n.timestamp < :cutoff "
+            + "and (n.timestamp, n.id) > (:timestamp, :id) "
+            + "and (:includeUnread = true or n.read = true) "
+            + "order by n.timestamp, n.id")
+    List<PurgeCandidateDTO> findExpiredAfter(@Param("cutoff") LocalDateTime cutoff,
+                                             @Param("timestamp") LocalDateTime timestamp,
+                                             @Param("id") UUID id,
+                                             @Param("includeUnread") boolean includeUnread,
+                                             Limit limit);
+
+    /**
+     * For each user holding more than {@code position - 1} notifications, the one at that
+     * depth of their inbox, newest first. Users come in id order so the purger can page
+     * through them, and one statement finds the cut-off of a whole page.
+     */
+    @Query("select new com.reddert.notificationsystem.notification.dtos.OverflowBoundaryDTO(r.userId, r.timestamp, r.id) "
+            + "from (select n.user.id as userId, n.timestamp as timestamp, n.id as id, "
+            + "row_number() over (partition by n.user.id order by n.timestamp desc, n.id desc) as position "
+            + "from Notification n where n.user.id > :after) r "
+            + "where r.position = :position order by r.userId")
+    List<OverflowBoundaryDTO> findOverflowBoundariesAfter(@Param("after") UUID after,
+                                                          @Param("position") long position,
+                                                          Limit limit);
+
+    /**
+     * A user's notifications at or below the given inbox position, newest first.
+     */
+    @Query("select new com.reddert.notificationsystem.notification.dtos.PurgeCandidateDTO(n.id, n.user.id, n.read, n.timestamp, n.idempotencyKey) "
+            + "from Notification n where n.user.id = :userId "
+            + "and (n.timestamp, n.id) <= (:timestamp, :id) "
+            + "and (:includeUnread = true or n.read = true) "
+            + "order by n.timestamp desc, n.id desc")
+    List<PurgeCandidateDTO> findOverflowFrom(@Param("userId") UUID userId,
+                                             @Param("timestamp") LocalDateTime timestamp,
+                                             @Param("id") UUID id,
+                                             @Param("includeUnread") boolean includeUnread,
+                                             Limit limit);
+
+    /**
+     * Creates one unread notification per member of a team, optionally only for members
+     * with the given role, in a single INSERT ... SELECT. The rows carry the broadcast id
+     * so their delivery can be queued the same way. Ids come from the database because
+     * Hibernate cannot run its UUID generator inside the statement; {@code new_uuid()} is
+     * rendered per database by {@link com.reddert.notificationsystem.notification.config.UuidFunctionContributor}.
+     *
+     * @return the number of notifications created
+     */
+    @Modifying
+    @Query("insert into Notification (id, message, read, timestamp, priority, broadcastId, user) "
+            + "select new_uuid(), :message, false, :timestamp, :priority, :broadcastId, m.user "
+            + "from MemberOf m "
+            + "where m.id.teamId = :teamId and (:roleType is null or m.role.roleType = :roleType)")
+    int insertForTeamMembers(@Param("teamId") UUID teamId,
+                             @Param("roleType") RoleType roleType,
+                             @Param("broadcastId") UUID broadcastId,
+                             @Param("message") String message,
+                             @Param("priority") NotificationPriority priority,
+                             @Param("timestamp") LocalDateTime timestamp);
+
+    @Query("select n.user.id from Notification n where n.broadcastId = :broadcastId and n.user.id in :userIds")
+    List<UUID> findBroadcastRecipientsAmong(@Param("broadcastId") UUID broadcastId,
+                                            @Param("userIds") Collection<UUID> userIds);
 }
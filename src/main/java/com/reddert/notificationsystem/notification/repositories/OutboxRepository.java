@@ -0,0 +1,59 @@
+package com.reddert.notificationsystem.notification.repositories;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.OutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OutboxRepository extends JpaRepository<OutboxEntry, UUID> {
+
+    @Query("select e.id from OutboxEntry e "
+            + "where e.priority = :priority and e.availableAt <= :now "
+            + "and (e.lockedUntil is null or e.lockedUntil < :now) "
+            + "order by e.availableAt")
+    List<UUID> findClaimableIds(@Param("priority") NotificationPriority priority,
+                                @Param("now") LocalDateTime now,
+                                Pageable pageable);
+
+    // Only entries that are still unlocked are taken, so concurrent dispatchers never share an entry
+    @Modifying(clearAutomatically = true)
+    @Query("update OutboxEntry e set e.claimToken = :token, e.lockedUntil = :lease, e.attempts = e.attempts + 1 "
+            + "where e.id in :ids and (e.lockedUntil is null or e.lockedUntil < :now)")
+    int claim(@Param("ids") Collection<UUID> ids,
+              @Param("token") UUID token,
+              @Param("now") LocalDateTime now,
+              @Param("lease") LocalDateTime lease);
+
+    List<OutboxEntry> findByClaimToken(UUID claimToken);
+
+    // Guarded by the claim token, so a dispatcher whose lease already expired cannot move the entry
+    @Modifying
+    @Query("update OutboxEntry e set e.availableAt = :availableAt, e.attempts = :attempts, e.lastError = :lastError, "
+            + "e.lockedUntil = null, e.claimToken = null "
+            + "where e.id = :id and e.claimToken = :token")
+    int reschedule(@Param("id") UUID id,
+                   @Param("token") UUID token,
+                   @Param("availableAt") LocalDateTime availableAt,
+                   @Param("attempts") int attempts,
+                   @Param("lastError") String lastError);
+
+    // Guarded like reschedule: once the lease has expired the entry belongs to whoever claimed it next
+    @Modifying
+    @Query("delete from OutboxEntry e where e.id = :id and e.claimToken = :token")
+    int deleteClaimed(@Param("id") UUID id, @Param("token") UUID token);
+
+    // One entry for all channels per notification of a broadcast; ids as in NotificationRepository#insertForTeamMembers
+    @Modifying
+    @Query("insert into OutboxEntry (id, notificationId, createdAt, availableAt, attempts, priority) "
+            + "select new_uuid(), n.id, :now, :now, 0, n.priority "
+            + "from Notification n where n.broadcastId = :broadcastId")
+    int enqueueBroadcast(@Param("broadcastId") UUID broadcastId, @Param("now") LocalDateTime now);
+}
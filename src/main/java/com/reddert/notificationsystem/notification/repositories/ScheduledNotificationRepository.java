@@ -0,0 +1,45 @@
+package com.reddert.notificationsystem.notification.repositories;
+
+import com.reddert.notificationsystem.notification.dtos.ScheduleSlotDTO;
+import com.reddert.notificationsystem.notification.model.ScheduledNotification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ScheduledNotificationRepository extends JpaRepository<ScheduledNotification, UUID> {
+
+    List<ScheduledNotification> findByUserIdOrderBySendAt(UUID userId);
+
+    @Query("select new com.reddert.notificationsystem.notification.dtos.ScheduleSlotDTO(s.id, s.sendAt) "
+            + "from ScheduledNotification s "
+            + "where s.sendAt > :from and s.sendAt <= :to "
+            + "order by s.sendAt, s.id")
+    List<ScheduleSlotDTO> findSlotsBetween(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Limit limit);
+
+    // Keyset continuation of findSlotsBetween after the last slot of the previous page
+    @Query("select new com.reddert.notificationsystem.notification.dtos.ScheduleSlotDTO(s.id, s.sendAt) "
+            + "from ScheduledNotification s "
+            + "where s.sendAt <= :to and (s.sendAt, s.id) > (:sendAt, :id) "
+            + "order by s.sendAt, s.id")
+    List<ScheduleSlotDTO> findSlotsBetweenAfter(@Param("to") LocalDateTime to,
+                                                @Param("sendAt") LocalDateTime sendAt,
+                                                @Param("id") UUID id,
+                                                Limit limit);
+
+    // Exactly one transaction deletes a given row, which makes it the one that delivers it
+    @Modifying
+    @Query("delete from ScheduledNotification s where s.id = :id")
+    int deleteDue(@Param("id") UUID id);
+
+    @Modifying
+    @Query("delete from ScheduledNotification s where s.id = :id and s.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+}
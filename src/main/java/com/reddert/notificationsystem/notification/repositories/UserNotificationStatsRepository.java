@@ -0,0 +1,46 @@
+package com.reddert.notificationsystem.notification.repositories;
+
+import com.reddert.notificationsystem.notification.model.UserNotificationStats;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface UserNotificationStatsRepository extends JpaRepository<UserNotificationStats, UUID> {
+
+    // Relative, so concurrent writers never overwrite each other's changes
+    @Modifying
+    @Query("update UserNotificationStats s set s.unreadCount = s.unreadCount + :delta where s.userId in :userIds")
+    int adjustUnreadCount(@Param("userIds") Collection<UUID> userIds, @Param("delta") long delta);
+
+    @Modifying
+    @Query("update UserNotificationStats s set s.unreadCount = s.unreadCount + 1 "
+            + "where s.userId in (select n.user.id from Notification n where n.broadcastId = :broadcastId)")
+    int incrementForBroadcast(@Param("broadcastId") UUID broadcastId);
+
+    @Query("select s.userId from UserNotificationStats s where s.userId > :after order by s.userId")
+    List<UUID> findUserIdsAfter(@Param("after") UUID after, Limit limit);
+
+    /**
+     * Resets the counters of the given users to their actual number of unread
+     * notifications, touching only rows that have drifted.
+     *
+     * @return the number of corrected counters
+     */
+    @Modifying
+    @Query("update UserNotificationStats s "
+            + "set s.unreadCount = (select count(n) from Notification n where n.user.id = s.userId and n.read = false) "
+            + "where s.userId in :userIds "
+            + "and s.unreadCount <> (select count(n) from Notification n where n.user.id = s.userId and n.read = false)")
+    int reconcile(@Param("userIds") Collection<UUID> userIds);
+
+    @Modifying
+    @Query("delete from UserNotificationStats s where s.userId in :userIds "
+            + "and not exists (select u.id from User u where u.id = s.userId)")
+    int deleteOrphaned(@Param("userIds") Collection<UUID> userIds);
+}
@@ -0,0 +1,123 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.BulkCreateResultDTO;
+import com.reddert.notificationsystem.notification.dtos.BulkItemResultDTO;
+import com.reddert.notificationsystem.notification.dtos.BulkNotificationItemDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates many notifications in one transaction. Recipients are resolved with a single
+ * IN query and the rows are written in chunks that line up with the Hibernate JDBC batch
+ * size, clearing the persistence context after each chunk so memory stays bounded.
+ */
+@Service
+public class BulkNotificationService {
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final UnreadCountService unreadCountService;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    public BulkNotificationService(NotificationRepository notificationRepository,
+                                   UserRepository userRepository,
+                                   OutboxService outboxService,
+                                   UnreadCountService unreadCountService,
+                                   EntityManager entityManager,
+                                   @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.outboxService = outboxService;
+        this.unreadCountService = unreadCountService;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public BulkCreateResultDTO createNotifications(List<BulkNotificationItemDTO> items) {
+        List<UUID> userIds = items.stream()
+                .map(BulkNotificationItemDTO::userId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<UUID, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        BulkItemResultDTO[] results = new BulkItemResultDTO[items.size()];
+        List<Notification> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(chunkSize);
+        for (int index = 0; index < items.size(); index++) {
+            BulkNotificationItemDTO item = items.get(index);
+            String error = validate(item);
+            User user = users.get(item.userId());
+            if (error != null) {
+                results[index] = BulkItemResultDTO.rejected(
+                        index, item.userId(), BulkItemResultDTO.Status.INVALID, error);
+            } else if (user == null) {
+                results[index] = BulkItemResultDTO.rejected(
+                        index, item.userId(), BulkItemResultDTO.Status.USER_NOT_FOUND, "User not found");
+            } else {
+                Notification notification = new Notification(item.message(), false, user);
+                if (item.priority() != null) {
+                    notification.setPriority(item.priority());
+                }
+                chunk.add(notification);
+                chunkIndexes.add(index);
+                if (chunk.size() == chunkSize) {
+                    writeChunk(chunk, chunkIndexes, results);
+                }
+            }
+        }
+        writeChunk(chunk, chunkIndexes, results);
+        return BulkCreateResultDTO.of(List.of(results));
+    }
+
+    // Flushing per chunk sends one JDBC batch per table; clearing keeps the persistence context small
+    private void writeChunk(List<Notification> chunk, List<Integer> chunkIndexes, BulkItemResultDTO[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        notificationRepository.saveAll(chunk);
+        outboxService.enqueueAll(chunk);
+        unreadCountService.incrementAll(chunk.stream().map(notification -> notification.getUser().getId()).toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Notification notification = chunk.get(i);
+            int index = chunkIndexes.get(i);
+            results[index] = BulkItemResultDTO.created(index, notification.getUser().getId(), notification.getId());
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private static String validate(BulkNotificationItemDTO item) {
+        if (item.userId() == null) {
+            return "User id is required.";
+        }
+        if (item.message() == null || item.message().trim().isEmpty()) {
+            return "Notification message cannot be empty.";
+        }
+        if (item.message().length() > 500) {
+            return "Notification message is too long.";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.FanOutProperties;
+import com.reddert.notificationsystem.notification.model.Notification;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Sends a notification through several channels concurrently, one virtual thread per
+ * channel, so delivery takes as long as the slowest channel rather than the sum of all.
+ * Every channel gets its own deadline; a channel that misses it is interrupted and
+ * reported as timed out without holding up the others.
+ * <p>
+ * Every outcome is recorded in the {@code notification.channel.send} timer, tagged with
+ * the channel and the outcome; a timed-out channel is recorded at its deadline.
+ */
+@Component
+public class ChannelFanOut {
+
+    private static final String SEND_TIMER = "notification.channel.send";
+
+    private record TimerKey(String channel, ChannelOutcome.Status status) {
+    }
+
+    private final FanOutProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Built once per channel and outcome; registering on every send would rebuild the histogram config each time
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    public ChannelFanOut(FanOutProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public FanOutResult send(Notification notification, List<NotificationChannel> channels) {
+        long start = System.nanoTime();
+        List<Future<Long>> futures = new ArrayList<>(channels.size());
+        for (NotificationChannel channel : channels) {
+            futures.add(executor.submit(() -> {
+                channel.send(notification);
+                return System.nanoTime() - start;
+            }));
+        }
+
+        List<ChannelOutcome> outcomes = new ArrayList<>(channels.size());
+        for (int i = 0; i < channels.size(); i++) {
+            ChannelOutcome outcome = await(channels.get(i), futures.get(i), start);
+            record(outcome);
+            outcomes.add(outcome);
+        }
+        return new FanOutResult(notification.getId(), outcomes);
+    }
+
+    // All channels start together, so each deadline is measured from the common start time
+    private ChannelOutcome await(NotificationChannel channel, Future<Long> future, long start) {
+        String name = channel.name();
+        Duration deadline = properties.timeoutFor(name);
+        long remaining = start + deadline.toNanos() - System.nanoTime();
+        try {
+            long elapsed = future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+            return ChannelOutcome.succeeded(name, Duration.ofNanos(elapsed));
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            return ChannelOutcome.timedOut(name, deadline);
+        } catch (ExecutionException e) {
+            return ChannelOutcome.failed(name, Duration.ofNanos(System.nanoTime() - start), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return ChannelOutcome.failed(name, Duration.ofNanos(System.nanoTime() - start), e);
+        }
+    }
+
+    private void record(ChannelOutcome outcome) {
+        timers.computeIfAbsent(new TimerKey(outcome.channel(), outcome.status()), this::register)
+                .record(outcome.elapsed());
+    }
+
+    private Timer register(TimerKey key) {
+        return Timer.builder(SEND_TIMER)
+                .description("Time to send a notification through a channel")
+                .tag("channel", key.channel())
+                .tag("outcome", key.status().name().toLowerCase(Locale.ROOT))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,37 @@
+package com.reddert.notificationsystem.notification.services;
+
+import java.time.Duration;
+
+/**
+ * The result of sending one notification through one channel.
+ */
+public record ChannelOutcome(String channel, Status status, Duration elapsed, String error) {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+        TIMED_OUT,
+        // Not attempted because the channel's circuit breaker is open
+        CIRCUIT_OPEN
+    }
+
+    public static ChannelOutcome succeeded(String channel, Duration elapsed) {
+        return new ChannelOutcome(channel, Status.SUCCEEDED, elapsed, null);
+    }
+
+    public static ChannelOutcome failed(String channel, Duration elapsed, Throwable cause) {
+        return new ChannelOutcome(channel, Status.FAILED, elapsed, String.valueOf(cause.getMessage()));
+    }
+
+    public static ChannelOutcome timedOut(String channel, Duration deadline) {
+        return new ChannelOutcome(channel, Status.TIMED_OUT, deadline, "No response within " + deadline);
+    }
+
+    public static ChannelOutcome circuitOpen(String channel) {
+        return new ChannelOutcome(channel, Status.CIRCUIT_OPEN, Duration.ZERO, "Circuit breaker is open");
+    }
+
+    public boolean isSuccess() {
+        return status == Status.SUCCEEDED;
+    }
+}
@@ -0,0 +1,26 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RetryProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link CircuitBreaker} per channel name, created on first use.
+ */
+@Component
+public class CircuitBreakerRegistry {
+
+    private final RetryProperties.CircuitBreaker properties;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public CircuitBreakerRegistry(RetryProperties properties) {
+        this.properties = properties.circuitBreaker();
+    }
+
+    public CircuitBreaker forChannel(String channel) {
+        return breakers.computeIfAbsent(channel, name ->
+                new CircuitBreaker(name, properties.failureThreshold(), properties.openDuration()));
+    }
+}
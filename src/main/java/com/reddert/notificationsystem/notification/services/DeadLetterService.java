@@ -0,0 +1,84 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.DeadLetterDTO;
+import com.reddert.notificationsystem.notification.dtos.ReplayResultDTO;
+import com.reddert.notificationsystem.notification.model.DeadLetter;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Lists deliveries that ran out of attempts and puts them back into the outbox once
+ * the cause has been fixed.
+ */
+@Service
+public class DeadLetterService {
+
+    static final int MAX_PAGE_SIZE = 100;
+    private static final int REPLAY_CHUNK_SIZE = 500;
+
+    private final DeadLetterRepository deadLetterRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    public DeadLetterService(DeadLetterRepository deadLetterRepository,
+                             OutboxService outboxService,
+                             TransactionTemplate transactionTemplate) {
+        this.deadLetterRepository = deadLetterRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public List<DeadLetterDTO> getDeadLetters(int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        return deadLetterRepository.findAllByOrderByFailedAtDesc(pageRequest)
+                .stream()
+                .map(DeadLetterDTO::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public ReplayResultDTO replay(UUID deadLetterId) {
+        DeadLetter deadLetter = deadLetterRepository.findById(deadLetterId)
+                .orElseThrow(() -> new EntityNotFoundException("Dead letter not found"));
+        requeue(List.of(deadLetter));
+        return new ReplayResultDTO(1);
+    }
+
+    /**
+     * Replays every dead letter, or only those of one channel. Each chunk is moved back
+     * in its own transaction, so a large backlog does not hold one long transaction.
+     */
+    public ReplayResultDTO replayAll(String channel) {
+        int replayed = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                PageRequest chunk = PageRequest.of(0, REPLAY_CHUNK_SIZE);
+                List<DeadLetter> deadLetters = channel == null
+                        ? deadLetterRepository.findAllByOrderByFailedAt(chunk)
+                        : deadLetterRepository.findByChannelOrderByFailedAt(channel, chunk);
+                requeue(deadLetters);
+                return deadLetters.size();
+            });
+            if (moved == null || moved == 0) {
+                return new ReplayResultDTO(replayed);
+            }
+            replayed += moved;
+        }
+    }
+
+    private void requeue(List<DeadLetter> deadLetters) {
+        for (DeadLetter deadLetter : deadLetters) {
+            outboxService.enqueueForChannel(
+                    deadLetter.getNotificationId(), deadLetter.getChannel(), deadLetter.getPriority());
+        }
+        deadLetterRepository.deleteAllInBatch(deadLetters);
+    }
+}
@@ -0,0 +1,115 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.DispatchProperties;
+import com.reddert.notificationsystem.notification.dtos.DispatchLatencyDTO;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dispatch latency per priority level, measured from the moment an outbox entry became
+ * due to the end of its delivery attempt, and compared with the level's latency target.
+ * Latencies are counted in fixed buckets, so percentiles are reported as the upper
+ * bound of the bucket they fall into.
+ * <p>
+ * The same latencies are recorded in the {@code notification.dispatch.latency} timer,
+ * tagged with the priority and with the latency target as a service level objective.
+ */
+@Component
+public class DispatchLatencyTracker {
+
+    private static final long[] BUCKET_BOUNDS_MILLIS = {
+            1, 2, 5, 10, 20, 50, 100, 200, 500,
+            1_000, 2_000, 5_000, 10_000, 30_000, 60_000, 120_000, 300_000, 600_000, Long.MAX_VALUE
+    };
+
+    private static final class Level {
+        private final long targetMillis;
+        private final Timer timer;
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder withinTarget = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        private Level(NotificationPriority priority, Duration target, MeterRegistry meterRegistry) {
+            this.targetMillis = target.toMillis();
+            this.timer = Timer.builder("notification.dispatch.latency")
+                    .description("Time from an outbox entry becoming due to the end of its delivery attempt")
+                    .tag("priority", priority.name())
+                    .serviceLevelObjectives(target)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+
+    private final Map<NotificationPriority, Level> levels = new EnumMap<>(NotificationPriority.class);
+
+    public DispatchLatencyTracker(DispatchProperties properties, MeterRegistry meterRegistry) {
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            levels.put(priority, new Level(priority, properties.latencyTargetOf(priority), meterRegistry));
+        }
+    }
+
+    public void record(NotificationPriority priority, Duration latency) {
+        long millis = Math.max(latency.toMillis(), 0);
+        Level level = levels.get(priority);
+        int bucket = Arrays.binarySearch(BUCKET_BOUNDS_MILLIS, millis);
+        level.buckets.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+        level.count.increment();
+        if (millis <= level.targetMillis) {
+            level.withinTarget.increment();
+        }
+        level.max.accumulateAndGet(millis, Math::max);
+        level.timer.record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public List<DispatchLatencyDTO> snapshot() {
+        return levels.entrySet().stream()
+                .map(entry -> snapshot(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static DispatchLatencyDTO snapshot(NotificationPriority priority, Level level) {
+        long[] counts = new long[BUCKET_BOUNDS_MILLIS.length];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = level.buckets.get(i);
+            total += counts[i];
+        }
+        long max = level.max.get();
+        return new DispatchLatencyDTO(
+                priority,
+                total,
+                level.targetMillis,
+                total == 0 ? 1.0 : (double) level.withinTarget.sum() / level.count.sum(),
+                percentile(counts, total, 0.50, max),
+                percentile(counts, total, 0.99, max),
+                max);
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(BUCKET_BOUNDS_MILLIS[i], max);
+            }
+        }
+        return max;
+    }
+}
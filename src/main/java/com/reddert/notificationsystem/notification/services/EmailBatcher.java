@@ -0,0 +1,213 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.EmailProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Collects outgoing emails for a short window and sends each batch through the array
+ * variant of {@link JavaMailSender#send(SimpleMailMessage...)}, which delivers all of
+ * them over a single SMTP session instead of paying connect, STARTTLS and AUTH per email.
+ * Every submitted email gets its own future, completed with the error of that message
+ * only, so one rejected recipient does not fail the rest of the batch.
+ * <p>
+ * Emails are queued under a read lock that {@link #stop()} takes for writing, so once
+ * batching stops nothing can join the queue after its final drain and every future that
+ * was handed out is completed.
+ */
+@Component
+public class EmailBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailBatcher.class);
+
+    private record PendingEmail(SimpleMailMessage message, CompletableFuture<Void> result) {
+    }
+
+    // SimpleMailMessage compares by value, so identical emails in one batch would share a single
+    // entry in the failed-messages map. The copy that goes on the wire compares by identity instead.
+    private static final class BatchedMessage extends SimpleMailMessage {
+
+        private BatchedMessage(SimpleMailMessage original) {
+            super(original);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    private final JavaMailSender mailSender;
+    private final EmailProperties.Batch properties;
+    private final BlockingQueue<PendingEmail> queue = new LinkedBlockingQueue<>();
+    private final List<Thread> flushers = new ArrayList<>();
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private volatile boolean running = false;
+
+    public EmailBatcher(JavaMailSender mailSender, EmailProperties properties) {
+        this.mailSender = mailSender;
+        this.properties = properties.batch();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public Duration sendTimeout() {
+        return properties.sendTimeout();
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running || !properties.enabled()) {
+            return;
+        }
+        setRunning(true);
+        for (int i = 1; i <= properties.sessions(); i++) {
+            Thread flusher = new Thread(this::flushLoop, "email-batcher-" + i);
+            flusher.setDaemon(true);
+            flusher.start();
+            flushers.add(flusher);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        setRunning(false);
+        flushers.forEach(Thread::interrupt);
+        try {
+            for (Thread flusher : flushers) {
+                flusher.join(properties.window().toMillis() * 10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushers.clear();
+        // Send whatever was queued after the flushers' last batches; nothing can be added any more
+        List<PendingEmail> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            sendBatch(remaining);
+        }
+    }
+
+    public CompletableFuture<Void> submit(SimpleMailMessage message) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        stateLock.readLock().lock();
+        try {
+            if (!running) {
+                result.completeExceptionally(new IllegalStateException("Email batching is not running"));
+                return result;
+            }
+            queue.add(new PendingEmail(message, result));
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private void setRunning(boolean running) {
+        stateLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    int pending() {
+        return queue.size();
+    }
+
+    private void flushLoop() {
+        List<PendingEmail> batch = new ArrayList<>(properties.maxSize());
+        while (running) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Stopping; send what was already collected
+            }
+            if (!batch.isEmpty()) {
+                sendBatch(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Blocks for the first email, then gathers more until the window closes or the batch is full.
+    // Each flusher builds its own batch, so up to `sessions` batches are on the wire at once.
+    private void collect(List<PendingEmail> batch) throws InterruptedException {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + properties.window().toNanos();
+        while (batch.size() < properties.maxSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingEmail next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, properties.maxSize() - batch.size());
+        }
+    }
+
+    private void sendBatch(List<PendingEmail> batch) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < messages.length; i++) {
+            messages[i] = new BatchedMessage(batch.get(i).message());
+        }
+        try {
+            mailSender.send(messages);
+            batch.forEach(pending -> pending.result().complete(null));
+        } catch (MailSendException e) {
+            // Failed messages are keyed by the message that was passed in; all others were delivered
+            Map<Object, Exception> failed = e.getFailedMessages();
+            int failures = 0;
+            for (int i = 0; i < messages.length; i++) {
+                PendingEmail pending = batch.get(i);
+                Exception cause = failed.get(messages[i]);
+                if (cause != null) {
+                    pending.result().completeExceptionally(cause);
+                    failures++;
+                } else if (failed.isEmpty()) {
+                    pending.result().completeExceptionally(e);
+                    failures++;
+                } else {
+                    pending.result().complete(null);
+                }
+            }
+            logger.warn("{} of {} emails in batch failed: {}", failures, batch.size(), e.getMessage());
+        } catch (RuntimeException e) {
+            // Authentication or configuration problems fail every message in the batch
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+            logger.warn("Email batch of {} failed: {}", batch.size(), e.getMessage());
+        }
+    }
+}
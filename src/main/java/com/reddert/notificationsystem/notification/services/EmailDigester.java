@@ -0,0 +1,205 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.EmailProperties;
+import com.reddert.notificationsystem.notification.model.Notification;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Coalesces a user's email notifications into one digest message. The first notification
+ * opens a digest for its recipient; everything that arrives for them within the window
+ * joins it, and the digest is sent when the window ends or it reaches its maximum size.
+ * Pending digests are sent on shutdown.
+ * <p>
+ * Notifications join a digest under a read lock that {@link #stop()} takes for writing, so
+ * no digest is opened after the pending ones were flushed; once stopped, a notification is
+ * sent on its own instead.
+ * <p>
+ * Handing a notification to a digest completes its delivery, so a digest that later fails
+ * to send is logged rather than retried through the outbox.
+ */
+@Component
+public class EmailDigester {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailDigester.class);
+
+    private final JavaMailSender mailSender;
+    private final EmailBatcher batcher;
+    private final EmailProperties.Digest properties;
+    private final Map<UUID, Digest> digests = new ConcurrentHashMap<>();
+    private final ReadWriteLock stateLock = new ReentrantReadWriteLock();
+    private ScheduledExecutorService timer;
+    private volatile boolean running = false;
+
+    public EmailDigester(JavaMailSender mailSender, EmailBatcher batcher, EmailProperties properties) {
+        this.mailSender = mailSender;
+        this.batcher = batcher;
+        this.properties = properties.digest();
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (running || !properties.enabled()) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-digest-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        setRunning(true);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        setRunning(false);
+        // No add can be between its check and its join any more, so nothing is scheduled after this
+        timer.shutdownNow();
+        digests.values().forEach(this::flush);
+    }
+
+    public void add(Notification notification) {
+        stateLock.readLock().lock();
+        try {
+            if (running) {
+                join(notification);
+                return;
+            }
+        } finally {
+            stateLock.readLock().unlock();
+        }
+        send(notification.getUser().getEmail(), List.of(notification.getMessage()));
+    }
+
+    private void join(Notification notification) {
+        UUID userId = notification.getUser().getId();
+        while (true) {
+            Digest digest = digests.get(userId);
+            if (digest == null) {
+                Digest created = new Digest(userId, notification.getUser().getEmail());
+                digest = digests.putIfAbsent(userId, created);
+                if (digest == null) {
+                    digest = created;
+                    // Sending happens off the timer thread so one slow SMTP session does not delay other digests
+                    timer.schedule(() -> Thread.ofVirtual().name("email-digest").start(() -> flush(created)),
+                            properties.window().toNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+            int size = digest.add(notification.getMessage());
+            if (size < 0) {
+                // Flushed between the lookup and the add; the next iteration opens a new digest
+                continue;
+            }
+            if (size >= properties.maxSize()) {
+                flush(digest);
+            }
+            return;
+        }
+    }
+
+    private void setRunning(boolean running) {
+        stateLock.writeLock().lock();
+        try {
+            this.running = running;
+        } finally {
+            stateLock.writeLock().unlock();
+        }
+    }
+
+    int pending() {
+        return digests.size();
+    }
+
+    private void flush(Digest digest) {
+        List<String> messages = digest.close();
+        digests.remove(digest.userId, digest);
+        if (!messages.isEmpty()) {
+            send(digest.email, messages);
+        }
+    }
+
+    private void send(String email, List<String> messages) {
+        SimpleMailMessage message = messages.size() == 1
+                ? EmailNotificationChannel.message(email, messages.get(0))
+                : digestMessage(email, messages);
+        if (batcher != null && batcher.isEnabled()) {
+            batcher.submit(message).whenComplete((ignored, error) -> {
+                if (error != null) {
+                    logFailure(email, messages, error);
+                }
+            });
+            return;
+        }
+        try {
+            mailSender.send(message);
+        } catch (RuntimeException e) {
+            logFailure(email, messages, e);
+        }
+    }
+
+    private static SimpleMailMessage digestMessage(String email, List<String> messages) {
+        StringBuilder text = new StringBuilder("You have ").append(messages.size()).append(" new notifications:\n");
+        messages.forEach(line -> text.append("\n- ").append(line));
+        SimpleMailMessage message = EmailNotificationChannel.message(email, null);
+        message.setSubject(messages.size() + " New Notifications");
+        message.setText(text.toString());
+        return message;
+    }
+
+    private static void logFailure(String email, List<String> messages, Throwable error) {
+        logger.error("Failed to send digest of {} notifications to {}: {}", messages.size(), email, error.getMessage());
+    }
+
+    private static final class Digest {
+
+        private final UUID userId;
+        private final String email;
+        private final List<String> messages = new ArrayList<>();
+        private boolean closed = false;
+
+        private Digest(UUID userId, String email) {
+            this.userId = userId;
+            this.email = email;
+        }
+
+        // Returns the new size, or -1 once the digest was handed off for sending
+        private synchronized int add(String message) {
+            if (closed) {
+                return -1;
+            }
+            messages.add(message);
+            return messages.size();
+        }
+
+        private synchronized List<String> close() {
+            if (closed) {
+                return List.of();
+            }
+            closed = true;
+            return List.copyOf(messages);
+        }
+    }
+}
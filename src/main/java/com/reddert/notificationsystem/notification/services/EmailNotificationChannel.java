@@ -1,31 +1,76 @@
 package com.reddert.notificationsystem.notification.services;
 
 import com.reddert.notificationsystem.notification.model.Notification;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 @Service
 public class EmailNotificationChannel implements NotificationChannel {
 
     private final JavaMailSender mailSender;
+    private final EmailBatcher batcher;
+    private final EmailDigester digester;
     private static final String FROM_EMAIL = "big.boss@gmail.com";
 
-    @Autowired
-    public EmailNotificationChannel(JavaMailSender mailSender) {
+    public EmailNotificationChannel(JavaMailSender mailSender, EmailBatcher batcher, EmailDigester digester) {
         this.mailSender = mailSender;
+        this.batcher = batcher;
+        this.digester = digester;
     }
 
     @Override
     public void send(Notification notification) {
-        String recipientEmail = notification.getUser().getEmail();
+        if (digester.isEnabled()) {
+            digester.add(notification);
+            return;
+        }
+
         // Optionally add email validation logic here
+        SimpleMailMessage message = message(notification.getUser().getEmail(), notification.getMessage());
+
+        if (batcher.isEnabled()) {
+            sendBatched(message);
+        } else {
+            mailSender.send(message);
+        }
+    }
+
+    // Waits for this message's own result so failures still surface per notification
+    private void sendBatched(SimpleMailMessage message) {
+        Duration timeout = batcher.sendTimeout();
+        try {
+            batcher.submit(message).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new MailSendException("Batched email was not sent within " + timeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for batched email", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new MailSendException("Failed to send batched email", e.getCause());
+        }
+    }
+
+    static SimpleMailMessage message(String recipientEmail, String notificationMessage) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(FROM_EMAIL);
         message.setTo(recipientEmail);
         message.setSubject("New Notification");
-        message.setText("You have a new notification: " + notification.getMessage());
-        mailSender.send(message);
+        message.setText("You have a new notification: " + notificationMessage);
+        return message;
+    }
+
+    @Override
+    public String name() {
+        return "email";
     }
 }
@@ -0,0 +1,20 @@
+package com.reddert.notificationsystem.notification.services;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The per-channel outcomes of delivering one notification.
+ */
+public record FanOutResult(UUID notificationId, List<ChannelOutcome> outcomes) {
+
+    public boolean allSucceeded() {
+        return outcomes.stream().allMatch(ChannelOutcome::isSuccess);
+    }
+
+    public List<ChannelOutcome> failures() {
+        return outcomes.stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.IdempotencyProperties;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded LRU cache of recently created notifications by (user, idempotency key), with a
+ * time-to-live per entry. Retries usually arrive within seconds of the original request,
+ * so most of them are answered here without touching the database.
+ */
+@Component
+public class IdempotencyCache {
+
+    private record Key(UUID userId, String idempotencyKey) {
+    }
+
+    private record Entry(NotificationDTO notification, long expiresAt) {
+    }
+
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Map<Key, Entry> entries;
+
+    @Autowired
+    public IdempotencyCache(IdempotencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    IdempotencyCache(IdempotencyProperties properties, LongSupplier nanoClock) {
+        this.ttlNanos = properties.cacheTtl().toNanos();
+        this.nanoClock = nanoClock;
+        int maxEntries = properties.cacheMaxEntries();
+        // Access order turns the map into an LRU list; the eldest entry goes once it is full
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized NotificationDTO get(UUID userId, String idempotencyKey) {
+        Key key = new Key(userId, idempotencyKey);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() - nanoClock.getAsLong() <= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.notification();
+    }
+
+    public synchronized void put(UUID userId, String idempotencyKey, NotificationDTO notification) {
+        entries.put(new Key(userId, idempotencyKey), new Entry(notification, nanoClock.getAsLong() + ttlNanos));
+    }
+
+    public synchronized void evict(UUID userId, String idempotencyKey) {
+        entries.remove(new Key(userId, idempotencyKey));
+    }
+
+    /**
+     * Evicts the response cached for a notification that is being deleted, and again once
+     * the transaction completes, so a retry that read the row before the delete committed
+     * cannot keep it cached.
+     */
+    public void evictOnCompletion(UUID userId, String idempotencyKey) {
+        evict(userId, idempotencyKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(userId, idempotencyKey);
+                }
+            });
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.exceptions.InvalidIdempotencyKeyException;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Makes notification creation safe to retry. A request with an {@code Idempotency-Key} that
+ * was already used by the same user returns the notification created the first time,
+ * without another insert, another rate-limit token or another delivery. The key identifies
+ * the request; the body of a retry is not compared with the original.
+ * <p>
+ * Lookups go to the {@link IdempotencyCache} first and then to the unique
+ * (user_id, idempotency_key) constraint's index. Two retries racing past both lookups are
+ * settled by the constraint: the loser's transaction fails and it returns the winner's row.
+ * Deliberately not transactional, so that failure happens in a transaction of its own.
+ */
+@Service
+public class IdempotencyService {
+
+    private final NotificationService notificationService;
+    private final NotificationRepository notificationRepository;
+    private final IdempotencyCache cache;
+
+    public IdempotencyService(NotificationService notificationService,
+                              NotificationRepository notificationRepository,
+                              IdempotencyCache cache) {
+        this.notificationService = notificationService;
+        this.notificationRepository = notificationRepository;
+        this.cache = cache;
+    }
+
+    public NotificationDTO createNotification(UUID userId, String idempotencyKey,
+                                              CreateNotificationDTO createNotificationDTO) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > Notification.MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be 1 to "
+                    + Notification.MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        NotificationDTO cached = cache.get(userId, idempotencyKey);
+        if (cached != null) {
+            return cached;
+        }
+        Optional<NotificationDTO> existing = notificationRepository.findDTOByUserIdAndIdempotencyKey(userId, idempotencyKey);
+        if (existing.isPresent()) {
+            cache.put(userId, idempotencyKey, existing.get());
+            return existing.get();
+        }
+
+        NotificationDTO created;
+        try {
+            created = notificationService.createNotification(userId, createNotificationDTO, idempotencyKey);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first
+            created = notificationRepository.findDTOByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .orElseThrow(() -> e);
+        }
+        cache.put(userId, idempotencyKey, created);
+        return created;
+    }
+}
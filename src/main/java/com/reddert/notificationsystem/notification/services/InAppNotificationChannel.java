@@ -1,15 +1,36 @@
 package com.reddert.notificationsystem.notification.services;
 
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
 import com.reddert.notificationsystem.notification.model.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Pushes notifications to the user's open event streams. Users without an open
+ * connection pick the notification up from their inbox the next time they load it.
+ */
 @Service
 public class InAppNotificationChannel implements NotificationChannel {
 
+    private static final Logger logger = LoggerFactory.getLogger(InAppNotificationChannel.class);
+
+    private final SseSubscriberRegistry subscriberRegistry;
+
+    public InAppNotificationChannel(SseSubscriberRegistry subscriberRegistry) {
+        this.subscriberRegistry = subscriberRegistry;
+    }
+
     @Override
     public void send(Notification notification) {
-        // For now, we simply log the notification; replace with in-app dispatch logic as needed.
-        System.out.println("In-App Notification for user "
-                + notification.getUser().getId() + ": " + notification.getMessage());
+        int connections = subscriberRegistry.publish(
+                notification.getUser().getId(), NotificationDTO.fromEntity(notification));
+        logger.debug("In-app notification {} pushed to {} connections of user {}",
+                notification.getId(), connections, notification.getUser().getId());
+    }
+
+    @Override
+    public String name() {
+        return "in-app";
     }
 }
@@ -4,4 +4,9 @@ import com.reddert.notificationsystem.notification.model.Notification;
 
 public interface NotificationChannel {
     void send(Notification notification);
+
+    // Stable identifier used in delivery results and per-channel configuration
+    default String name() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,266 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.DispatchProperties;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.OutboxEntry;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the notification outbox in the background and delivers each notification
+ * through every {@link NotificationChannel} in parallel via {@link ChannelFanOut}.
+ * A single poller thread claims entries separately per {@link NotificationPriority} into
+ * a {@link WeightedFairQueue}, from which a fixed set of workers takes them, so urgent
+ * notifications overtake bulk traffic while every level keeps its share of the workers.
+ * Entries left behind by a crashed process become claimable again once their lease
+ * expires. Channels whose circuit breaker is open are skipped, and failed
+ * channels are handed to {@link OutboxService#settle} to be retried or dead-lettered.
+ */
+@Component
+public class NotificationDispatcher implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private final OutboxService outboxService;
+    private final NotificationRepository notificationRepository;
+    private final List<NotificationChannel> channels;
+    private final Map<String, NotificationChannel> channelsByName;
+    private final ChannelFanOut fanOut;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final DispatchLatencyTracker latencyTracker;
+    private final DispatchProperties properties;
+
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running = false;
+    private Thread poller;
+    private volatile WeightedFairQueue<OutboxEntry> queue;
+    private Map<NotificationPriority, Integer> levelCapacities;
+    private final List<Thread> workers = new ArrayList<>();
+
+    public NotificationDispatcher(OutboxService outboxService,
+                                  NotificationRepository notificationRepository,
+                                  List<NotificationChannel> channels,
+                                  ChannelFanOut fanOut,
+                                  CircuitBreakerRegistry circuitBreakers,
+                                  DispatchLatencyTracker latencyTracker,
+                                  DispatchProperties properties) {
+        this.outboxService = outboxService;
+        this.notificationRepository = notificationRepository;
+        this.channels = channels;
+        this.channelsByName = channels.stream()
+                .collect(Collectors.toMap(NotificationChannel::name, Function.identity()));
+        this.fanOut = fanOut;
+        this.circuitBreakers = circuitBreakers;
+        this.latencyTracker = latencyTracker;
+        this.properties = properties;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.enabled()) {
+            return;
+        }
+        Map<NotificationPriority, Integer> weights = new EnumMap<>(NotificationPriority.class);
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            weights.put(priority, properties.weightOf(priority));
+        }
+        queue = new WeightedFairQueue<>(weights);
+        int totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        levelCapacities = new EnumMap<>(NotificationPriority.class);
+        weights.forEach((priority, weight) ->
+                levelCapacities.put(priority, Math.max(properties.batchSize() * weight / totalWeight, 1)));
+        running = true;
+        for (int i = 1; i <= properties.workers(); i++) {
+            Thread worker = new Thread(this::workLoop, "notification-dispatch-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        poller = new Thread(this::pollLoop, "notification-outbox-poller");
+        poller.setDaemon(true);
+        poller.start();
+        logger.info("Notification dispatcher started with {} workers", properties.workers());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeUp.release();
+        try {
+            poller.join(properties.pollInterval().toMillis() * 2);
+            // Workers finish the entries already claimed, then see the closed queue and exit
+            queue.close();
+            long deadline = System.nanoTime() + properties.leaseTimeout().toNanos();
+            for (Thread worker : workers) {
+                worker.join(Math.max(TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()), 1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+        logger.info("Notification dispatcher stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Claimed entries waiting for a worker; none while the dispatcher has not started
+    int queued(NotificationPriority priority) {
+        WeightedFairQueue<OutboxEntry> current = queue;
+        return current == null ? 0 : current.size(priority);
+    }
+
+    @TransactionalEventListener
+    public void onEntriesCreated(OutboxService.OutboxEntriesCreatedEvent event) {
+        wakeUp.release();
+    }
+
+    private void pollLoop() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = pollOnce();
+            } catch (Exception e) {
+                logger.error("Failed to claim outbox entries", e);
+            }
+            if (claimed == 0) {
+                try {
+                    wakeUp.tryAcquire(properties.pollInterval().toMillis(), TimeUnit.MILLISECONDS);
+                    wakeUp.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    // Tops each level up to its weighted share of batchSize, so no more than batchSize claimed
+    // entries wait for a worker in total. That bounds how long they wait but does not guarantee
+    // it against slow channels, so dispatch() still drops entries whose lease has run out.
+    private int pollOnce() {
+        int claimed = 0;
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            int room = levelCapacities.get(priority) - queue.size(priority);
+            if (room <= 0) {
+                continue;
+            }
+            List<OutboxEntry> entries = outboxService.claimBatch(priority, room);
+            entries.forEach(entry -> queue.offer(priority, entry));
+            claimed += entries.size();
+        }
+        return claimed;
+    }
+
+    private void workLoop() {
+        while (true) {
+            OutboxEntry entry;
+            try {
+                entry = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (entry == null) {
+                return;
+            }
+            dispatch(entry);
+        }
+    }
+
+    void dispatch(OutboxEntry entry) {
+        if (entry.getLockedUntil() != null && !entry.getLockedUntil().isAfter(LocalDateTime.now())) {
+            // The entry is claimable again, maybe already claimed by another poll; sending it now could deliver it twice
+            logger.warn("Skipping outbox entry {}: its lease expired while it was queued", entry.getId());
+            return;
+        }
+        try {
+            Optional<Notification> notification = notificationRepository.findById(entry.getNotificationId());
+            if (notification.isEmpty()) {
+                logger.warn("Dropping outbox entry {}: notification {} no longer exists",
+                        entry.getId(), entry.getNotificationId());
+                outboxService.complete(entry);
+                return;
+            }
+            List<NotificationChannel> targets = targetsOf(entry);
+            if (targets.isEmpty()) {
+                logger.warn("Dropping outbox entry {}: channel {} is not configured", entry.getId(), entry.getChannel());
+                outboxService.complete(entry);
+                return;
+            }
+            outboxService.settle(entry, sendToChannels(notification.get(), targets));
+            latencyTracker.record(entry.getPriority(), Duration.between(entry.getAvailableAt(), LocalDateTime.now()));
+        } catch (Exception e) {
+            // The entry stays locked until its lease expires and is then picked up again
+            logger.error("Failed to dispatch outbox entry {}", entry.getId(), e);
+        }
+    }
+
+    private List<NotificationChannel> targetsOf(OutboxEntry entry) {
+        if (entry.getChannel() == null) {
+            return channels;
+        }
+        NotificationChannel channel = channelsByName.get(entry.getChannel());
+        return channel == null ? List.of() : List.of(channel);
+    }
+
+    // Returns the channels that did not deliver, including those skipped by an open breaker
+    private List<ChannelOutcome> sendToChannels(Notification notification, List<NotificationChannel> targets) {
+        List<NotificationChannel> permitted = new ArrayList<>(targets.size());
+        List<ChannelOutcome> failures = new ArrayList<>();
+        for (NotificationChannel channel : targets) {
+            if (circuitBreakers.forChannel(channel.name()).tryAcquire()) {
+                permitted.add(channel);
+            } else {
+                failures.add(ChannelOutcome.circuitOpen(channel.name()));
+            }
+        }
+        if (permitted.isEmpty()) {
+            return failures;
+        }
+
+        FanOutResult result;
+        try {
+            result = fanOut.send(notification, permitted);
+        } catch (RuntimeException e) {
+            // No outcome came back, so every permit counts as failed; otherwise a half-open
+            // breaker would keep its trial slot taken and never close or open again
+            permitted.forEach(channel -> circuitBreakers.forChannel(channel.name()).onFailure());
+            throw e;
+        }
+        for (ChannelOutcome outcome : result.outcomes()) {
+            CircuitBreaker breaker = circuitBreakers.forChannel(outcome.channel());
+            if (outcome.isSuccess()) {
+                breaker.onSuccess();
+            } else {
+                breaker.onFailure();
+                failures.add(outcome);
+                logger.error("Failed to send notification {} via {} ({}): {}",
+                        notification.getId(), outcome.channel(), outcome.status(), outcome.error());
+            }
+        }
+        return failures;
+    }
+}
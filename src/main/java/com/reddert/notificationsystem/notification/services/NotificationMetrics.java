@@ -0,0 +1,115 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import com.reddert.notificationsystem.notification.repositories.OutboxRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gauges for the queues and buffers that hold notifications between the API and the
+ * channels, plus the state of each channel's circuit breaker. Values are read when the
+ * registry is scraped; the outbox and dead-letter sizes each cost a count query.
+ */
+@Component
+public class NotificationMetrics implements MeterBinder {
+
+    private final NotificationDispatcher dispatcher;
+    private final OutboxRepository outboxRepository;
+    private final DeadLetterRepository deadLetterRepository;
+    private final NotificationScheduler scheduler;
+    private final EmailBatcher emailBatcher;
+    private final EmailDigester emailDigester;
+    private final SseSubscriberRegistry subscribers;
+    private final IdempotencyCache idempotencyCache;
+    private final RateLimiter rateLimiter;
+    private final NotificationPurger purger;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final List<NotificationChannel> channels;
+
+    public NotificationMetrics(NotificationDispatcher dispatcher,
+                               OutboxRepository outboxRepository,
+                               DeadLetterRepository deadLetterRepository,
+                               NotificationScheduler scheduler,
+                               EmailBatcher emailBatcher,
+                               EmailDigester emailDigester,
+                               SseSubscriberRegistry subscribers,
+                               IdempotencyCache idempotencyCache,
+                               RateLimiter rateLimiter,
+                               NotificationPurger purger,
+                               CircuitBreakerRegistry circuitBreakers,
+                               List<NotificationChannel> channels) {
+        this.dispatcher = dispatcher;
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.scheduler = scheduler;
+        this.emailBatcher = emailBatcher;
+        this.emailDigester = emailDigester;
+        this.subscribers = subscribers;
+        this.idempotencyCache = idempotencyCache;
+        this.rateLimiter = rateLimiter;
+        this.purger = purger;
+        this.circuitBreakers = circuitBreakers;
+        this.channels = channels;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("notification.outbox.size", outboxRepository, OutboxRepository::count)
+                .description("Outbox entries not yet delivered, including those waiting for a retry")
+                .register(registry);
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            Gauge.builder("notification.dispatch.queue.size", dispatcher, d -> d.queued(priority))
+                    .description("Claimed outbox entries waiting for a dispatch worker")
+                    .tag("priority", priority.name())
+                    .register(registry);
+        }
+        Gauge.builder("notification.dead-letters.size", deadLetterRepository, DeadLetterRepository::count)
+                .description("Deliveries that ran out of retry attempts")
+                .register(registry);
+        Gauge.builder("notification.scheduler.pending", scheduler, NotificationScheduler::pending)
+                .description("Scheduled notifications held in the timing wheel")
+                .register(registry);
+        Gauge.builder("notification.email.batch.pending", emailBatcher, EmailBatcher::pending)
+                .description("Emails waiting for the next SMTP batch")
+                .register(registry);
+        Gauge.builder("notification.email.digest.pending", emailDigester, EmailDigester::pending)
+                .description("Users with an email digest being collected")
+                .register(registry);
+        Gauge.builder("notification.stream.connections", subscribers, SseSubscriberRegistry::connectionCount)
+                .description("Open event stream connections")
+                .register(registry);
+        FunctionCounter.builder("notification.stream.dropped", subscribers, SseSubscriberRegistry::droppedCount)
+                .description("Events not queued because a stream client was not keeping up")
+                .register(registry);
+        Gauge.builder("notification.idempotency.cache.size", idempotencyCache, IdempotencyCache::size)
+                .description("Idempotency keys answered from memory")
+                .register(registry);
+        Gauge.builder("notification.rate-limit.buckets", rateLimiter, RateLimiter::bucketCount)
+                .description("Token buckets held for rate limiting")
+                .register(registry);
+        FunctionCounter.builder("notification.retention.purged", purger, p -> p.status().totalPurged())
+                .description("Notifications deleted by the retention purger")
+                .register(registry);
+        TimeGauge.builder("notification.retention.lag", purger, TimeUnit.MILLISECONDS, p -> p.status().lagMillis())
+                .description("Age beyond the retention limit of the oldest notification still to purge")
+                .register(registry);
+        for (NotificationChannel channel : channels) {
+            CircuitBreaker breaker = circuitBreakers.forChannel(channel.name());
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                Gauge.builder("notification.circuit-breaker.state", breaker, b -> b.getState() == state ? 1 : 0)
+                        .description("1 for the current state of the channel's circuit breaker, 0 otherwise")
+                        .tag("channel", channel.name())
+                        .tag("state", state.name())
+                        .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RetentionProperties;
+import com.reddert.notificationsystem.notification.dtos.OverflowBoundaryDTO;
+import com.reddert.notificationsystem.notification.dtos.PurgeCandidateDTO;
+import com.reddert.notificationsystem.notification.dtos.RetentionStatusDTO;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes notifications that fall outside the retention rules.
+ * <p>
+ * Each run first removes notifications older than {@code max-age}, walking the
+ * (timestamp, id) index oldest first, and then trims the inbox of every user over
+ * {@code max-per-user}. One windowed query per page of users finds where each of their
+ * inboxes crosses the cap, and the scan starts from there. Rows are deleted by id in
+ * small batches, one short transaction each with a pause in between, so no statement
+ * holds locks for long and foreground requests keep their share of the database. Unread
+ * counters are adjusted in the same transaction as the delete, and cached idempotent
+ * responses of the deleted rows are evicted.
+ */
+@Service
+public class NotificationPurger {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPurger.class);
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadCountService unreadCountService;
+    private final IdempotencyCache idempotencyCache;
+    private final TransactionTemplate transactionTemplate;
+    private final RetentionProperties properties;
+
+    private final AtomicLong totalPurged = new AtomicLong();
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile long lastRunMillis;
+    private volatile long lastRunPurged;
+    private volatile long lagMillis;
+
+    public NotificationPurger(NotificationRepository notificationRepository,
+                              UnreadCountService unreadCountService,
+                              IdempotencyCache idempotencyCache,
+                              TransactionTemplate transactionTemplate,
+                              RetentionProperties properties) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCountService = unreadCountService;
+        this.idempotencyCache = idempotencyCache;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${notification.retention.interval:PT1H}",
+            initialDelayString = "${notification.retention.interval:PT1H}")
+    public void purge() {
+        if (!properties.enabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        lastRunStartedAt = LocalDateTime.now();
+        long purged = 0;
+        try {
+            if (properties.maxAge().isPositive()) {
+                purged += purgeExpired(lastRunStartedAt.minus(properties.maxAge()));
+            }
+            if (properties.maxPerUser() > 0) {
+                purged += purgeOverflow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lastRunPurged = purged;
+            lastRunMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        }
+        if (purged > 0) {
+            logger.info("Retention purge deleted {} notifications in {} ms", purged, lastRunMillis);
+        }
+    }
+
+    public RetentionStatusDTO status() {
+        return new RetentionStatusDTO(properties.enabled(), lastRunStartedAt, lastRunMillis, lastRunPurged,
+                totalPurged.get(), lagMillis);
+    }
+
+    private long purgeExpired(LocalDateTime cutoff) throws InterruptedException {
+        long purged = 0;
+        LocalDateTime timestamp = BEGINNING;
+        UUID id = FIRST_ID;
+        while (true) {
+            List<PurgeCandidateDTO> batch = notificationRepository.findExpiredAfter(
+                    cutoff, timestamp, id, properties.includesUnread(), Limit.of(properties.batchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            lagMillis = Math.max(Duration.between(batch.get(0).timestamp(), cutoff).toMillis(), 0);
+            purged += delete(batch);
+            PurgeCandidateDTO last = batch.get(batch.size() - 1);
+            timestamp = last.timestamp();
+            id = last.id();
+            if (batch.size() < properties.batchSize()) {
+                break;
+            }
+            pause();
+        }
+        lagMillis = 0;
+        return purged;
+    }
+
+    private long purgeOverflow() throws InterruptedException {
+        long purged = 0;
+        UUID after = FIRST_ID;
+        while (true) {
+            // The row just past the ones each user may keep; everything from there down goes
+            List<OverflowBoundaryDTO> boundaries = notificationRepository.findOverflowBoundariesAfter(
+                    after, properties.maxPerUser() + 1L, Limit.of(properties.batchSize()));
+            if (boundaries.isEmpty()) {
+                break;
+            }
+            for (OverflowBoundaryDTO boundary : boundaries) {
+                purged += purgeOverflow(boundary);
+            }
+            after = boundaries.get(boundaries.size() - 1).userId();
+        }
+        return purged;
+    }
+
+    private long purgeOverflow(OverflowBoundaryDTO boundary) throws InterruptedException {
+        long purged = 0;
+        LocalDateTime timestamp = boundary.timestamp();
+        UUID id = boundary.id();
+        while (true) {
+            List<PurgeCandidateDTO> batch = notificationRepository.findOverflowFrom(
+                    boundary.userId(), timestamp, id, properties.includesUnread(), Limit.of(properties.batchSize()));
+            if (batch.isEmpty()) {
+                break;
+            }
+            purged += delete(batch);
+            // The last row is gone, so starting from it again skips it and every row kept before it
+            PurgeCandidateDTO last = batch.get(batch.size() - 1);
+            timestamp = last.timestamp();
+            id = last.id();
+            if (batch.size() < properties.batchSize()) {
+                break;
+            }
+            pause();
+        }
+        return purged;
+    }
+
+    private int delete(List<PurgeCandidateDTO> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            notificationRepository.deleteAllByIdInBatch(batch.stream().map(PurgeCandidateDTO::id).toList());
+            unreadCountService.decrementAll(batch.stream()
+                    .filter(candidate -> !candidate.read())
+                    .map(PurgeCandidateDTO::userId)
+                    .toList());
+            batch.stream()
+                    .filter(candidate -> candidate.idempotencyKey() != null)
+                    .forEach(candidate -> idempotencyCache.evictOnCompletion(
+                            candidate.userId(), candidate.idempotencyKey()));
+        });
+        totalPurged.addAndGet(batch.size());
+        return batch.size();
+    }
+
+    private void pause() throws InterruptedException {
+        if (properties.batchPause().isPositive()) {
+            Thread.sleep(properties.batchPause());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.SchedulerProperties;
+import com.reddert.notificationsystem.notification.dtos.ScheduleSlotDTO;
+import com.reddert.notificationsystem.notification.repositories.ScheduledNotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Delivers scheduled notifications when they come due. Only schedules due within the
+ * configured horizon are held in memory, on a {@link TimingWheel}; every load interval
+ * the next stretch is read with a range scan over the {@code send_at} index, so neither
+ * memory nor the per-tick cost grows with the number of pending schedules. New and
+ * cancelled schedules reach the wheel through transaction events. Because the schedule
+ * rows are the source of truth, a restart simply loads the horizon again, including
+ * anything that came due while the application was down.
+ */
+@Component
+public class NotificationScheduler implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationScheduler.class);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int LEVELS = 4;
+
+    private final ScheduledNotificationService scheduledNotificationService;
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final SchedulerProperties properties;
+    private final LongSupplier clock;
+
+    private final Object lock = new Object();
+    private TimingWheel<UUID> wheel;
+    private LocalDateTime loadedUpTo = BEGINNING;
+    private long nextLoadAt;
+    private volatile boolean running = false;
+    private Thread ticker;
+
+    @Autowired
+    public NotificationScheduler(ScheduledNotificationService scheduledNotificationService,
+                                 ScheduledNotificationRepository scheduledNotificationRepository,
+                                 SchedulerProperties properties) {
+        this(scheduledNotificationService, scheduledNotificationRepository, properties, System::currentTimeMillis);
+    }
+
+    NotificationScheduler(ScheduledNotificationService scheduledNotificationService,
+                          ScheduledNotificationRepository scheduledNotificationRepository,
+                          SchedulerProperties properties,
+                          LongSupplier clock) {
+        this.scheduledNotificationService = scheduledNotificationService;
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.enabled()) {
+            return;
+        }
+        initialize();
+        running = true;
+        ticker = new Thread(this::tickLoop, "notification-scheduler");
+        ticker.setDaemon(true);
+        ticker.start();
+        logger.info("Notification scheduler started");
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        ticker.interrupt();
+        try {
+            ticker.join(properties.tick().toMillis() * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Notification scheduler stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Package-private so tests can drive tick() without the background thread
+    void initialize() {
+        synchronized (lock) {
+            wheel = new TimingWheel<>(properties.tick(), properties.wheelSize(), LEVELS, clock.getAsLong());
+            loadedUpTo = BEGINNING;
+            nextLoadAt = clock.getAsLong();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onScheduled(ScheduledNotificationService.NotificationScheduledEvent event) {
+        long sendAt = toMillis(event.sendAt());
+        synchronized (lock) {
+            // Later schedules are picked up by a load once they come within the horizon
+            if (wheel != null && sendAt <= clock.getAsLong() + properties.horizon().toMillis()) {
+                wheel.schedule(event.id(), sendAt);
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onCancelled(ScheduledNotificationService.ScheduleCancelledEvent event) {
+        synchronized (lock) {
+            if (wheel != null) {
+                wheel.cancel(event.id());
+            }
+        }
+    }
+
+    int pending() {
+        synchronized (lock) {
+            return wheel == null ? 0 : wheel.size();
+        }
+    }
+
+    private void tickLoop() {
+        long tickMillis = properties.tick().toMillis();
+        while (running) {
+            try {
+                tick();
+            } catch (Exception e) {
+                logger.error("Failed to process scheduled notifications", e);
+            }
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    void tick() {
+        long now = clock.getAsLong();
+        long loadAt;
+        synchronized (lock) {
+            loadAt = nextLoadAt;
+        }
+        if (now >= loadAt) {
+            load(now);
+            synchronized (lock) {
+                nextLoadAt = now + properties.loadInterval().toMillis();
+            }
+        }
+        List<UUID> due;
+        synchronized (lock) {
+            due = wheel.advance(now);
+        }
+        for (int from = 0; from < due.size(); from += properties.batchSize()) {
+            List<UUID> chunk = due.subList(from, Math.min(from + properties.batchSize(), due.size()));
+            try {
+                scheduledNotificationService.deliverDue(chunk);
+            } catch (RuntimeException e) {
+                // The rows are still there; the next tick reloads the whole horizon and retries them
+                logger.error("Failed to deliver {} scheduled notifications", chunk.size(), e);
+                synchronized (lock) {
+                    loadedUpTo = BEGINNING;
+                    nextLoadAt = now;
+                }
+            }
+        }
+    }
+
+    // Reads the schedules between the last load and the new horizon, one keyset page at a time
+    private void load(long now) {
+        LocalDateTime from;
+        synchronized (lock) {
+            from = loadedUpTo;
+        }
+        LocalDateTime to = toDateTime(now + properties.horizon().toMillis());
+        Limit page = Limit.of(properties.batchSize());
+        int loaded = 0;
+        List<ScheduleSlotDTO> slots = scheduledNotificationRepository.findSlotsBetween(from, to, page);
+        while (!slots.isEmpty()) {
+            synchronized (lock) {
+                for (ScheduleSlotDTO slot : slots) {
+                    wheel.schedule(slot.id(), toMillis(slot.sendAt()));
+                }
+            }
+            loaded += slots.size();
+            if (slots.size() < properties.batchSize()) {
+                break;
+            }
+            ScheduleSlotDTO last = slots.get(slots.size() - 1);
+            slots = scheduledNotificationRepository.findSlotsBetweenAfter(to, last.sendAt(), last.id(), page);
+        }
+        synchronized (lock) {
+            loadedUpTo = to;
+        }
+        if (loaded > 0) {
+            logger.debug("Loaded {} scheduled notifications due before {}", loaded, to);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -1,36 +1,74 @@
 package com.reddert.notificationsystem.notification.services;
 
 import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.DeleteCandidateDTO;
+import com.reddert.notificationsystem.notification.dtos.InboxRowDTO;
+import com.reddert.notificationsystem.notification.dtos.MarkReadResultDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationCursor;
 import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationPageDTO;
 import com.reddert.notificationsystem.notification.model.Notification;
 import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
 import com.reddert.notificationsystem.user.model.User;
 import com.reddert.notificationsystem.user.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+// Every public operation is timed as notification.service, tagged with the method name
+@Timed(value = "notification.service", histogram = true)
 @Service
 public class NotificationService {
 
+    static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
-    private final List<NotificationChannel> channels;
+    private final OutboxService outboxService;
     private final UserRepository userRepository;
+    private final UnreadCountService unreadCountService;
+    private final RateLimiter rateLimiter;
+    private final IdempotencyCache idempotencyCache;
 
     @Autowired
     public NotificationService(NotificationRepository notificationRepository,
-                               List<NotificationChannel> channels,
-                               UserRepository userRepository) {
+                               OutboxService outboxService,
+                               UserRepository userRepository,
+                               UnreadCountService unreadCountService,
+                               RateLimiter rateLimiter,
+                               IdempotencyCache idempotencyCache) {
         this.notificationRepository = notificationRepository;
-        this.channels = channels;
+        this.outboxService = outboxService;
         this.userRepository = userRepository;
+        this.unreadCountService = unreadCountService;
+        this.rateLimiter = rateLimiter;
+        this.idempotencyCache = idempotencyCache;
     }
 
+    @Transactional
     public NotificationDTO createNotification(UUID userId, CreateNotificationDTO createNotificationDTO) {
+        return createNotification(userId, createNotificationDTO, null);
+    }
+
+    /**
+     * Creates a notification that carries the producer's idempotency key. Callers go through
+     * {@link IdempotencyService}, which looks the key up first; this method only stores it,
+     * so a concurrent duplicate fails on the unique constraint at commit.
+     */
+    @Transactional
+    public NotificationDTO createNotification(UUID userId, CreateNotificationDTO createNotificationDTO,
+                                              String idempotencyKey) {
         // Validate message
         if (createNotificationDTO.message() == null || createNotificationDTO.message().trim().isEmpty()) {
             throw new IllegalArgumentException("Notification message cannot be empty.");
@@ -39,64 +77,145 @@ public class NotificationService {
             throw new IllegalArgumentException("Notification message is too long.");
         }
 
-        // Retrieve User
+        // Retrieve User; an unknown id must not take a token or create a bucket
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
+        RateLimiter.Admission admission = rateLimiter.admit(userId);
+        refundUnlessCommitted(userId, admission);
+
         // Create and save Notification
         Notification notification = new Notification(createNotificationDTO.message(), false, user);
+        notification.setPriority(createNotificationDTO.priorityOrDefault());
+        notification.setIdempotencyKey(idempotencyKey);
         Notification savedNotification = notificationRepository.save(notification);
 
-        // Dispatch notification via all channels
-        channels.forEach(channel -> {
-            try {
-                channel.send(savedNotification);
-            } catch (Exception e) {
-                // Optionally log the exception or handle channel-specific failures
-                System.err.println("Failed to send via "
-                        + channel.getClass().getSimpleName() + ": " + e.getMessage());
-            }
-        });
+        // Queue delivery in the same transaction; NotificationDispatcher sends it after commit
+        if (admission.isComplete()) {
+            outboxService.enqueue(savedNotification);
+        } else {
+            // Throttled channels are skipped; the notification still shows up in the inbox
+            admission.admitted().forEach(channel -> outboxService.enqueueForChannel(
+                    savedNotification.getId(), channel, savedNotification.getPriority()));
+        }
+        unreadCountService.adjust(userId, 1);
 
         return NotificationDTO.fromEntity(savedNotification);
     }
 
+    // A notification that is never created, such as the loser of an idempotency race, gives its tokens back
+    private void refundUnlessCommitted(UUID userId, RateLimiter.Admission admission) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        rateLimiter.refund(userId, admission);
+                    }
+                }
+            });
+        }
+    }
+
     public List<NotificationDTO> getAllNotificationsForUser(UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        List<NotificationDTO> notifications = notificationRepository.findDTOsByUserId(userId);
+        if (notifications.isEmpty()) {
+            requireUser(userId);
+        }
+        return notifications;
+    }
+
+    /**
+     * Returns one page of the user's notifications, newest first. Pages are addressed by
+     * the cursor of the previous page rather than an offset, so fetching page 1000 costs
+     * the same as page 1. The requested size is clamped to {@link #MAX_PAGE_SIZE}.
+     */
+    public NotificationPageDTO getInbox(UUID userId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // One extra row tells us whether there is a next page without a count query
+        Limit fetch = Limit.of(pageSize + 1);
+
+        List<InboxRowDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = notificationRepository.findInboxPage(userId, fetch);
+        } else {
+            NotificationCursor position = NotificationCursor.decode(cursor);
+            rows = notificationRepository.findInboxPageAfter(userId, position.timestamp(), position.id(), fetch);
+        }
+
+        if (rows.isEmpty()) {
+            requireUser(userId);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<InboxRowDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? NotificationCursor.of(page.get(pageSize - 1)).encode() : null;
 
-        return notificationRepository.findByUser(user)
-                .stream()
-                .map(NotificationDTO::fromEntity)
-                .collect(Collectors.toList());
+        return new NotificationPageDTO(
+                page.stream().map(InboxRowDTO::toNotificationDTO).collect(Collectors.toList()),
+                nextCursor);
     }
 
     public NotificationDTO getNotificationById(UUID userId, UUID notificationId) {
-        Notification notification = notificationRepository.findById(notificationId)
+        // A notification of another user is indistinguishable from a missing one
+        return notificationRepository.findDTOByIdAndUserId(notificationId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Notification not found"));
+    }
 
-        if (!notification.getUser().getId().equals(userId)) {
-            throw new IllegalArgumentException("Notification does not belong to the user");
-        }
-
-        return NotificationDTO.fromEntity(notification);
+    public long getUnreadCount(UUID userId) {
+        return unreadCountService.getUnreadCount(userId);
     }
 
+    @Transactional
     public NotificationDTO markAsRead(UUID userId, UUID notificationId) {
         Notification notification = getNotificationByUserId(userId, notificationId);
-        notification.setRead(true);
+        // Only a real state change moves the counter, so repeated calls are harmless
+        if (!notification.isRead()) {
+            notification.setRead(true);
+            unreadCountService.adjust(userId, -1);
+        }
         return NotificationDTO.fromEntity(notificationRepository.save(notification));
     }
 
+    @Transactional
     public NotificationDTO markAsUnread(UUID userId, UUID notificationId) {
         Notification notification = getNotificationByUserId(userId, notificationId);
-        notification.setRead(false);
+        if (notification.isRead()) {
+            notification.setRead(false);
+            unreadCountService.adjust(userId, 1);
+        }
         return NotificationDTO.fromEntity(notificationRepository.save(notification));
     }
 
+    /**
+     * Marks every unread notification of the user created up to {@code upTo} as read in a
+     * single statement. Without a bound, notifications arriving after the call are left
+     * unread, as the user has not seen them yet.
+     */
+    @Transactional
+    public MarkReadResultDTO markAllAsRead(UUID userId, LocalDateTime upTo) {
+        LocalDateTime bound = upTo != null ? upTo : LocalDateTime.now();
+        return applyReadChange(userId, notificationRepository.markAllAsRead(userId, bound));
+    }
+
+    @Transactional
+    public MarkReadResultDTO markAsRead(UUID userId, Collection<UUID> notificationIds) {
+        // Ids belonging to other users simply do not match the statement
+        return applyReadChange(userId, notificationRepository.markAsRead(userId, notificationIds));
+    }
+
+    @Transactional
     public void deleteNotification(UUID userId, UUID notificationId) {
-        Notification notification = getNotificationByUserId(userId, notificationId);
-        notificationRepository.delete(notification);
+        // Only the read flag and idempotency key are needed; the row itself is never loaded
+        DeleteCandidateDTO candidate = notificationRepository.findDeleteCandidate(notificationId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Notification not found"));
+        notificationRepository.deleteAllByIdInBatch(List.of(notificationId));
+        if (!candidate.read()) {
+            unreadCountService.adjust(userId, -1);
+        }
+        if (candidate.idempotencyKey() != null) {
+            idempotencyCache.evictOnCompletion(userId, candidate.idempotencyKey());
+        }
     }
 
     private Notification getNotificationByUserId(UUID userId, UUID notificationId) {
@@ -109,4 +228,21 @@ public class NotificationService {
 
         return notification;
     }
+
+    private MarkReadResultDTO applyReadChange(UUID userId, int updated) {
+        if (updated == 0) {
+            requireUser(userId);
+        }
+        if (updated > 0) {
+            unreadCountService.adjust(userId, -updated);
+        }
+        return new MarkReadResultDTO(updated);
+    }
+
+    // Only an empty result needs to tell "nothing there" apart from "no such user"
+    private void requireUser(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+    }
 }
@@ -0,0 +1,200 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.DispatchProperties;
+import com.reddert.notificationsystem.notification.model.DeadLetter;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.OutboxEntry;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import com.reddert.notificationsystem.notification.repositories.OutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class OutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    /**
+     * Published when new outbox entries are written, so the dispatcher can wake up
+     * once the surrounding transaction commits instead of waiting for its next poll.
+     */
+    public record OutboxEntriesCreatedEvent(int count) {
+    }
+
+    private final OutboxRepository outboxRepository;
+    private final DeadLetterRepository deadLetterRepository;
+    private final RetryPolicy retryPolicy;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DispatchProperties properties;
+
+    public OutboxService(OutboxRepository outboxRepository,
+                         DeadLetterRepository deadLetterRepository,
+                         RetryPolicy retryPolicy,
+                         CircuitBreakerRegistry circuitBreakers,
+                         ApplicationEventPublisher eventPublisher,
+                         DispatchProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.deadLetterRepository = deadLetterRepository;
+        this.retryPolicy = retryPolicy;
+        this.circuitBreakers = circuitBreakers;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+    }
+
+    // Must join the caller's transaction so the entry commits together with the notification
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboxEntry enqueue(Notification notification) {
+        OutboxEntry entry = outboxRepository.save(
+                new OutboxEntry(notification.getId(), null, notification.getPriority()));
+        eventPublisher.publishEvent(new OutboxEntriesCreatedEvent(1));
+        return entry;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueAll(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        outboxRepository.saveAll(notifications.stream()
+                .map(notification -> new OutboxEntry(notification.getId(), null, notification.getPriority()))
+                .toList());
+        eventPublisher.publishEvent(new OutboxEntriesCreatedEvent(notifications.size()));
+    }
+
+    /**
+     * Queues delivery of every notification created by a team broadcast with one
+     * INSERT ... SELECT, in the transaction that created them.
+     *
+     * @return the number of entries written
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int enqueueBroadcast(UUID broadcastId) {
+        int count = outboxRepository.enqueueBroadcast(broadcastId, LocalDateTime.now());
+        if (count > 0) {
+            eventPublisher.publishEvent(new OutboxEntriesCreatedEvent(count));
+        }
+        return count;
+    }
+
+    // A fresh entry for one channel with a full set of attempts. Used when replaying a dead letter,
+    // and when rate limiting admitted only some channels of a new notification
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueForChannel(UUID notificationId, String channel, NotificationPriority priority) {
+        outboxRepository.save(new OutboxEntry(notificationId, channel, priority));
+        eventPublisher.publishEvent(new OutboxEntriesCreatedEvent(1));
+    }
+
+    @Transactional
+    public List<OutboxEntry> claimBatch(NotificationPriority priority, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> ids = outboxRepository.findClaimableIds(priority, now, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        UUID token = UUID.randomUUID();
+        if (outboxRepository.claim(ids, token, now, now.plus(properties.leaseTimeout())) == 0) {
+            return List.of();
+        }
+        return outboxRepository.findByClaimToken(token);
+    }
+
+    @Transactional
+    public void complete(OutboxEntry entry) {
+        outboxRepository.deleteClaimed(entry.getId(), entry.getClaimToken());
+    }
+
+    /**
+     * Records the outcome of a delivery attempt. Without failures the entry is done.
+     * Otherwise every failed channel is retried on its own: an all-channel entry is split
+     * into one entry per failed channel, while a channel entry is rescheduled in place.
+     * A channel that has used up its attempts moves to the dead-letter store. Channels
+     * skipped by an open circuit breaker are retried once it half-opens, and the skipped
+     * attempt does not count.
+     * <p>
+     * Every change is guarded by the claim token. If the lease expired and the entry was
+     * claimed again, this outcome is dropped and the current claim settles the entry.
+     */
+    @Transactional
+    public void settle(OutboxEntry entry, List<ChannelOutcome> failures) {
+        if (failures.isEmpty()) {
+            outboxRepository.deleteClaimed(entry.getId(), entry.getClaimToken());
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (entry.getChannel() == null) {
+            if (outboxRepository.deleteClaimed(entry.getId(), entry.getClaimToken()) == 0) {
+                logger.warn("Outbox entry {} was claimed again before it was settled; not splitting it", entry.getId());
+                return;
+            }
+            for (ChannelOutcome failure : failures) {
+                int attempts = attemptsAfter(entry, failure);
+                if (isExhausted(failure, attempts)) {
+                    deadLetter(entry, failure, attempts);
+                } else {
+                    OutboxEntry retry = new OutboxEntry(entry.getNotificationId(), failure.channel(), entry.getPriority());
+                    retry.setAttempts(attempts);
+                    retry.setAvailableAt(now.plus(delay(failure, attempts)));
+                    retry.setLastError(truncate(failure.error()));
+                    outboxRepository.save(retry);
+                }
+            }
+            return;
+        }
+
+        ChannelOutcome failure = failures.get(0);
+        int attempts = attemptsAfter(entry, failure);
+        if (isExhausted(failure, attempts)) {
+            if (outboxRepository.deleteClaimed(entry.getId(), entry.getClaimToken()) > 0) {
+                deadLetter(entry, failure, attempts);
+            }
+        } else {
+            outboxRepository.reschedule(entry.getId(), entry.getClaimToken(),
+                    now.plus(delay(failure, attempts)), attempts, truncate(failure.error()));
+        }
+    }
+
+    // Claiming already counted this attempt; a call the breaker never let through gives it back
+    private static int attemptsAfter(OutboxEntry entry, ChannelOutcome failure) {
+        return failure.status() == ChannelOutcome.Status.CIRCUIT_OPEN
+                ? Math.max(entry.getAttempts() - 1, 0)
+                : entry.getAttempts();
+    }
+
+    private boolean isExhausted(ChannelOutcome failure, int attempts) {
+        return failure.status() != ChannelOutcome.Status.CIRCUIT_OPEN && retryPolicy.isExhausted(attempts);
+    }
+
+    private Duration delay(ChannelOutcome failure, int attempts) {
+        Duration backoff = retryPolicy.backoff(Math.max(attempts, 1));
+        if (failure.status() == ChannelOutcome.Status.CIRCUIT_OPEN) {
+            // A half-open breaker reports no remaining time; the backoff keeps the entry from spinning
+            Duration remaining = circuitBreakers.forChannel(failure.channel()).remainingOpen();
+            return remaining.compareTo(backoff) > 0 ? remaining : backoff;
+        }
+        return backoff;
+    }
+
+    private void deadLetter(OutboxEntry entry, ChannelOutcome failure, int attempts) {
+        deadLetterRepository.save(new DeadLetter(entry.getNotificationId(), failure.channel(), attempts,
+                truncate(failure.error()), entry.getPriority()));
+        logger.warn("Notification {} moved to the dead-letter store after {} attempts via {}: {}",
+                entry.getNotificationId(), attempts, failure.channel(), failure.error());
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
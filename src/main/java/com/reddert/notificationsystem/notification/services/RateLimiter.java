@@ -0,0 +1,173 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RateLimitProperties;
+import com.reddert.notificationsystem.notification.exceptions.RateLimitExceededException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user, per-channel token buckets for notification creation.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full
+ * again (the generic cell rate algorithm, equivalent to a token bucket). Taking a token
+ * moves that time forward by one refill interval with a compare-and-set, so admitting a
+ * request costs a map lookup and a CAS per channel and never blocks. A bucket whose time
+ * has passed is full and therefore indistinguishable from a missing one, which is what
+ * lets {@link #evictIdle()} drop it.
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * Outcome of {@link #admit(UUID)}: the channels the notification may be delivered through.
+     */
+    public record Admission(List<String> admitted, List<String> throttled) {
+
+        public boolean isComplete() {
+            return throttled.isEmpty();
+        }
+    }
+
+    private final RateLimitProperties properties;
+    private final List<ChannelBuckets> channels;
+    private final Admission unrestricted;
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties, List<NotificationChannel> channels) {
+        this(properties, channels.stream().map(NotificationChannel::name).toList(), System::nanoTime);
+    }
+
+    RateLimiter(RateLimitProperties properties, List<String> channelNames, LongSupplier clock) {
+        this.properties = properties;
+        this.channels = channelNames.stream()
+                .map(name -> new ChannelBuckets(name, properties.limitFor(name)))
+                .toList();
+        this.unrestricted = new Admission(channelNames, List.of());
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from each of the user's channel buckets. In {@code REJECT} mode a
+     * single empty bucket fails the whole request, and the tokens already taken for it
+     * are put back. In {@code SKIP_CHANNEL} mode the empty channels are reported as
+     * throttled instead.
+     *
+     * @throws RateLimitExceededException in {@code REJECT} mode when a channel is over its limit
+     */
+    public Admission admit(UUID userId) {
+        if (!properties.enabled()) {
+            return unrestricted;
+        }
+        long now = clock.getAsLong();
+        List<String> throttled = null;
+        for (int i = 0; i < channels.size(); i++) {
+            ChannelBuckets channel = channels.get(i);
+            long wait = channel.tryAcquire(userId, now);
+            if (wait == 0) {
+                continue;
+            }
+            if (properties.mode() == RateLimitProperties.Mode.REJECT) {
+                for (int j = 0; j < i; j++) {
+                    channels.get(j).release(userId);
+                }
+                throw new RateLimitExceededException(channel.name, Duration.ofNanos(wait));
+            }
+            if (throttled == null) {
+                throttled = new ArrayList<>(channels.size());
+            }
+            throttled.add(channel.name);
+        }
+        if (throttled == null) {
+            return unrestricted;
+        }
+        List<String> admitted = new ArrayList<>(unrestricted.admitted());
+        admitted.removeAll(throttled);
+        return new Admission(admitted, throttled);
+    }
+
+    /**
+     * Puts back the tokens taken by {@link #admit(UUID)} for a notification that was not
+     * created after all, such as one whose transaction rolled back.
+     */
+    public void refund(UUID userId, Admission admission) {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (ChannelBuckets channel : channels) {
+            if (admission.admitted().contains(channel.name)) {
+                channel.release(userId);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notification.rate-limit.sweep-interval:PT1M}",
+            initialDelayString = "${notification.rate-limit.sweep-interval:PT1M}")
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        channels.forEach(channel -> channel.evictFull(now));
+    }
+
+    int bucketCount() {
+        return channels.stream().mapToInt(channel -> channel.buckets.size()).sum();
+    }
+
+    private static final class ChannelBuckets {
+
+        private final String name;
+        // Time it takes to refill one token, and the time the whole bucket spans
+        private final long interval;
+        private final long burst;
+        private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        private ChannelBuckets(String name, RateLimitProperties.Limit limit) {
+            this.name = name;
+            this.interval = Math.max(limit.period().toNanos() / limit.capacity(), 1);
+            this.burst = interval * limit.capacity();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the nanoseconds until one is available
+         */
+        private long tryAcquire(UUID userId, long now) {
+            AtomicLong bucket = buckets.get(userId);
+            if (bucket == null) {
+                bucket = buckets.computeIfAbsent(userId, id -> new AtomicLong(now));
+            }
+            while (true) {
+                long fullAt = bucket.get();
+                long next = Math.max(fullAt, now) + interval;
+                long wait = next - now - burst;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(fullAt, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private void release(UUID userId) {
+            AtomicLong bucket = buckets.get(userId);
+            if (bucket != null) {
+                bucket.addAndGet(-interval);
+            }
+        }
+
+        // A token taken between the check and the removal is forgotten, which at worst
+        // lets that user have one extra notification
+        private void evictFull(long now) {
+            buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+}
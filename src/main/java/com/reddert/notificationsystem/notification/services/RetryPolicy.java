@@ -0,0 +1,35 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RetryProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for channel redeliveries. The delay after attempt
+ * {@code n} is drawn uniformly from the upper half of
+ * {@code min(maxBackoff, initialBackoff * multiplier^(n-1))}, so retries of many
+ * notifications that failed together spread out instead of hitting the provider in waves.
+ */
+@Component
+public class RetryPolicy {
+
+    private final RetryProperties properties;
+
+    public RetryPolicy(RetryProperties properties) {
+        this.properties = properties;
+    }
+
+    public boolean isExhausted(int attempts) {
+        return attempts >= properties.maxAttempts();
+    }
+
+    public Duration backoff(int attempts) {
+        double exponential = properties.initialBackoff().toMillis()
+                * Math.pow(properties.multiplier(), Math.max(attempts - 1, 0));
+        long capped = (long) Math.min(exponential, properties.maxBackoff().toMillis());
+        long half = capped / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(capped - half + 1));
+    }
+}
@@ -0,0 +1,127 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.ScheduleNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.ScheduledNotificationDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.ScheduledNotification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.notification.repositories.ScheduledNotificationRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ScheduledNotificationService {
+
+    /**
+     * Published when a schedule is created, so {@link NotificationScheduler} can put it on
+     * its timing wheel once the transaction commits if it falls within the look-ahead.
+     */
+    public record NotificationScheduledEvent(UUID id, LocalDateTime sendAt) {
+    }
+
+    public record ScheduleCancelledEvent(UUID id) {
+    }
+
+    private final ScheduledNotificationRepository scheduledNotificationRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final UnreadCountService unreadCountService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ScheduledNotificationService(ScheduledNotificationRepository scheduledNotificationRepository,
+                                        NotificationRepository notificationRepository,
+                                        UserRepository userRepository,
+                                        OutboxService outboxService,
+                                        UnreadCountService unreadCountService,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.scheduledNotificationRepository = scheduledNotificationRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.outboxService = outboxService;
+        this.unreadCountService = unreadCountService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Transactional
+    public ScheduledNotificationDTO schedule(UUID userId, ScheduleNotificationDTO scheduleNotificationDTO) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        ScheduledNotification scheduled = scheduledNotificationRepository.save(new ScheduledNotification(
+                userId,
+                scheduleNotificationDTO.message(),
+                scheduleNotificationDTO.priorityOrDefault(),
+                scheduleNotificationDTO.sendAt()));
+        eventPublisher.publishEvent(new NotificationScheduledEvent(scheduled.getId(), scheduled.getSendAt()));
+        return ScheduledNotificationDTO.fromEntity(scheduled);
+    }
+
+    public List<ScheduledNotificationDTO> getScheduled(UUID userId) {
+        List<ScheduledNotification> scheduled = scheduledNotificationRepository.findByUserIdOrderBySendAt(userId);
+        if (scheduled.isEmpty() && !userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        return scheduled.stream().map(ScheduledNotificationDTO::fromEntity).collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void cancel(UUID userId, UUID scheduleId) {
+        // Fails once the notification has been delivered, since delivery deletes the row
+        if (scheduledNotificationRepository.deleteByIdAndUserId(scheduleId, userId) == 0) {
+            throw new EntityNotFoundException("Scheduled notification not found");
+        }
+        eventPublisher.publishEvent(new ScheduleCancelledEvent(scheduleId));
+    }
+
+    /**
+     * Turns due schedules into notifications. Schedules that were cancelled, or already
+     * delivered by another instance, are skipped.
+     *
+     * @return the number of notifications created
+     */
+    @Transactional
+    public int deliverDue(Collection<UUID> scheduleIds) {
+        List<ScheduledNotification> due = scheduledNotificationRepository.findAllById(scheduleIds);
+        if (due.isEmpty()) {
+            return 0;
+        }
+        Map<UUID, User> users = userRepository.findAllById(
+                        due.stream().map(ScheduledNotification::getUserId).distinct().toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<Notification> notifications = new ArrayList<>(due.size());
+        for (ScheduledNotification scheduled : due) {
+            if (scheduledNotificationRepository.deleteDue(scheduled.getId()) == 0) {
+                continue;
+            }
+            User user = users.get(scheduled.getUserId());
+            if (user == null) {
+                continue;
+            }
+            Notification notification = new Notification(scheduled.getMessage(), false, user);
+            notification.setPriority(scheduled.getPriority());
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+        outboxService.enqueueAll(notifications);
+        unreadCountService.incrementAll(notifications.stream()
+                .map(notification -> notification.getUser().getId())
+                .toList());
+        return notifications.size();
+    }
+}
@@ -0,0 +1,206 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.StreamProperties;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open Server-Sent Events connections, keyed by user. A user may hold any number of
+ * connections (tabs, devices), and every connection gets each of their notifications.
+ * <p>
+ * Publishing never blocks: events go into a small bounded queue per connection and a
+ * virtual thread per connection writes them to the socket. A slow client therefore only
+ * stalls its own writer, and once its queue is full the configured
+ * {@link StreamProperties.SlowConsumerPolicy} applies. An idle connection costs a parked
+ * virtual thread and its queue, so a node can hold tens of thousands of them. The same
+ * thread sends a heartbeat comment whenever nothing was written for the heartbeat interval.
+ * <p>
+ * Connections are local to this node; a notification reaches the users connected to the
+ * node that dispatches it.
+ */
+@Component
+public class SseSubscriberRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SseSubscriberRegistry.class);
+
+    private final StreamProperties properties;
+    private final Map<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public SseSubscriberRegistry(StreamProperties properties) {
+        this.properties = properties;
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        register(userId, emitter);
+        return emitter;
+    }
+
+    /**
+     * Queues the notification on every connection of the user.
+     *
+     * @return the number of connections it was queued on
+     */
+    public int publish(UUID userId, NotificationDTO notification) {
+        Set<Subscription> userSubscriptions = subscriptions.get(userId);
+        if (userSubscriptions == null) {
+            return 0;
+        }
+        int delivered = 0;
+        for (Subscription subscription : userSubscriptions) {
+            if (subscription.offer(notification)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    public int connectionCount() {
+        return subscriptions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    int connectionCount(UUID userId) {
+        Set<Subscription> userSubscriptions = subscriptions.get(userId);
+        return userSubscriptions == null ? 0 : userSubscriptions.size();
+    }
+
+    // Package-private so tests can supply an emitter that records or stalls writes
+    Subscription register(UUID userId, SseEmitter emitter) {
+        Subscription subscription = new Subscription(userId, emitter);
+        // compute keeps add and the empty-set removal in remove() atomic per user
+        subscriptions.compute(userId, (id, userSubscriptions) -> {
+            Set<Subscription> result = userSubscriptions != null ? userSubscriptions : ConcurrentHashMap.newKeySet();
+            result.add(subscription);
+            return result;
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscription.start();
+        return subscription;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.values().forEach(userSubscriptions -> userSubscriptions.forEach(subscription -> {
+            subscription.close();
+            subscription.emitter.complete();
+        }));
+    }
+
+    private void remove(Subscription subscription) {
+        subscriptions.computeIfPresent(subscription.userId, (id, userSubscriptions) -> {
+            userSubscriptions.remove(subscription);
+            return userSubscriptions.isEmpty() ? null : userSubscriptions;
+        });
+    }
+
+    final class Subscription {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<NotificationDTO> queue;
+        private volatile Thread writer;
+        private volatile boolean closed = false;
+
+        private Subscription(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(properties.bufferSize());
+        }
+
+        private void start() {
+            writer = Thread.ofVirtual().name("sse-" + userId).start(this::writeLoop);
+        }
+
+        boolean offer(NotificationDTO notification) {
+            if (closed) {
+                return false;
+            }
+            if (queue.offer(notification)) {
+                return true;
+            }
+            dropped.incrementAndGet();
+            switch (properties.slowConsumerPolicy()) {
+                case DROP_OLDEST -> {
+                    queue.poll();
+                    return queue.offer(notification);
+                }
+                case DISCONNECT -> {
+                    logger.info("Closing event stream of user {}: client is not keeping up", userId);
+                    close();
+                    emitter.complete();
+                    return false;
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+
+        int queued() {
+            return queue.size();
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            Thread current = writer;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+            remove(this);
+        }
+
+        private void writeLoop() {
+            long heartbeatNanos = properties.heartbeatInterval().toNanos();
+            try {
+                while (!closed) {
+                    NotificationDTO next = queue.poll(heartbeatNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .id(next.id().toString())
+                                .name("notification")
+                                .data(next, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Closed while waiting for the next event
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                logger.debug("Event stream of user {} closed: {}", userId, e.getMessage());
+                emitter.completeWithError(e);
+            } finally {
+                close();
+            }
+        }
+    }
+}
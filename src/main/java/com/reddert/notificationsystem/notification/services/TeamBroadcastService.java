@@ -0,0 +1,84 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.TeamBroadcastDTO;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.TeamRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Sends one notification to every member of a team, or only to those with a given role.
+ * The fan-out runs within the request as a few set-based statements in one transaction:
+ * an INSERT ... SELECT from the team's memberships into the notifications, another from
+ * those notifications into the outbox, and one update of the recipients' unread
+ * counters, plus a check of which cached counts to evict. The statement count does not
+ * grow with the team, so there is nothing to gain from deferring it, and a broadcast the
+ * caller was told about is always stored. Delivery to the channels then happens through
+ * the outbox like any other notification.
+ */
+@Service
+public class TeamBroadcastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamBroadcastService.class);
+
+    private final TeamRepository teamRepository;
+    private final NotificationRepository notificationRepository;
+    private final OutboxService outboxService;
+    private final UnreadCountService unreadCountService;
+    private final TransactionTemplate transactionTemplate;
+
+    public TeamBroadcastService(TeamRepository teamRepository,
+                                NotificationRepository notificationRepository,
+                                OutboxService outboxService,
+                                UnreadCountService unreadCountService,
+                                TransactionTemplate transactionTemplate) {
+        this.teamRepository = teamRepository;
+        this.notificationRepository = notificationRepository;
+        this.outboxService = outboxService;
+        this.unreadCountService = unreadCountService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * @param roleType only members with this role are notified; {@code null} notifies everyone
+     */
+    public TeamBroadcastDTO broadcast(UUID teamId, CreateNotificationDTO createNotificationDTO, RoleType roleType) {
+        String message = createNotificationDTO.message();
+        if (message == null || message.trim().isEmpty()) {
+            throw new IllegalArgumentException("Notification message cannot be empty.");
+        }
+        if (message.length() > 500) {
+            throw new IllegalArgumentException("Notification message is too long.");
+        }
+        if (!teamRepository.existsById(teamId)) {
+            throw new EntityNotFoundException("Team not found with ID: " + teamId);
+        }
+
+        TeamBroadcastDTO broadcast = new TeamBroadcastDTO(
+                UUID.randomUUID(), teamId, message, createNotificationDTO.priorityOrDefault(), roleType);
+        int recipients = fanOut(broadcast);
+        logger.info("Broadcast {} to team {} created {} notifications", broadcast.broadcastId(), teamId, recipients);
+        return broadcast;
+    }
+
+    int fanOut(TeamBroadcastDTO broadcast) {
+        return transactionTemplate.execute(status -> {
+            int recipients = notificationRepository.insertForTeamMembers(
+                    broadcast.teamId(), broadcast.roleType(), broadcast.broadcastId(),
+                    broadcast.message(), broadcast.priority(), LocalDateTime.now());
+            if (recipients > 0) {
+                outboxService.enqueueBroadcast(broadcast.broadcastId());
+                unreadCountService.incrementBroadcastRecipients(broadcast.broadcastId());
+            }
+            return recipients;
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.reddert.notificationsystem.notification.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel. Level 0 has one slot per tick; every higher level has one
+ * slot per full rotation of the level below. A timer is placed on the lowest level whose
+ * current rotation contains its deadline, and when the clock enters a slot of a higher
+ * level, the timers in that slot cascade down. Scheduling and cancelling are O(1), and
+ * advancing the clock by one tick touches one slot per level at most.
+ * <p>
+ * Deadlines are rounded up to whole ticks, so a timer fires at most one tick late. Not
+ * thread-safe on its own; {@code NotificationScheduler} guards it with its own lock.
+ */
+class TimingWheel<K> {
+
+    private static final class Node<K> {
+        private final K key;
+        private final long deadlineTick;
+        private Slot<K> slot;
+        private Node<K> prev;
+        private Node<K> next;
+
+        private Node(K key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    // Intrusive doubly linked list, so a cancelled timer is unlinked without a search
+    private static final class Slot<K> {
+        private Node<K> head;
+
+        private void add(Node<K> node) {
+            node.slot = this;
+            node.prev = null;
+            node.next = head;
+            if (head != null) {
+                head.prev = node;
+            }
+            head = node;
+        }
+
+        private void remove(Node<K> node) {
+            if (node.prev != null) {
+                node.prev.next = node.next;
+            } else {
+                head = node.next;
+            }
+            if (node.next != null) {
+                node.next.prev = node.prev;
+            }
+            node.slot = null;
+            node.prev = null;
+            node.next = null;
+        }
+
+        private Node<K> drain() {
+            Node<K> first = head;
+            head = null;
+            return first;
+        }
+    }
+
+    private final long tickMillis;
+    private final int bits;
+    private final long mask;
+    private final List<List<Slot<K>>> levels;
+    private final Slot<K> overdue = new Slot<>();
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private long currentTick;
+
+    /**
+     * @param wheelSize slots per level, a power of two
+     * @param levels    number of levels; deadlines beyond the top level are parked and re-placed later
+     */
+    TimingWheel(Duration tick, int wheelSize, int levels, long nowMillis) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = Math.max(tick.toMillis(), 1);
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new ArrayList<>(levels);
+        for (int level = 0; level < levels; level++) {
+            List<Slot<K>> slots = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                slots.add(new Slot<>());
+            }
+            this.levels.add(slots);
+        }
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * @return false if the key is already scheduled
+     */
+    boolean schedule(K key, long deadlineMillis) {
+        if (nodes.containsKey(key)) {
+            return false;
+        }
+        Node<K> node = new Node<>(key, Math.ceilDiv(deadlineMillis, tickMillis));
+        nodes.put(key, node);
+        place(node);
+        return true;
+    }
+
+    boolean cancel(K key) {
+        Node<K> node = nodes.remove(key);
+        if (node == null) {
+            return false;
+        }
+        node.slot.remove(node);
+        return true;
+    }
+
+    boolean contains(K key) {
+        return nodes.containsKey(key);
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Moves the clock forward and returns the keys whose deadline has passed.
+     */
+    List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<K> expired = new ArrayList<>();
+        expire(overdue.drain(), expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first, so timers cascading into this tick's level-0 slot fire now
+            for (int level = levels.size() - 1; level >= 1; level--) {
+                if ((currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(slotOf(level, currentTick).drain());
+                }
+            }
+            expire(slotOf(0, currentTick).drain(), expired);
+            expire(overdue.drain(), expired);
+        }
+        return expired;
+    }
+
+    // Lowest level whose current rotation contains the deadline
+    private void place(Node<K> node) {
+        if (node.deadlineTick <= currentTick) {
+            overdue.add(node);
+            return;
+        }
+        for (int level = 0; level < levels.size(); level++) {
+            int rotation = bits * (level + 1);
+            if ((node.deadlineTick >>> rotation) == (currentTick >>> rotation)) {
+                slotOf(level, node.deadlineTick).add(node);
+                return;
+            }
+        }
+        // Past the top level's rotation: park in the deadline's top-level slot if the clock
+        // enters it before wrapping around, otherwise in the slot it enters last, and re-place
+        // from there
+        int top = levels.size() - 1;
+        int topShift = bits * top;
+        long parkAt = Math.min(node.deadlineTick >>> topShift, (currentTick >>> topShift) + mask);
+        slotOf(top, parkAt << topShift).add(node);
+    }
+
+    private Slot<K> slotOf(int level, long tick) {
+        return levels.get(level).get((int) ((tick >>> (bits * level)) & mask));
+    }
+
+    private void cascade(Node<K> node) {
+        while (node != null) {
+            Node<K> next = node.next;
+            place(node);
+            node = next;
+        }
+    }
+
+    private void expire(Node<K> node, List<K> expired) {
+        while (node != null) {
+            Node<K> next = node.next;
+            node.slot = null;
+            nodes.remove(node.key);
+            expired.add(node.key);
+            node = next;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.UnreadCountProperties;
+import com.reddert.notificationsystem.notification.model.UserNotificationStats;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.notification.repositories.UserNotificationStatsRepository;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the per-user unread counters in {@code user_notification_stats}.
+ * <p>
+ * Writers adjust a counter with a relative update in the same transaction as the
+ * notification change. Readers are served from a short-lived in-memory cache, falling
+ * back to a primary-key lookup; a user without a counter row gets one initialised from
+ * a count of their unread notifications. Anything the counters miss, such as a write
+ * racing with that initialisation or a change made outside this service, is corrected
+ * by the periodic {@link #reconcile()} job.
+ */
+@Service
+public class UnreadCountService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnreadCountService.class);
+    private static final UUID FIRST_USER = new UUID(0L, 0L);
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+
+    private final UserNotificationStatsRepository statsRepository;
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadCountProperties properties;
+    private final Map<UUID, CachedCount> cache = new ConcurrentHashMap<>();
+
+    public UnreadCountService(UserNotificationStatsRepository statsRepository,
+                              NotificationRepository notificationRepository,
+                              UserRepository userRepository,
+                              TransactionTemplate transactionTemplate,
+                              UnreadCountProperties properties) {
+        this.statsRepository = statsRepository;
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    public long getUnreadCount(UUID userId) {
+        long now = System.nanoTime();
+        CachedCount cached = cache.get(userId);
+        if (cached != null && cached.expiresAt() - now > 0) {
+            return cached.count();
+        }
+
+        long count = statsRepository.findById(userId)
+                .map(UserNotificationStats::getUnreadCount)
+                .orElseGet(() -> initialize(userId));
+        // A negative value can only come from drift; never show it
+        count = Math.max(count, 0);
+        cache(userId, count, now);
+        return count;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adjust(UUID userId, long delta) {
+        statsRepository.adjustUnreadCount(List.of(userId), delta);
+        evictOnCompletion(List.of(userId));
+    }
+
+    /**
+     * Adds one unread notification per occurrence of a user id. Users are grouped by how
+     * many notifications they received, so a typical batch costs a single statement.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementAll(Collection<UUID> userIds) {
+        adjustAll(userIds, 1);
+    }
+
+    // Removes one unread notification per occurrence of a user id, grouped like incrementAll
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrementAll(Collection<UUID> userIds) {
+        adjustAll(userIds, -1);
+    }
+
+    /**
+     * Adds one unread notification for every recipient of a team broadcast in a single
+     * update. Only a cached count can be stale, so instead of loading every recipient the
+     * users currently in the cache are checked against the broadcast, a batch at a time,
+     * and just the recipients among them are evicted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void incrementBroadcastRecipients(UUID broadcastId) {
+        statsRepository.incrementForBroadcast(broadcastId);
+        long now = System.nanoTime();
+        List<UUID> cached = new ArrayList<>();
+        cache.forEach((userId, entry) -> {
+            if (entry.expiresAt() - now > 0) {
+                cached.add(userId);
+            }
+        });
+        List<UUID> recipients = new ArrayList<>();
+        for (int from = 0; from < cached.size(); from += properties.reconcileBatchSize()) {
+            List<UUID> batch = cached.subList(from, Math.min(from + properties.reconcileBatchSize(), cached.size()));
+            recipients.addAll(notificationRepository.findBroadcastRecipientsAmong(broadcastId, batch));
+        }
+        evictOnCompletion(recipients);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.unread.reconcile-interval:PT5M}",
+            initialDelayString = "${notification.unread.reconcile-interval:PT5M}")
+    public void reconcile() {
+        int corrected = 0;
+        int removed = 0;
+        UUID after = FIRST_USER;
+        while (true) {
+            List<UUID> userIds = statsRepository.findUserIdsAfter(
+                    after, Limit.of(properties.reconcileBatchSize()));
+            if (userIds.isEmpty()) {
+                break;
+            }
+            int[] changes = transactionTemplate.execute(status -> new int[] {
+                    statsRepository.reconcile(userIds),
+                    statsRepository.deleteOrphaned(userIds)
+            });
+            corrected += changes[0];
+            removed += changes[1];
+            userIds.forEach(cache::remove);
+            after = userIds.get(userIds.size() - 1);
+        }
+        if (corrected > 0 || removed > 0) {
+            logger.info("Unread count reconciliation corrected {} counters and removed {} orphaned ones",
+                    corrected, removed);
+        }
+    }
+
+    private void adjustAll(Collection<UUID> userIds, long sign) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Map<UUID, Long> perUser = userIds.stream()
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        perUser.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())))
+                .forEach((count, users) -> statsRepository.adjustUnreadCount(users, sign * count));
+        evictOnCompletion(perUser.keySet());
+    }
+
+    private long initialize(UUID userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        long count = notificationRepository.countUnreadByUserId(userId);
+        try {
+            statsRepository.saveAndFlush(new UserNotificationStats(userId, count));
+            return count;
+        } catch (DataIntegrityViolationException e) {
+            // Another request created the row first; its value may already include newer changes
+            return statsRepository.findById(userId)
+                    .map(UserNotificationStats::getUnreadCount)
+                    .orElse(count);
+        }
+    }
+
+    private void cache(UUID userId, long count, long now) {
+        if (cache.size() >= properties.cacheMaxEntries()) {
+            cache.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+            if (cache.size() >= properties.cacheMaxEntries()) {
+                return;
+            }
+        }
+        cache.put(userId, new CachedCount(count, now + properties.cacheTtl().toNanos()));
+    }
+
+    // Evicting again after completion keeps readers that loaded the pre-commit value from
+    // caching it for long; the TTL bounds the rest
+    private void evictOnCompletion(Collection<UUID> userIds) {
+        userIds.forEach(cache::remove);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userIds.forEach(cache::remove);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One FIFO queue per {@link NotificationPriority}, consumed in smooth weighted round-robin
+ * order: while several levels have items, each level is served in proportion to its
+ * weight, and every non-empty level is served at least once per full round. Urgent work
+ * therefore overtakes bulk traffic without starving it.
+ */
+class WeightedFairQueue<T> {
+
+    private static final class Level<T> {
+        private final ArrayDeque<T> items = new ArrayDeque<>();
+        private final int weight;
+        private int current = 0;
+
+        private Level(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final Map<NotificationPriority, Level<T>> levels = new EnumMap<>(NotificationPriority.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private int size = 0;
+    private boolean closed = false;
+
+    WeightedFairQueue(Map<NotificationPriority, Integer> weights) {
+        for (NotificationPriority priority : NotificationPriority.values()) {
+            levels.put(priority, new Level<>(weights.get(priority)));
+        }
+    }
+
+    void offer(NotificationPriority priority, T item) {
+        lock.lock();
+        try {
+            levels.get(priority).items.add(item);
+            size++;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits for the next item. After {@link #close()} the remaining items are still
+     * handed out, and {@code null} signals that the queue is closed and empty.
+     */
+    T take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (size == 0) {
+                if (closed) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Used by tests that want to fail rather than hang
+    T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (size == 0) {
+                if (closed || nanos <= 0) {
+                    return null;
+                }
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return next();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size(NotificationPriority priority) {
+        lock.lock();
+        try {
+            return levels.get(priority).items.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Every non-empty level earns its weight; the richest is served and pays the round's total
+    private T next() {
+        Level<T> selected = null;
+        int total = 0;
+        for (Level<T> level : levels.values()) {
+            if (level.items.isEmpty()) {
+                continue;
+            }
+            level.current += level.weight;
+            total += level.weight;
+            if (selected == null || level.current > selected.current) {
+                selected = level;
+            }
+        }
+        selected.current -= total;
+        T item = selected.items.poll();
+        if (selected.items.isEmpty()) {
+            // An idle level does not bank credit for when it comes back
+            selected.current = 0;
+        }
+        size--;
+        return item;
+    }
+}
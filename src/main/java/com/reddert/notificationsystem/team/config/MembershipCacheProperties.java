@@ -0,0 +1,19 @@
+package com.reddert.notificationsystem.team.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the in-memory cache of team roles used by permission checks.
+ *
+ * @param ttl        how long a role is served from memory; bounds the staleness of changes
+ *                   made outside JPA
+ * @param maxEntries upper bound on the number of memberships cached at once
+ */
+@ConfigurationProperties(prefix = "team.membership-cache")
+public record MembershipCacheProperties(
+    @DefaultValue("5m") Duration ttl,
+    @DefaultValue("100000") int maxEntries
+) {
+}
@@ -0,0 +1,9 @@
+package com.reddert.notificationsystem.team.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(MembershipCacheProperties.class)
+public class TeamConfig {
+}
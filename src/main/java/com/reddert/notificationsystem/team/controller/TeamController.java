@@ -1,16 +1,22 @@
 package com.reddert.notificationsystem.team.controller;
 
+import com.reddert.notificationsystem.team.dtos.BulkAddMembersDTO;
+import com.reddert.notificationsystem.team.dtos.BulkAddMembersResultDTO;
 import com.reddert.notificationsystem.team.dtos.CreateTeamDTO;
 import com.reddert.notificationsystem.team.dtos.CreateUserMemberShipDTO;
+import com.reddert.notificationsystem.team.dtos.MembershipPageDTO;
 import com.reddert.notificationsystem.team.dtos.RoleChangeResponseDTO;
 import com.reddert.notificationsystem.team.dtos.TeamDTO;
+import com.reddert.notificationsystem.team.dtos.TeamPageDTO;
+import com.reddert.notificationsystem.team.dtos.TeamSortField;
 import com.reddert.notificationsystem.team.dtos.UserMembershipDTO;
+import com.reddert.notificationsystem.team.service.BulkMembershipService;
 import com.reddert.notificationsystem.team.service.TeamService;
 
 import jakarta.validation.Valid;
 
-import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -28,14 +34,23 @@ import org.springframework.web.bind.annotation.RestController;
 public class TeamController {
 
   private final TeamService teamService;
+  private final BulkMembershipService bulkMembershipService;
 
-  public TeamController(TeamService teamService) {
+  public TeamController(TeamService teamService, BulkMembershipService bulkMembershipService) {
     this.teamService = teamService;
+    this.bulkMembershipService = bulkMembershipService;
   }
 
   @GetMapping
-  public ResponseEntity<List<TeamDTO>> getAllTeams() {
-    return ResponseEntity.ok(teamService.getAllTeams());
+  public ResponseEntity<TeamPageDTO> getTeams(
+      @RequestParam(required = false) String name,
+      @RequestParam(defaultValue = "NAME") TeamSortField sort,
+      @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit,
+      @RequestParam(defaultValue = "true") boolean includeTotal) {
+    return ResponseEntity.ok(
+        teamService.getTeams(name, sort, direction, cursor, limit, includeTotal));
   }
 
   @PostMapping
@@ -50,8 +65,11 @@ public class TeamController {
   }
 
   @GetMapping("/{id}/members")
-  public ResponseEntity<List<UserMembershipDTO>> getTeamMembersById(@PathVariable UUID id) {
-    return ResponseEntity.ok(teamService.getAllMembersInTeam(id));
+  public ResponseEntity<MembershipPageDTO> getTeamMembersById(
+      @PathVariable UUID id,
+      @RequestParam(required = false) UUID cursor,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(teamService.getAllMembersInTeam(id, cursor, limit));
   }
 
   @PostMapping("/{id}/members")
@@ -60,6 +78,12 @@ public class TeamController {
     return ResponseEntity.ok(teamService.addMemberToTeam(createUserMemberShipDTO));
   }
 
+  @PostMapping("/{id}/members/bulk")
+  public ResponseEntity<BulkAddMembersResultDTO> addUsersToTeam(
+      @PathVariable UUID id, @Valid @RequestBody BulkAddMembersDTO bulkAddMembersDTO) {
+    return ResponseEntity.ok(bulkMembershipService.addMembersToTeam(id, bulkAddMembersDTO.userIds()));
+  }
+
   @DeleteMapping("/{teamId}/members/{targetId}")
   public ResponseEntity<Void> removeMemberFromTeam(
       @PathVariable UUID teamId, @PathVariable UUID targetId, @RequestParam UUID requestorId) {
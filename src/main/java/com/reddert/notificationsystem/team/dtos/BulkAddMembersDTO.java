@@ -0,0 +1,12 @@
+package com.reddert.notificationsystem.team.dtos;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+public record BulkAddMembersDTO(
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = 10000, message = "At most 10000 users can be added per request")
+    List<UUID> userIds) {
+}
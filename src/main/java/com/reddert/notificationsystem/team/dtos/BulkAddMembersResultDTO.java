@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.team.dtos;
+
+import java.util.List;
+
+public record BulkAddMembersResultDTO(int added, int rejected, List<BulkMemberResultDTO> results) {
+
+  public static BulkAddMembersResultDTO of(List<BulkMemberResultDTO> results) {
+    int added = (int) results.stream()
+        .filter(result -> result.status() == BulkMemberResultDTO.Status.ADDED)
+        .count();
+    return new BulkAddMembersResultDTO(added, results.size() - added, results);
+  }
+}
@@ -0,0 +1,13 @@
+package com.reddert.notificationsystem.team.dtos;
+
+import java.util.UUID;
+
+public record BulkMemberResultDTO(int index, UUID userId, Status status) {
+
+  public enum Status {
+    ADDED,
+    ALREADY_MEMBER,
+    USER_NOT_FOUND,
+    INVALID
+  }
+}
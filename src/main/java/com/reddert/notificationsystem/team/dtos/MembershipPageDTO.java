@@ -0,0 +1,11 @@
+package com.reddert.notificationsystem.team.dtos;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of memberships. {@code nextCursor} is passed back to fetch the following page
+ * and is {@code null} on the last one.
+ */
+public record MembershipPageDTO(List<UserMembershipDTO> items, UUID nextCursor) {
+}
@@ -0,0 +1,58 @@
+package com.reddert.notificationsystem.team.dtos;
+
+import com.reddert.notificationsystem.notification.exceptions.InvalidCursorException;
+import com.reddert.notificationsystem.team.model.Team;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Position in the team catalog, the sort key and id of the last team on a page. Clients
+ * only ever see the URL-safe encoded form and should treat it as opaque. A cursor is only
+ * valid for the ordering it was issued for.
+ */
+public record TeamCursor(TeamSortField field, String value, UUID id) {
+
+  public static TeamCursor of(TeamSortField field, Team team) {
+    String value = switch (field) {
+      case NAME -> team.getName();
+      case CREATED_AT -> team.getCreatedAt().toString();
+    };
+    return new TeamCursor(field, value, team.getId());
+  }
+
+  public ScrollPosition toScrollPosition() {
+    Object key = switch (field) {
+      case NAME -> value;
+      case CREATED_AT -> LocalDateTime.parse(value);
+    };
+    return ScrollPosition.forward(Map.of(field.property(), key, "id", id));
+  }
+
+  // The value goes last since a name may contain the separator
+  public String encode() {
+    String raw = field + "|" + id + "|" + value;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static TeamCursor decode(String cursor, TeamSortField expectedField) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = raw.split("\\|", 3);
+      if (parts.length < 3 || !parts[0].equals(expectedField.name())) {
+        throw new InvalidCursorException(cursor);
+      }
+      TeamCursor decoded = new TeamCursor(expectedField, parts[2], UUID.fromString(parts[1]));
+      if (expectedField == TeamSortField.CREATED_AT) {
+        LocalDateTime.parse(decoded.value());
+      }
+      return decoded;
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidCursorException(cursor);
+    }
+  }
+}
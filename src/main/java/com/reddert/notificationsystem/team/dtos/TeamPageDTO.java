@@ -0,0 +1,11 @@
+package com.reddert.notificationsystem.team.dtos;
+
+import java.util.List;
+
+/**
+ * One page of the team catalog. {@code nextCursor} is passed back to fetch the following
+ * page and is {@code null} on the last one; {@code total} is the number of matching teams,
+ * or {@code null} when it was not requested.
+ */
+public record TeamPageDTO(List<TeamDTO> items, String nextCursor, Long total) {
+}
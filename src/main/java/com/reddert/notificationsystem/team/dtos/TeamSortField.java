@@ -0,0 +1,17 @@
+package com.reddert.notificationsystem.team.dtos;
+
+// Orderings the team catalog can be paged in; each is backed by an index on team
+public enum TeamSortField {
+  NAME("name"),
+  CREATED_AT("createdAt");
+
+  private final String property;
+
+  TeamSortField(String property) {
+    this.property = property;
+  }
+
+  public String property() {
+    return property;
+  }
+}
@@ -1,11 +1,17 @@
 package com.reddert.notificationsystem.team.dtos;
 
 import com.reddert.notificationsystem.team.model.MemberOf;
+import com.reddert.notificationsystem.team.model.RoleType;
 import com.reddert.notificationsystem.team.model.Team;
 import java.util.UUID;
 
 public record UserMembershipDTO(UUID userId, UUID teamId, String teamName, String roleTypeName) {
 
+  // Used by the membership projection queries, which select the role type itself
+  public UserMembershipDTO(UUID userId, UUID teamId, String teamName, RoleType roleType) {
+    this(userId, teamId, teamName, roleType.name());
+  }
+
   public static UserMembershipDTO fromEntity(MemberOf member) {
     Team team = member.getTeam();
     return new UserMembershipDTO(
@@ -1,17 +1,28 @@
 package com.reddert.notificationsystem.team.model;
 
+import com.reddert.notificationsystem.team.service.MembershipCacheInvalidator;
 import com.reddert.notificationsystem.user.model.User;
 
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
 
 @Entity
-@Table(name = "member_of")
-public class MemberOf {
+// The primary key leads with team_id; a user's memberships are paged through this index
+@Table(
+    name = "member_of",
+    indexes = @Index(name = "idx_member_of_user_team", columnList = "user_id, team_id"))
+@EntityListeners(MembershipCacheInvalidator.class)
+public class MemberOf implements Persistable<MemberOfId> {
 
   @EmbeddedId
   private MemberOfId id;
@@ -30,10 +41,27 @@ public class MemberOf {
   @JoinColumn(name = "role_id", nullable = false)
   private Role role;
 
+  // Ids are assigned, so tell Spring Data to persist new rows instead of merging them,
+  // which would select each one first and keep inserts from being batched
+  @Transient
+  private boolean isNew = true;
+
+  @PostLoad
+  @PostPersist
+  void markNotNew() {
+    this.isNew = false;
+  }
+
+  @Override
   public MemberOfId getId() {
     return id;
   }
 
+  @Override
+  public boolean isNew() {
+    return isNew;
+  }
+
   public User getUser() {
     return user;
   }
@@ -20,6 +20,14 @@ public class MemberOfId implements Serializable {
     this.teamId = teamId;
   }
 
+  public UUID getUserId() {
+    return userId;
+  }
+
+  public UUID getTeamId() {
+    return teamId;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o)
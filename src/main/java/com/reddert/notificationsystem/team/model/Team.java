@@ -12,11 +12,18 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 
 @Entity
-@Table(name = "team")
+// Back the catalog orderings and the name prefix search; id breaks ties between pages
+@Table(
+    name = "team",
+    indexes = {
+        @Index(name = "idx_team_name", columnList = "name, id"),
+        @Index(name = "idx_team_created_at", columnList = "createdAt, id")
+    })
 public class Team {
 
   @Id
@@ -31,6 +38,9 @@ public class Team {
   @NotNull
   private LocalDateTime createdAt;
 
+  public Team() {
+  }
+
   public Team(String name) {
     this.name = name;
     this.createdAt = LocalDateTime.now();
@@ -62,4 +72,8 @@ public class Team {
     this.description = description;
   }
 
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
 }
@@ -1,22 +1,50 @@
 package com.reddert.notificationsystem.team.repository;
 
+import com.reddert.notificationsystem.team.dtos.UserMembershipDTO;
 import com.reddert.notificationsystem.team.model.MemberOf;
 import com.reddert.notificationsystem.team.model.MemberOfId;
 import com.reddert.notificationsystem.team.model.RoleType;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MemberOfRepository extends JpaRepository<MemberOf, MemberOfId> {
-  List<MemberOf> findAllByUserId(UUID userId);
-
-  List<MemberOf> findAllByTeamId(UUID teamId);
-
   List<MemberOf> findAllByTeam_IdAndRole_RoleType(UUID teamId, RoleType roleType);
 
   RoleType findRole_RoleTypeByTeam_IdAndUser_Id(UUID teamId, UUID userId);
 
-  RoleType findRole_RoleTypeById(MemberOfId memberId);
+  @Query("select m.role.roleType from MemberOf m where m.id = :memberId")
+  RoleType findRole_RoleTypeById(@Param("memberId") MemberOfId memberId);
 
   boolean existsByTeamId(UUID teamId);
+
+  @Query("select m.id.userId from MemberOf m where m.id.teamId = :teamId and m.id.userId in :userIds")
+  List<UUID> findMemberIdsIn(
+      @Param("teamId") UUID teamId, @Param("userIds") Collection<UUID> userIds);
+
+  /**
+   * Keyset page of a team's memberships, ordered by user id, read in one statement
+   * straight into DTOs. Start with the nil UUID and pass the last user id of each page.
+   */
+  @Query("select new com.reddert.notificationsystem.team.dtos.UserMembershipDTO("
+      + "m.id.userId, m.id.teamId, t.name, r.roleType) "
+      + "from MemberOf m join m.team t join m.role r "
+      + "where m.id.teamId = :teamId and m.id.userId > :after order by m.id.userId")
+  List<UserMembershipDTO> findMembershipsInTeamAfter(
+      @Param("teamId") UUID teamId, @Param("after") UUID after, Limit limit);
+
+  /**
+   * Keyset page of a user's memberships, ordered by team id, like
+   * {@link #findMembershipsInTeamAfter}.
+   */
+  @Query("select new com.reddert.notificationsystem.team.dtos.UserMembershipDTO("
+      + "m.id.userId, m.id.teamId, t.name, r.roleType) "
+      + "from MemberOf m join m.team t join m.role r "
+      + "where m.id.userId = :userId and m.id.teamId > :after order by m.id.teamId")
+  List<UserMembershipDTO> findMembershipsOfUserAfter(
+      @Param("userId") UUID userId, @Param("after") UUID after, Limit limit);
 }
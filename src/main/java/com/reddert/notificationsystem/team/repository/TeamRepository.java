@@ -1,8 +1,20 @@
 package com.reddert.notificationsystem.team.repository;
 
 import com.reddert.notificationsystem.team.model.Team;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.UUID;
 
 public interface TeamRepository extends JpaRepository<Team, UUID> {
+
+  // Keyset scrolling: each page continues after the sort keys of the previous one
+  Window<Team> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+  Window<Team> findByNameStartingWith(
+      String namePrefix, ScrollPosition position, Sort sort, Limit limit);
+
+  long countByNameStartingWith(String namePrefix);
 }
@@ -0,0 +1,109 @@
+package com.reddert.notificationsystem.team.service;
+
+import com.reddert.notificationsystem.team.dtos.BulkAddMembersResultDTO;
+import com.reddert.notificationsystem.team.dtos.BulkMemberResultDTO;
+import com.reddert.notificationsystem.team.model.MemberOf;
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.model.Team;
+import com.reddert.notificationsystem.team.repository.MemberOfRepository;
+import com.reddert.notificationsystem.team.repository.TeamRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Adds many users to a team in one transaction. Existing users and existing memberships
+ * are each found with a single IN query, and the new rows are inserted in chunks that line
+ * up with the Hibernate JDBC batch size, clearing the persistence context after each one.
+ */
+@Service
+public class BulkMembershipService {
+
+  private final TeamRepository teamRepository;
+  private final UserRepository userRepository;
+  private final MemberOfRepository memberOfRepository;
+  private final RoleCache roleCache;
+  private final EntityManager entityManager;
+  private final int chunkSize;
+
+  public BulkMembershipService(
+      TeamRepository teamRepository,
+      UserRepository userRepository,
+      MemberOfRepository memberOfRepository,
+      RoleCache roleCache,
+      EntityManager entityManager,
+      @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int chunkSize) {
+    this.teamRepository = teamRepository;
+    this.userRepository = userRepository;
+    this.memberOfRepository = memberOfRepository;
+    this.roleCache = roleCache;
+    this.entityManager = entityManager;
+    this.chunkSize = chunkSize;
+  }
+
+  @Transactional
+  public BulkAddMembersResultDTO addMembersToTeam(UUID teamId, List<UUID> userIds) {
+    if (!teamRepository.existsById(teamId)) {
+      throw new EntityNotFoundException("Team not found with ID: " + teamId);
+    }
+    List<UUID> candidates = userIds.stream().filter(Objects::nonNull).distinct().toList();
+    Set<UUID> existingUsers = new HashSet<>();
+    // Holds every user that is a member by the time their item is reached, so a user listed
+    // twice is added once
+    Set<UUID> members = new HashSet<>();
+    if (!candidates.isEmpty()) {
+      existingUsers.addAll(userRepository.findExistingIds(candidates));
+      members.addAll(memberOfRepository.findMemberIdsIn(teamId, candidates));
+    }
+    Role memberRole = roleCache.get(RoleType.MEMBER);
+
+    BulkMemberResultDTO[] results = new BulkMemberResultDTO[userIds.size()];
+    List<MemberOf> chunk = new ArrayList<>(chunkSize);
+    for (int index = 0; index < userIds.size(); index++) {
+      UUID userId = userIds.get(index);
+      BulkMemberResultDTO.Status status;
+      if (userId == null) {
+        status = BulkMemberResultDTO.Status.INVALID;
+      } else if (!existingUsers.contains(userId)) {
+        status = BulkMemberResultDTO.Status.USER_NOT_FOUND;
+      } else if (!members.add(userId)) {
+        status = BulkMemberResultDTO.Status.ALREADY_MEMBER;
+      } else {
+        // References are enough for the foreign keys, so neither row is read. The team is
+        // looked up again per row because clearing a chunk detaches the previous reference.
+        User user = entityManager.getReference(User.class, userId);
+        Team team = entityManager.getReference(Team.class, teamId);
+        chunk.add(new MemberOf(user, team, memberRole));
+        if (chunk.size() == chunkSize) {
+          writeChunk(chunk);
+        }
+        status = BulkMemberResultDTO.Status.ADDED;
+      }
+      results[index] = new BulkMemberResultDTO(index, userId, status);
+    }
+    writeChunk(chunk);
+    return BulkAddMembersResultDTO.of(List.of(results));
+  }
+
+  // Flushing per chunk sends one JDBC batch; clearing keeps the persistence context small
+  private void writeChunk(List<MemberOf> chunk) {
+    if (chunk.isEmpty()) {
+      return;
+    }
+    memberOfRepository.saveAll(chunk);
+    entityManager.flush();
+    entityManager.clear();
+    chunk.clear();
+  }
+}
@@ -0,0 +1,104 @@
+package com.reddert.notificationsystem.team.service;
+
+import com.reddert.notificationsystem.team.config.MembershipCacheProperties;
+import com.reddert.notificationsystem.team.model.MemberOfId;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.MemberOfRepository;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Role of each user in each team, so permission checks are answered without a query.
+ * <p>
+ * Every membership written through JPA is evicted by {@link MembershipCacheInvalidator},
+ * once right away and again when the transaction completes. A lookup only caches what it
+ * read if no eviction happened meanwhile, so a value read before a concurrent change
+ * commits is never kept. Entries also expire after a configurable time, which bounds the
+ * staleness of changes made outside JPA.
+ */
+@Component
+public class MembershipCache {
+
+  private record CachedRole(RoleType roleType, long expiresAt) {
+  }
+
+  private final MemberOfRepository memberOfRepository;
+  private final MembershipCacheProperties properties;
+  private final LongSupplier clock;
+  private final Map<MemberOfId, CachedRole> cache = new ConcurrentHashMap<>();
+  private final AtomicLong evictions = new AtomicLong();
+
+  @Autowired
+  public MembershipCache(
+      MemberOfRepository memberOfRepository, MembershipCacheProperties properties) {
+    this(memberOfRepository, properties, System::nanoTime);
+  }
+
+  MembershipCache(
+      MemberOfRepository memberOfRepository,
+      MembershipCacheProperties properties,
+      LongSupplier clock) {
+    this.memberOfRepository = memberOfRepository;
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the user's role in the team, or empty if they are not a member.
+   */
+  public Optional<RoleType> roleOf(UUID userId, UUID teamId) {
+    MemberOfId id = new MemberOfId(userId, teamId);
+    long now = clock.getAsLong();
+    CachedRole cached = cache.get(id);
+    if (cached != null && cached.expiresAt() - now > 0) {
+      return Optional.of(cached.roleType());
+    }
+
+    long generation = evictions.get();
+    RoleType roleType = memberOfRepository.findRole_RoleTypeById(id);
+    if (roleType == null) {
+      return Optional.empty();
+    }
+    if (evictions.get() == generation && hasRoom(now)) {
+      cache.put(id, new CachedRole(roleType, now + properties.ttl().toNanos()));
+    }
+    return Optional.of(roleType);
+  }
+
+  public void evict(MemberOfId id) {
+    evictNow(id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          evictNow(id);
+        }
+      });
+    }
+  }
+
+  int size() {
+    return cache.size();
+  }
+
+  private void evictNow(MemberOfId id) {
+    cache.remove(id);
+    evictions.incrementAndGet();
+  }
+
+  private boolean hasRoom(long now) {
+    if (cache.size() < properties.maxEntries()) {
+      return true;
+    }
+    cache.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+    return cache.size() < properties.maxEntries();
+  }
+}
@@ -0,0 +1,30 @@
+package com.reddert.notificationsystem.team.service;
+
+import com.reddert.notificationsystem.team.model.MemberOf;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link MemberOf} that evicts every membership written through
+ * {@code MemberOfRepository} from the {@link MembershipCache}.
+ */
+@Component
+public class MembershipCacheInvalidator {
+
+  private final MembershipCache membershipCache;
+
+  // Lazy: the entity manager factory creates this listener before the repositories exist
+  public MembershipCacheInvalidator(@Lazy MembershipCache membershipCache) {
+    this.membershipCache = membershipCache;
+  }
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  void onWrite(MemberOf memberOf) {
+    membershipCache.evict(memberOf.getId());
+  }
+}
@@ -0,0 +1,55 @@
+package com.reddert.notificationsystem.team.service;
+
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.RoleRepository;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * The {@link Role} reference rows, one per {@link RoleType}, loaded once at startup.
+ * A role seeded after startup is loaded on first use. The cached instances are shared
+ * and detached; assign them to memberships but never modify them.
+ */
+@Component
+public class RoleCache {
+
+  private final RoleRepository roleRepository;
+  // Replaced rather than modified, so lookups need no lock
+  private volatile Map<RoleType, Role> roles = new EnumMap<>(RoleType.class);
+
+  public RoleCache(RoleRepository roleRepository) {
+    this.roleRepository = roleRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void load() {
+    Map<RoleType, Role> loaded = new EnumMap<>(RoleType.class);
+    roleRepository.findAll().forEach(role -> loaded.putIfAbsent(role.getRoleType(), role));
+    roles = loaded;
+  }
+
+  public Role get(RoleType roleType) {
+    Role role = roles.get(roleType);
+    return role != null ? role : loadMissing(roleType);
+  }
+
+  private synchronized Role loadMissing(RoleType roleType) {
+    Role role = roles.get(roleType);
+    if (role != null) {
+      return role;
+    }
+    role = roleRepository
+        .findByRoleType(roleType)
+        .orElseThrow(
+            () -> new EntityNotFoundException("Role not found for role type: " + roleType));
+    Map<RoleType, Role> updated = new EnumMap<>(roles);
+    updated.put(roleType, role);
+    roles = updated;
+    return role;
+  }
+}
@@ -2,8 +2,12 @@ package com.reddert.notificationsystem.team.service;
 
 import com.reddert.notificationsystem.team.dtos.CreateTeamDTO;
 import com.reddert.notificationsystem.team.dtos.CreateUserMemberShipDTO;
+import com.reddert.notificationsystem.team.dtos.MembershipPageDTO;
 import com.reddert.notificationsystem.team.dtos.RoleChangeResponseDTO;
+import com.reddert.notificationsystem.team.dtos.TeamCursor;
 import com.reddert.notificationsystem.team.dtos.TeamDTO;
+import com.reddert.notificationsystem.team.dtos.TeamPageDTO;
+import com.reddert.notificationsystem.team.dtos.TeamSortField;
 import com.reddert.notificationsystem.team.dtos.UserMembershipDTO;
 import com.reddert.notificationsystem.team.model.MemberOf;
 import com.reddert.notificationsystem.team.model.MemberOfId;
@@ -11,35 +15,44 @@ import com.reddert.notificationsystem.team.model.Role;
 import com.reddert.notificationsystem.team.model.RoleType;
 import com.reddert.notificationsystem.team.model.Team;
 import com.reddert.notificationsystem.team.repository.MemberOfRepository;
-import com.reddert.notificationsystem.team.repository.RoleRepository;
 import com.reddert.notificationsystem.team.repository.TeamRepository;
 import com.reddert.notificationsystem.user.model.User;
 import com.reddert.notificationsystem.user.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
-import java.nio.file.AccessDeniedException;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class TeamService {
 
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final UUID FIRST_ID = new UUID(0L, 0L);
+
   private final TeamRepository teamRepository;
   private final UserRepository userRepository;
   private final MemberOfRepository memberOfRepository;
-  private final RoleRepository roleRepository;
+  private final MembershipCache membershipCache;
+  private final RoleCache roleCache;
 
   public TeamService(
       TeamRepository teamRepository,
       UserRepository userRepository,
       MemberOfRepository memberOfRepository,
-      RoleRepository roleRepository) {
+      MembershipCache membershipCache,
+      RoleCache roleCache) {
     this.teamRepository = teamRepository;
     this.userRepository = userRepository;
     this.memberOfRepository = memberOfRepository;
-    this.roleRepository = roleRepository;
+    this.membershipCache = membershipCache;
+    this.roleCache = roleCache;
   }
 
   @Transactional
@@ -51,10 +64,7 @@ public class TeamService {
     Team team = new Team(createTeamDTO.name());
     team = teamRepository.save(team);
 
-    Role ownerRole = roleRepository
-        .findByRoleType(RoleType.OWNER)
-        .orElseThrow(
-            () -> new EntityNotFoundException("OWNER Role not found, critical Exception"));
+    Role ownerRole = roleCache.get(RoleType.OWNER);
     // Make owner member of team
     MemberOf memberOf = new MemberOf(owner, team, ownerRole);
     memberOf = memberOfRepository.save(memberOf);
@@ -67,8 +77,7 @@ public class TeamService {
     UUID userId = createUserMemberShipDTO.userId();
     UUID teamId = createUserMemberShipDTO.teamId();
     RoleType roleType = RoleType.MEMBER;
-    MemberOfId memberOfId = new MemberOfId(userId, teamId);
-    if (memberOfRepository.existsById(memberOfId)) {
+    if (membershipCache.roleOf(userId, teamId).isPresent()) {
       throw new IllegalArgumentException("User is already a member of the team.");
     }
 
@@ -79,10 +88,7 @@ public class TeamService {
     User user = userRepository
         .findById(userId)
         .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
-    Role role = roleRepository
-        .findByRoleType(roleType)
-        .orElseThrow(
-            () -> new EntityNotFoundException("Role not found for role type: " + roleType));
+    Role role = roleCache.get(roleType);
 
     // Create and save an entry in member_of table
     MemberOf memberOf = new MemberOf(user, team, role);
@@ -99,85 +105,82 @@ public class TeamService {
 
   @Transactional
   public void removeMemberFromTeam(UUID teamId, UUID requestorId, UUID targetUserId) {
-    // Verify the team exists
-    teamRepository
-        .findById(teamId)
-        .orElseThrow(() -> new EntityNotFoundException("Team not found with ID: " + teamId));
-
-    // Verify the requestor's membership and role in the team
-    MemberOfId requestorMemberOfId = new MemberOfId(targetUserId, teamId);
-    MemberOf requestorMembership = memberOfRepository
-        .findById(requestorMemberOfId)
+    // Verify the requestor's and the target's membership and role in the team; a team
+    // that does not exist has no members
+    RoleType requestorRole = membershipCache
+        .roleOf(requestorId, teamId)
         .orElseThrow(
             () -> new IllegalArgumentException("Requestor is not a member of the team."));
-
-    // Verify the target user's membership and role in the team
-    MemberOfId targetMemberOfId = new MemberOfId(targetUserId, teamId);
-    MemberOf targetMembership = memberOfRepository
-        .findById(targetMemberOfId)
+    RoleType targetRole = membershipCache
+        .roleOf(targetUserId, teamId)
         .orElseThrow(() -> new IllegalArgumentException("Target is not a member of the team."));
 
-    RoleType requestorRole = requestorMembership.getRole().getRoleType();
-
-    RoleType targetRole = targetMembership.getRole().getRoleType();
-
     // Check permissions based on roles
     if (requestorRole == RoleType.OWNER
         || (requestorRole == RoleType.ADMIN
             && targetRole != RoleType.ADMIN
             && targetRole != RoleType.OWNER)) {
       // Remove the target user from the team
-      memberOfRepository.delete(targetMembership);
+      memberOfRepository.deleteById(new MemberOfId(targetUserId, teamId));
     } else {
       throw new IllegalArgumentException("Insufficient permissions to remove this member.");
     }
   }
 
   @Transactional(readOnly = true)
-  public List<UserMembershipDTO> getUserMemberships(UUID userId) {
-    userRepository
-        .findById(userId)
-        .orElseThrow(() -> new EntityNotFoundException("User not found with ID: " + userId));
-
-    return memberOfRepository.findAllByUserId(userId).stream()
-        .map(
-            membership -> new UserMembershipDTO(
-                membership.getUser().getId(),
-                membership.getTeam().getId(),
-                membership.getTeam().getName(),
-                membership.getRole().getRoleType().name() // Get the role type as a string
-            ))
-        .collect(Collectors.toList());
+  public MembershipPageDTO getUserMemberships(UUID userId, UUID cursor, Integer limit) {
+    int pageSize = pageSize(limit);
+    List<UserMembershipDTO> rows = memberOfRepository.findMembershipsOfUserAfter(
+        userId, cursor == null ? FIRST_ID : cursor, Limit.of(pageSize + 1));
+    if (rows.isEmpty() && !userRepository.existsById(userId)) {
+      throw new EntityNotFoundException("User not found with ID: " + userId);
+    }
+    return page(rows, pageSize, UserMembershipDTO::teamId);
   }
 
   @Transactional(readOnly = true)
-  public List<UserMembershipDTO> getAllMembersInTeam(UUID teamId) {
-    // Check if the team exists
-    teamRepository
-        .findById(teamId)
-        .orElseThrow(() -> new EntityNotFoundException("Team not found with ID: " + teamId));
-
-    return memberOfRepository.findAllByTeamId(teamId).stream()
-        .map(
-            membership -> new UserMembershipDTO(
-                membership.getUser().getId(),
-                membership.getTeam().getId(),
-                membership.getTeam().getName(),
-                membership.getRole().getRoleType().name() // Get the role type as a string
-            ))
-        .collect(Collectors.toList());
+  public MembershipPageDTO getAllMembersInTeam(UUID teamId, UUID cursor, Integer limit) {
+    int pageSize = pageSize(limit);
+    List<UserMembershipDTO> rows = memberOfRepository.findMembershipsInTeamAfter(
+        teamId, cursor == null ? FIRST_ID : cursor, Limit.of(pageSize + 1));
+    // A team always has an owner, so only an empty page can mean it does not exist
+    if (rows.isEmpty() && !teamRepository.existsById(teamId)) {
+      throw new EntityNotFoundException("Team not found with ID: " + teamId);
+    }
+    return page(rows, pageSize, UserMembershipDTO::userId);
   }
 
+  /**
+   * One page of the team catalog, optionally limited to names starting with a prefix.
+   * Pages are read with keyset pagination, so a late page costs as much as the first; the
+   * total is only counted when asked for.
+   */
   @Transactional(readOnly = true)
-  public List<TeamDTO> getAllTeams() {
-
-    List<Team> teams = teamRepository.findAll();
-    if (teams.isEmpty()) {
-      throw new EntityNotFoundException("No Teams found");
+  public TeamPageDTO getTeams(
+      String namePrefix,
+      TeamSortField sortField,
+      Sort.Direction direction,
+      String cursor,
+      Integer limit,
+      boolean includeTotal) {
+    Limit pageSize = Limit.of(pageSize(limit));
+    Sort sort = Sort.by(direction, sortField.property(), "id");
+    ScrollPosition position = cursor == null || cursor.isBlank()
+        ? ScrollPosition.keyset()
+        : TeamCursor.decode(cursor, sortField).toScrollPosition();
+    boolean filtered = namePrefix != null && !namePrefix.isEmpty();
+
+    Window<Team> teams = filtered
+        ? teamRepository.findByNameStartingWith(namePrefix, position, sort, pageSize)
+        : teamRepository.findAllBy(position, sort, pageSize);
+    String nextCursor = teams.hasNext() && !teams.isEmpty()
+        ? TeamCursor.of(sortField, teams.getContent().get(teams.size() - 1)).encode()
+        : null;
+    Long total = null;
+    if (includeTotal) {
+      total = filtered ? teamRepository.countByNameStartingWith(namePrefix) : teamRepository.count();
     }
-    return teams.stream()
-        .map(team -> new TeamDTO(team.getId(), team.getName(), team.getDescription()))
-        .collect(Collectors.toList());
+    return new TeamPageDTO(teams.map(TeamDTO::fromEntity).getContent(), nextCursor, total);
   }
 
   public TeamDTO getTeamById(UUID id) {
@@ -210,55 +213,30 @@ public class TeamService {
       throw new IllegalArgumentException("invalid role type: " + roleTypeString);
     }
 
-    MemberOfId targetMemberOfId = new MemberOfId(targetId, teamId);
-    MemberOf targetMember = memberOfRepository
-        .findById(targetMemberOfId)
+    // Permission checks are answered from the membership cache
+    RoleType targetCurrentRoleType = membershipCache
+        .roleOf(targetId, teamId)
         .orElseThrow(() -> new EntityNotFoundException("target user does not exist"));
+    RoleType requesterRoleType = membershipCache
+        .roleOf(requesterId, teamId)
+        .orElseThrow(() -> new EntityNotFoundException("requester user does not exist"));
+    checkRoleChangePermitted(
+        requesterId, targetId, requesterRoleType, targetCurrentRoleType, targetNewRoleType);
 
-    MemberOfId requesterMemberOfId = new MemberOfId(requesterId, teamId);
+    MemberOf targetMember = memberOfRepository
+        .findById(new MemberOfId(targetId, teamId))
+        .orElseThrow(() -> new EntityNotFoundException("target user does not exist"));
     MemberOf requestMember = memberOfRepository
-        .findById(requesterMemberOfId)
+        .findById(new MemberOfId(requesterId, teamId))
         .orElseThrow(() -> new EntityNotFoundException("requester user does not exist"));
 
-    Role targetNewRole = roleRepository
-        .findByRoleType(targetNewRoleType)
-        .orElseThrow(() -> new EntityNotFoundException("Role not found, critical Exception"));
-
-    RoleType targetCurrentRoleType = memberOfRepository.findRole_RoleTypeById(targetMemberOfId);
-
-    RoleType requesterRoleType = memberOfRepository.findRole_RoleTypeById(requesterMemberOfId);
-
-    // Case Owner transfer.
+    // Case Owner transfer: the owner steps down to admin.
     if (requesterRoleType == RoleType.OWNER && targetNewRoleType == RoleType.OWNER) {
-      // make owner admin.
-      requestMember.setRole(
-          roleRepository
-              .findByRoleType(RoleType.ADMIN)
-              .orElseThrow(
-                  () -> new EntityNotFoundException("RoleType Admin not found, Critical Error.")));
+      requestMember.setRole(roleCache.get(RoleType.ADMIN));
       memberOfRepository.save(requestMember);
-
-    // Case Admin does illegal promotion.
-    } else if (requesterRoleType == RoleType.ADMIN
-        && (targetCurrentRoleType == RoleType.OWNER
-            || targetCurrentRoleType == RoleType.ADMIN
-            || targetNewRoleType == RoleType.OWNER
-            || targetNewRoleType == RoleType.ADMIN)) {
-
-      throw new IllegalArgumentException(
-          String.format(
-              "user %d doesn't have permissions to change user %d from %s to %s",
-              requesterId,
-              targetId,
-              targetCurrentRoleType.toString(),
-              targetNewRoleType.toString()));
-
-    // Case non owner or admin tries to change role.
-    } else if (requesterRoleType != RoleType.OWNER && requesterRoleType != RoleType.ADMIN) {
-      throw new IllegalArgumentException("requestee doesn't have permissions to change roles.");
     }
 
-    targetMember.setRole(targetNewRole);
+    targetMember.setRole(roleCache.get(targetNewRoleType));
     memberOfRepository.save(targetMember);
     return new RoleChangeResponseDTO(UserMembershipDTO.fromEntity(targetMember),
         UserMembershipDTO.fromEntity(requestMember));
@@ -266,38 +244,57 @@ public class TeamService {
 
   @Transactional
   public UserMembershipDTO deleteMemberFromTeam(UUID teamId, UUID requesterId, UUID targetId) {
-
-
-    MemberOfId requesterMemberOfId = new MemberOfId(requesterId, teamId);
-    memberOfRepository
-        .findById(requesterMemberOfId)
+    RoleType requesterRoleType = membershipCache
+        .roleOf(requesterId, teamId)
         .orElseThrow(() -> new EntityNotFoundException("requester user does not exist"));
+    RoleType targetRoleType = membershipCache
+        .roleOf(targetId, teamId)
+        .orElseThrow(() -> new EntityNotFoundException("target user does not exist"));
 
-    RoleType requesterRoleType = memberOfRepository.findRole_RoleTypeById(requesterMemberOfId);
+    // Case admin tries to delete other admin or owner
+    validateRequesterPermissions(teamId, requesterId, requesterRoleType, targetRoleType);
 
-    MemberOfId targetMemberOfId = new MemberOfId(targetId, teamId);
     MemberOf targetMember = memberOfRepository
-        .findById(targetMemberOfId)
+        .findById(new MemberOfId(targetId, teamId))
         .orElseThrow(() -> new EntityNotFoundException("target user does not exist"));
+    UserMembershipDTO deletedMemberDTO = UserMembershipDTO.fromEntity(targetMember);
+    memberOfRepository.delete(targetMember);
 
-    RoleType targetRoleType = memberOfRepository.findRole_RoleTypeById(targetMemberOfId);
+    // Case owner leaves: hand the team over, or delete it if nobody is left
+    if (requesterId.equals(targetId) && requesterRoleType == RoleType.OWNER) {
+      promoteNewOwnerIfPossible(teamId);
+    }
+    return deletedMemberDTO;
+  }
 
-    UserMembershipDTO deletedMemberDTO;
+  // helper functions
+  private void checkRoleChangePermitted(
+      UUID requesterId,
+      UUID targetId,
+      RoleType requesterRoleType,
+      RoleType targetCurrentRoleType,
+      RoleType targetNewRoleType) {
+    // Case Admin does illegal promotion.
+    if (requesterRoleType == RoleType.ADMIN
+        && (targetCurrentRoleType == RoleType.OWNER
+            || targetCurrentRoleType == RoleType.ADMIN
+            || targetNewRoleType == RoleType.OWNER
+            || targetNewRoleType == RoleType.ADMIN)) {
 
-    // Case admin tries to delete other admin or owner
-    validateRequesterPermissions(teamId, requesterId, requesterRoleType, targetRoleType);
+      throw new IllegalArgumentException(
+          String.format(
+              "user %s doesn't have permissions to change user %s from %s to %s",
+              requesterId,
+              targetId,
+              targetCurrentRoleType.toString(),
+              targetNewRoleType.toString()));
 
-    // Case self deletion
-    if (requesterId.equals(targetId)) {
-      handleOwnerSelfDeletion(teamId, targetMember);
+    // Case non owner or admin tries to change role.
+    } else if (requesterRoleType != RoleType.OWNER && requesterRoleType != RoleType.ADMIN) {
+      throw new IllegalArgumentException("requestee doesn't have permissions to change roles.");
     }
-
-    deletedMemberDTO = UserMembershipDTO.fromEntity(targetMember);
-    memberOfRepository.delete(targetMember);
-    return deletedMemberDTO;
   }
 
-  // helper functions
   private void validateRequesterPermissions(
       UUID teamId, UUID requesterId, RoleType requesterRoleType, RoleType targetRoleType) {
     if (requesterRoleType != RoleType.OWNER && requesterRoleType != RoleType.ADMIN) {
@@ -313,31 +310,33 @@ public class TeamService {
     }
   }
 
-  private void handleOwnerSelfDeletion(UUID teamId, MemberOf targetMember) {
-    memberOfRepository.delete(targetMember);
-    if (!memberOfRepository.existsByTeamId(teamId)) {
-      teamRepository.deleteById(teamId);
-    } else {
-      promoteNewOwnerIfPossible(teamId);
-    }
-  }
-
+  // Promotes the first admin, else the first member, else the first guest. The new owner
+  // gets the shared OWNER role row; the role rows themselves are never changed.
   private void promoteNewOwnerIfPossible(UUID teamId) {
-    List<MemberOf> admins = memberOfRepository.findAllByTeam_IdAndRole_RoleType(teamId, RoleType.ADMIN);
-    if (!admins.isEmpty()) {
-      MemberOf newOwner = admins.get(0);
-      newOwner.getRole().setRoleType(RoleType.OWNER);
-      memberOfRepository.save(newOwner);
-    } else {
-      // promote a member if no admins are available
-      List<MemberOf> members = memberOfRepository.findAllByTeam_IdAndRole_RoleType(teamId, RoleType.MEMBER);
-      if (!members.isEmpty()) {
-        MemberOf newOwner = members.get(0);
-        newOwner.getRole().setRoleType(RoleType.OWNER);
+    for (RoleType candidateRole : List.of(RoleType.ADMIN, RoleType.MEMBER, RoleType.GUEST)) {
+      List<MemberOf> candidates =
+          memberOfRepository.findAllByTeam_IdAndRole_RoleType(teamId, candidateRole);
+      if (!candidates.isEmpty()) {
+        MemberOf newOwner = candidates.get(0);
+        newOwner.setRole(roleCache.get(RoleType.OWNER));
         memberOfRepository.save(newOwner);
-      } else {
-        teamRepository.deleteById(teamId);
+        return;
       }
     }
+    teamRepository.deleteById(teamId);
+  }
+
+  private static int pageSize(Integer limit) {
+    return limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+  }
+
+  // The query fetches one row more than the page size to tell whether a next page exists
+  private static MembershipPageDTO page(
+      List<UserMembershipDTO> rows, int pageSize, Function<UserMembershipDTO, UUID> key) {
+    if (rows.size() <= pageSize) {
+      return new MembershipPageDTO(rows, null);
+    }
+    List<UserMembershipDTO> page = rows.subList(0, pageSize);
+    return new MembershipPageDTO(page, key.apply(page.get(pageSize - 1)));
   }
 }
@@ -0,0 +1,68 @@
+package com.reddert.notificationsystem.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of one load scenario. Latencies are measured from the moment a request was
+ * scheduled to be sent, not from when it actually went out, so a server that falls behind
+ * shows up as growing latency instead of as a quietly reduced arrival rate.
+ *
+ * @param statusCounts responses per HTTP status; 0 counts requests that failed without a response
+ */
+public record LoadReport(
+        String scenario,
+        double offeredRate,
+        double durationSeconds,
+        int sent,
+        int succeeded,
+        int failed,
+        Map<Integer, Integer> statusCounts,
+        double throughput,
+        double p50Millis,
+        double p90Millis,
+        double p99Millis,
+        double p999Millis,
+        double maxMillis
+) {
+
+    static LoadReport of(String scenario, double offeredRate, long elapsedNanos, long[] latencyNanos,
+                         int[] statuses) {
+        int sent = latencyNanos.length;
+        long[] sorted = latencyNanos.clone();
+        Arrays.sort(sorted);
+        Map<Integer, Integer> statusCounts = new TreeMap<>();
+        int succeeded = 0;
+        for (int status : statuses) {
+            statusCounts.merge(status, 1, Integer::sum);
+            if (status >= 200 && status < 300) {
+                succeeded++;
+            }
+        }
+        double seconds = elapsedNanos / 1e9;
+        return new LoadReport(scenario, offeredRate, seconds, sent, succeeded, sent - succeeded, statusCounts,
+                succeeded / seconds, percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), sent == 0 ? 0 : sorted[sent - 1] / 1e6);
+    }
+
+    public double errorRate() {
+        return sent == 0 ? 0 : (double) failed / sent;
+    }
+
+    public String format() {
+        return String.format("%-28s offered %7.1f/s  sent %6d  ok %6d  failed %5d  throughput %7.1f/s  "
+                        + "p50 %7.2f ms  p90 %7.2f ms  p99 %7.2f ms  p99.9 %7.2f ms  max %7.2f ms  %s",
+                scenario, offeredRate, sent, succeeded, failed, throughput,
+                p50Millis, p90Millis, p99Millis, p999Millis, maxMillis, statusCounts);
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.min(Math.max(rank, 1), sorted.length) - 1] / 1e6;
+    }
+}
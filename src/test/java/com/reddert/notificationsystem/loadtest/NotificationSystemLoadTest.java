@@ -0,0 +1,250 @@
+package com.reddert.notificationsystem.loadtest;
+
+import com.reddert.notificationsystem.support.FakeSmtpServer;
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.RoleRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test over HTTP. The application runs on a random port with email going
+ * to an in-process {@link FakeSmtpServer}, and every scenario drives it with open-model
+ * arrivals and prints throughput and latency percentiles.
+ * <p>
+ * Tagged {@code load} and left out of the regular build; run it with
+ * {@code mvnw -P load-test test}. Tunable through system properties:
+ * <ul>
+ *     <li>{@code load.rate}: requests per second per scenario (default 200)</li>
+ *     <li>{@code load.duration}: length of each scenario, ISO-8601 (default PT10S)</li>
+ *     <li>{@code load.users}: users created up front and spread across (default 200)</li>
+ *     <li>{@code load.smtp.latency}: time the fake SMTP server takes per message, ISO-8601 (default PT0.05S)</li>
+ *     <li>{@code load.smtp.failure-rate}: share of messages it rejects (default 0.01)</li>
+ * </ul>
+ * Rate limiting is switched off, since the scenarios send far more per user than the
+ * production limits allow.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest",
+        "spring.mail.host=localhost",
+        "spring.mail.username=load",
+        "spring.mail.password=load",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "notification.rate-limit.enabled=false",
+        "logging.level.com.reddert.notificationsystem=WARN"
+})
+class NotificationSystemLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "200"));
+    private static final Duration DURATION = Duration.parse(System.getProperty("load.duration", "PT10S"));
+    private static final int USERS = Integer.getInteger("load.users", 200);
+    private static final Duration SMTP_LATENCY = Duration.parse(System.getProperty("load.smtp.latency", "PT0.05S"));
+    private static final double SMTP_FAILURE_RATE = Double.parseDouble(System.getProperty("load.smtp.failure-rate", "0.01"));
+    private static final double MAX_ERROR_RATE = 0.01;
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f-]{36})\"");
+
+    private static final FakeSmtpServer smtpServer;
+
+    static {
+        try {
+            smtpServer = new FakeSmtpServer()
+                    .withMessageLatency(SMTP_LATENCY)
+                    .withFailureRate(SMTP_FAILURE_RATE);
+        } catch (IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtpServer::getPort);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private final HttpClient setupClient = HttpClient.newHttpClient();
+    private final List<UUID> userIds = new ArrayList<>();
+    private final List<UUID> teamIds = new ArrayList<>();
+    private final List<LoadReport> reports = new ArrayList<>();
+    private OpenModelLoadGenerator generator;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        for (RoleType roleType : RoleType.values()) {
+            if (roleRepository.findByRoleType(roleType).isEmpty()) {
+                roleRepository.save(new Role(roleType));
+            }
+        }
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(idOf(post("/users", userJson("seed", i))));
+        }
+        for (int i = 0; i < 10; i++) {
+            UUID teamId = idOf(post("/api/teams", teamJson("Seed team " + i, userIds.get(i))));
+            teamIds.add(teamId);
+            // Every team gets a tenth of the users, so broadcasts fan out to a realistic audience
+            for (int u = 10 + i; u < USERS; u += 10) {
+                post("/api/teams/" + teamId + "/members", memberJson(userIds.get(u), teamId));
+            }
+        }
+        generator = new OpenModelLoadGenerator(Duration.ofSeconds(10));
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        generator.close();
+        smtpServer.close();
+        System.out.println("Load test results (" + RATE + " req/s for " + DURATION + ", SMTP "
+                + SMTP_LATENCY.toMillis() + " ms per message, " + SMTP_FAILURE_RATE * 100 + "% rejected):");
+        reports.forEach(report -> System.out.println("  " + report.format()));
+    }
+
+    @Test
+    @Order(1)
+    void createUsers() throws InterruptedException {
+        track(generator.run("POST /users", RATE, DURATION,
+                i -> postRequest("/users", userJson("load", i))));
+    }
+
+    @Test
+    @Order(2)
+    void createNotifications() throws InterruptedException {
+        smtpServer.reset();
+        LoadReport report = track(generator.run("POST notifications", RATE, DURATION,
+                i -> postRequest("/users/" + randomUser() + "/notifications",
+                        "{\"message\":\"Load test notification " + i + "\"}")));
+
+        // Delivery is asynchronous; wait for the dispatcher to hand every email to the server
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (smtpServer.getAcceptedCount() + smtpServer.getRejectedCount() < report.succeeded()
+                && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        System.out.println("  Emails accepted by SMTP: " + smtpServer.getAcceptedCount()
+                + ", rejected: " + smtpServer.getRejectedCount() + " of " + report.succeeded());
+    }
+
+    @Test
+    @Order(3)
+    void readNotifications() throws InterruptedException {
+        track(generator.run("GET inbox", RATE, DURATION,
+                i -> getRequest("/users/" + randomUser() + "/notifications/inbox?limit=20")));
+        track(generator.run("GET unread-count", RATE, DURATION,
+                i -> getRequest("/users/" + randomUser() + "/notifications/unread-count")));
+        track(generator.run("GET /users/{id}", RATE, DURATION,
+                i -> getRequest("/users/" + randomUser())));
+    }
+
+    @Test
+    @Order(4)
+    void teams() throws InterruptedException {
+        track(generator.run("POST /api/teams", RATE, DURATION,
+                i -> postRequest("/api/teams", teamJson("Load team " + i, randomUser()))));
+        track(generator.run("GET team members", RATE, DURATION,
+                i -> getRequest("/api/teams/" + randomTeam() + "/members")));
+        // Each broadcast writes one notification per member, so it runs at a tenth of the rate
+        track(generator.run("POST team broadcast", RATE / 10, DURATION,
+                i -> postRequest("/api/teams/" + randomTeam() + "/notifications",
+                        "{\"message\":\"Team announcement " + i + "\"}")));
+    }
+
+    private LoadReport track(LoadReport report) {
+        reports.add(report);
+        System.out.println("  " + report.format());
+        assertTrue(report.errorRate() <= MAX_ERROR_RATE,
+                () -> report.scenario() + " failed " + report.failed() + " of " + report.sent() + " requests: "
+                        + report.statusCounts());
+        return report;
+    }
+
+    private UUID randomUser() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private UUID randomTeam() {
+        return teamIds.get(ThreadLocalRandom.current().nextInt(teamIds.size()));
+    }
+
+    private HttpRequest getRequest(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest postRequest(String path, String json) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private String post(String path, String json) throws IOException, InterruptedException {
+        HttpResponse<String> response = setupClient.send(postRequest(path, json), HttpResponse.BodyHandlers.ofString());
+        assertTrue(response.statusCode() < 300, () -> "Setup request " + path + " failed: " + response.body());
+        return response.body();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static UUID idOf(String json) {
+        Matcher matcher = ID.matcher(json);
+        assertTrue(matcher.find(), () -> "No id in " + json);
+        return UUID.fromString(matcher.group(1));
+    }
+
+    // Names may only contain letters and spaces
+    private static String userJson(String prefix, int index) {
+        return "{\"name\":\"Load User " + letters(index) + "\",\"email\":\"" + prefix + index + "@example.com\"}";
+    }
+
+    private static String teamJson(String name, UUID ownerId) {
+        return "{\"name\":\"" + name + "\",\"description\":\"Load test\",\"ownerId\":\"" + ownerId + "\"}";
+    }
+
+    private static String memberJson(UUID userId, UUID teamId) {
+        return "{\"userId\":\"" + userId + "\",\"teamId\":\"" + teamId + "\"}";
+    }
+
+    private static String letters(int index) {
+        StringBuilder name = new StringBuilder();
+        do {
+            name.append((char) ('a' + index % 26));
+            index /= 26;
+        } while (index > 0);
+        return name.toString();
+    }
+}
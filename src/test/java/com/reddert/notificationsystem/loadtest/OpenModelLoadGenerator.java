@@ -0,0 +1,102 @@
+package com.reddert.notificationsystem.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at a fixed average rate,
+ * whether or not earlier requests have completed, the way independent clients behave. A
+ * closed loop of N clients would slow down along with the server and hide its queueing.
+ */
+public class OpenModelLoadGenerator implements AutoCloseable {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    // Platform threads: the server runs in the same JVM, and a channel that pins virtual
+    // thread carriers (blocking SMTP I/O) must not stall the load generator with it
+    private final ExecutorService executor = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "load-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(executor)
+            // Tomcat does not speak h2c; skip the upgrade attempt on every new connection
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Duration requestTimeout;
+
+    public OpenModelLoadGenerator(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Sends requests for the given duration at the given average rate and waits for the
+     * stragglers.
+     *
+     * @param requests builds the n-th request
+     */
+    public LoadReport run(String scenario, double ratePerSecond, Duration duration, IntFunction<HttpRequest> requests)
+            throws InterruptedException {
+        int total = (int) Math.round(ratePerSecond * duration.toNanos() / 1e9);
+        long[] latencies = new long[total];
+        long[] scheduled = new long[total];
+        int[] statuses = new int[total];
+        CompletableFuture<?>[] inFlight = new CompletableFuture<?>[total];
+        double meanGapNanos = 1e9 / ratePerSecond;
+
+        long start = System.nanoTime();
+        long intended = start;
+        for (int i = 0; i < total; i++) {
+            // Exponential gaps give Poisson arrivals
+            intended += (long) (-Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            long scheduledAt = intended;
+            scheduled[i] = scheduledAt;
+            HttpRequest request = HttpRequest.newBuilder(requests.apply(i), (name, value) -> true)
+                    .timeout(requestTimeout)
+                    .build();
+            inFlight[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = System.nanoTime() - scheduledAt;
+                        statuses[index] = error == null ? response.statusCode() : 0;
+                        return null;
+                    });
+        }
+        try {
+            CompletableFuture.allOf(inFlight).get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Requests still open count as failed, with the time they have waited so far
+            long now = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                if (inFlight[i].cancel(true)) {
+                    latencies[i] = now - scheduled[i];
+                    statuses[i] = 0;
+                }
+            }
+        }
+        return LoadReport.of(scenario, ratePerSecond, System.nanoTime() - start, latencies, statuses);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,70 @@
+package com.reddert.notificationsystem.notification.controllers;
+
+import com.reddert.notificationsystem.notification.DeadLetterController;
+import com.reddert.notificationsystem.notification.dtos.DeadLetterDTO;
+import com.reddert.notificationsystem.notification.dtos.ReplayResultDTO;
+import com.reddert.notificationsystem.notification.services.DeadLetterService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(DeadLetterController.class)
+class DeadLetterControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DeadLetterService deadLetterService;
+
+    @Test
+    void getDeadLetters_shouldReturnPage() throws Exception {
+        DeadLetterDTO deadLetter = new DeadLetterDTO(UUID.randomUUID(), UUID.randomUUID(), "email", 5,
+                "SMTP down", LocalDateTime.now());
+        when(deadLetterService.getDeadLetters(0, 50)).thenReturn(List.of(deadLetter));
+
+        mockMvc.perform(get("/notifications/dead-letters"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].channel").value("email"))
+                .andExpect(jsonPath("$[0].lastError").value("SMTP down"));
+    }
+
+    @Test
+    void replay_shouldReturnAccepted() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(deadLetterService.replay(id)).thenReturn(new ReplayResultDTO(1));
+
+        mockMvc.perform(post("/notifications/dead-letters/{id}/replay", id))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.replayed").value(1));
+    }
+
+    @Test
+    void replay_withUnknownId_shouldReturnNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(deadLetterService.replay(id)).thenThrow(new EntityNotFoundException("Dead letter not found"));
+
+        mockMvc.perform(post("/notifications/dead-letters/{id}/replay", id))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void replayAll_shouldPassChannelFilter() throws Exception {
+        when(deadLetterService.replayAll("email")).thenReturn(new ReplayResultDTO(12));
+
+        mockMvc.perform(post("/notifications/dead-letters/replay").param("channel", "email"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.replayed").value(12));
+    }
+}
@@ -2,7 +2,14 @@ package com.reddert.notificationsystem.notification.controllers;
 
 import com.reddert.notificationsystem.notification.NotificationController;
 import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.MarkReadResultDTO;
 import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationPageDTO;
+import com.reddert.notificationsystem.notification.exceptions.InvalidCursorException;
+import com.reddert.notificationsystem.notification.exceptions.InvalidIdempotencyKeyException;
+import com.reddert.notificationsystem.notification.exceptions.RateLimitExceededException;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.services.IdempotencyService;
 import com.reddert.notificationsystem.notification.services.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,11 +19,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -30,6 +42,9 @@ class NotificationControllerTest {
     @MockBean
     private NotificationService notificationService;
 
+    @MockBean
+    private IdempotencyService idempotencyService;
+
     private UUID userId;
 
     @BeforeEach
@@ -69,6 +84,43 @@ class NotificationControllerTest {
                 .andExpect(jsonPath("$[0].message").value("Test notification"));
     }
 
+    @Test
+    void getInbox_shouldReturnPageWithNextCursor() throws Exception {
+        when(notificationService.getInbox(userId, null, 1))
+                .thenReturn(new NotificationPageDTO(
+                        List.of(new NotificationDTO(UUID.randomUUID(), "Test notification", false)), "next"));
+
+        mockMvc.perform(get("/users/{userId}/notifications/inbox", userId)
+                        .param("limit", "1")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].message").value("Test notification"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void getInbox_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        when(notificationService.getInbox(eq(userId), eq("garbage"), any()))
+                .thenThrow(new InvalidCursorException("garbage"));
+
+        mockMvc.perform(get("/users/{userId}/notifications/inbox", userId)
+                        .param("cursor", "garbage")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getUnreadCount_shouldReturnCount() throws Exception {
+        when(notificationService.getUnreadCount(userId)).thenReturn(7L);
+
+        mockMvc.perform(get("/users/{userId}/notifications/unread-count", userId)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(userId.toString()))
+                .andExpect(jsonPath("$.unread").value(7));
+    }
+
     @Test
     void getNotificationById_shouldReturnNotification() throws Exception {
         UUID notificationId = UUID.randomUUID();
@@ -99,8 +151,39 @@ class NotificationControllerTest {
                 .andExpect(jsonPath("$.message").value("Test notification"));
     }
 
+    @Test
+    void markAsRead_withIds_shouldReturnUpdatedCount() throws Exception {
+        UUID notificationId = UUID.randomUUID();
+        when(notificationService.markAsRead(userId, List.of(notificationId))).thenReturn(new MarkReadResultDTO(1));
+
+        mockMvc.perform(put("/users/{userId}/notifications/read", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"" + notificationId + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1));
+    }
+
+    @Test
+    void markAllAsRead_shouldPassUpperBound() throws Exception {
+        when(notificationService.markAllAsRead(userId, LocalDateTime.of(2024, 5, 1, 12, 0)))
+                .thenReturn(new MarkReadResultDTO(4));
+
+        mockMvc.perform(put("/users/{userId}/notifications/read-all", userId)
+                        .param("upTo", "2024-05-01T12:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(4));
+    }
+
     // --- Validation Tests ---
 
+    @Test
+    void markAsRead_withNoIds_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(put("/users/{userId}/notifications/read", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void createNotification_withBlankMessage_shouldReturnBadRequest() throws Exception {
         String requestBody = "{\"message\":\"\"}";
@@ -121,4 +204,55 @@ class NotificationControllerTest {
                         .content(requestBody))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void createNotification_overRateLimit_shouldReturnTooManyRequestsWithRetryAfter() throws Exception {
+        when(notificationService.createNotification(eq(userId), any(CreateNotificationDTO.class)))
+                .thenThrow(new RateLimitExceededException("email", Duration.ofMillis(2500)));
+
+        mockMvc.perform(post("/users/{userId}/notifications", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Test notification\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+    }
+
+    @Test
+    void createNotification_withIdempotencyKey_shouldGoThroughIdempotencyService() throws Exception {
+        NotificationDTO original = new NotificationDTO(UUID.randomUUID(), "Test notification", false);
+        when(idempotencyService.createNotification(eq(userId), eq("order-1"), any(CreateNotificationDTO.class)))
+                .thenReturn(original);
+
+        mockMvc.perform(post("/users/{userId}/notifications", userId)
+                        .header("Idempotency-Key", "order-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Test notification\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(original.id().toString()));
+
+        verify(notificationService, never()).createNotification(any(), any());
+    }
+
+    @Test
+    void createNotification_withInvalidIdempotencyKey_shouldReturnBadRequest() throws Exception {
+        when(idempotencyService.createNotification(eq(userId), any(), any(CreateNotificationDTO.class)))
+                .thenThrow(new InvalidIdempotencyKeyException("Idempotency-Key must be 1 to 255 characters"));
+
+        mockMvc.perform(post("/users/{userId}/notifications", userId)
+                        .header("Idempotency-Key", " ")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Test notification\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createNotification_withPriority_shouldPassItToService() throws Exception {
+        mockMvc.perform(post("/users/{userId}/notifications", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Password changed\",\"priority\":\"HIGH\"}"))
+                .andExpect(status().isOk());
+
+        verify(notificationService).createNotification(eq(userId),
+                argThat(dto -> dto.priority() == NotificationPriority.HIGH));
+    }
 }
@@ -0,0 +1,57 @@
+package com.reddert.notificationsystem.notification.controllers;
+
+import com.reddert.notificationsystem.notification.NotificationStreamController;
+import com.reddert.notificationsystem.notification.services.SseSubscriberRegistry;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(NotificationStreamController.class)
+class NotificationStreamControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SseSubscriberRegistry subscriberRegistry;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @Test
+    void stream_shouldOpenEventStreamForExistingUser() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(subscriberRegistry.subscribe(userId)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/users/{userId}/notifications/stream", userId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void stream_withNonexistentUser_shouldReturnNotFound() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        mockMvc.perform(get("/users/{userId}/notifications/stream", userId)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotFound());
+        verify(subscriberRegistry, never()).subscribe(any());
+    }
+}
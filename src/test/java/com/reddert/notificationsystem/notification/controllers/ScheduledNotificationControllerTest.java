@@ -0,0 +1,74 @@
+package com.reddert.notificationsystem.notification.controllers;
+
+import com.reddert.notificationsystem.notification.ScheduledNotificationController;
+import com.reddert.notificationsystem.notification.dtos.ScheduleNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.ScheduledNotificationDTO;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.services.ScheduledNotificationService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ScheduledNotificationController.class)
+class ScheduledNotificationControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ScheduledNotificationService scheduledNotificationService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void schedule_shouldReturnAccepted() throws Exception {
+        LocalDateTime sendAt = LocalDateTime.now().plusDays(1).withNano(0);
+        when(scheduledNotificationService.schedule(eq(userId), any(ScheduleNotificationDTO.class)))
+                .thenReturn(new ScheduledNotificationDTO(UUID.randomUUID(), userId, "Reminder",
+                        NotificationPriority.NORMAL, sendAt));
+
+        mockMvc.perform(post("/users/{userId}/notifications/scheduled", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Reminder\",\"sendAt\":\"" + sendAt + "\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message").value("Reminder"));
+    }
+
+    @Test
+    void schedule_inThePast_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/users/{userId}/notifications/scheduled", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"message\":\"Reminder\",\"sendAt\":\"2020-01-01T09:00:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cancel_shouldReturnNoContent() throws Exception {
+        mockMvc.perform(delete("/users/{userId}/notifications/scheduled/{id}", userId, UUID.randomUUID()))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void cancel_afterDelivery_shouldReturnNotFound() throws Exception {
+        UUID id = UUID.randomUUID();
+        doThrow(new EntityNotFoundException("Scheduled notification not found"))
+                .when(scheduledNotificationService).cancel(userId, id);
+
+        mockMvc.perform(delete("/users/{userId}/notifications/scheduled/{id}", userId, id))
+                .andExpect(status().isNotFound());
+    }
+}
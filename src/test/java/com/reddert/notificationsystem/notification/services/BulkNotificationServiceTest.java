@@ -0,0 +1,109 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.BulkCreateResultDTO;
+import com.reddert.notificationsystem.notification.dtos.BulkItemResultDTO;
+import com.reddert.notificationsystem.notification.dtos.BulkNotificationItemDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkNotificationServiceTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private BulkNotificationService bulkNotificationService;
+    private User messi;
+    private User zlatan;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        bulkNotificationService = new BulkNotificationService(
+                notificationRepository, userRepository, outboxService, unreadCountService, entityManager, 2);
+
+        messi = new User("Lionel Messi", "lionel.messi@gmail.com");
+        messi.setId(UUID.randomUUID());
+        zlatan = new User("Zlatan Ibrahimovic", "Zlatan.Ibra@gmail.com");
+        zlatan.setId(UUID.randomUUID());
+
+        // Simulate the UUID generator assigning ids on persist
+        when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Notification> notifications = invocation.getArgument(0);
+            notifications.forEach(notification -> notification.setId(UUID.randomUUID()));
+            return notifications;
+        });
+    }
+
+    @Test
+    void createNotifications_shouldResolveUsersOnceAndReportPerItemResults() {
+        UUID unknownUserId = UUID.randomUUID();
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(messi, zlatan));
+
+        List<BulkNotificationItemDTO> items = List.of(
+                new BulkNotificationItemDTO(messi.getId(), "First"),
+                new BulkNotificationItemDTO(unknownUserId, "Nobody home"),
+                new BulkNotificationItemDTO(zlatan.getId(), ""),
+                new BulkNotificationItemDTO(zlatan.getId(), "Second"),
+                new BulkNotificationItemDTO(messi.getId(), "Third"));
+
+        BulkCreateResultDTO result = bulkNotificationService.createNotifications(items);
+
+        assertEquals(3, result.created());
+        assertEquals(2, result.rejected());
+        assertEquals(BulkItemResultDTO.Status.CREATED, result.results().get(0).status());
+        assertNotNull(result.results().get(0).notificationId());
+        assertEquals(BulkItemResultDTO.Status.USER_NOT_FOUND, result.results().get(1).status());
+        assertEquals(BulkItemResultDTO.Status.INVALID, result.results().get(2).status());
+        assertEquals(BulkItemResultDTO.Status.CREATED, result.results().get(3).status());
+        assertEquals(zlatan.getId(), result.results().get(3).userId());
+        assertEquals(BulkItemResultDTO.Status.CREATED, result.results().get(4).status());
+
+        verify(userRepository, times(1)).findAllById(anyCollection());
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void createNotifications_shouldWriteInChunksAndClearPersistenceContext() {
+        when(userRepository.findAllById(anyCollection())).thenReturn(List.of(messi));
+        List<BulkNotificationItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(new BulkNotificationItemDTO(messi.getId(), "Message " + i));
+        }
+
+        bulkNotificationService.createNotifications(items);
+
+        // Chunk size 2: two full chunks and a final chunk of one
+        verify(notificationRepository, times(3)).saveAll(anyList());
+        verify(outboxService, times(3)).enqueueAll(anyList());
+        verify(unreadCountService, times(3)).incrementAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+}
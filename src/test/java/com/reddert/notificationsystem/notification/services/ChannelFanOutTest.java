@@ -0,0 +1,121 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.FanOutProperties;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.user.model.User;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelFanOutTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChannelFanOut fanOut;
+    private Notification notification;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        fanOut = new ChannelFanOut(new FanOutProperties(Duration.ofSeconds(2), Map.of("slow", Duration.ofMillis(100))),
+                meterRegistry);
+        User user = new User("Lionel Messi", "lionel.messi@gmail.com");
+        user.setId(UUID.randomUUID());
+        notification = new Notification("Test notification", false, user);
+        notification.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void send_shouldRunChannelsConcurrently() {
+        List<NotificationChannel> channels = List.of(
+                sleepingChannel("first", 300), sleepingChannel("second", 300), sleepingChannel("third", 300));
+
+        long start = System.nanoTime();
+        FanOutResult result = fanOut.send(notification, channels);
+        Duration total = Duration.ofNanos(System.nanoTime() - start);
+
+        assertTrue(result.allSucceeded());
+        assertEquals(3, result.outcomes().size());
+        assertTrue(total.toMillis() < 800, "Expected close to max(channel) but took " + total);
+    }
+
+    @Test
+    void send_shouldReportFailedAndTimedOutChannels() {
+        NotificationChannel failing = namedChannel("failing", n -> {
+            throw new IllegalStateException("SMTP down");
+        });
+        List<NotificationChannel> channels = List.of(
+                sleepingChannel("fast", 0), failing, sleepingChannel("slow", 1000));
+
+        FanOutResult result = fanOut.send(notification, channels);
+
+        assertEquals(notification.getId(), result.notificationId());
+        assertEquals(ChannelOutcome.Status.SUCCEEDED, result.outcomes().get(0).status());
+        assertEquals(ChannelOutcome.Status.FAILED, result.outcomes().get(1).status());
+        assertEquals("SMTP down", result.outcomes().get(1).error());
+        assertEquals(ChannelOutcome.Status.TIMED_OUT, result.outcomes().get(2).status());
+        assertEquals(2, result.failures().size());
+    }
+
+    @Test
+    void send_shouldTimeEveryChannelByOutcome() {
+        NotificationChannel failing = namedChannel("failing", n -> {
+            throw new IllegalStateException("SMTP down");
+        });
+
+        fanOut.send(notification, List.of(sleepingChannel("fast", 0), failing, sleepingChannel("slow", 1000)));
+        fanOut.send(notification, List.of(sleepingChannel("fast", 0)));
+
+        assertEquals(2, sendTimer("fast", "succeeded").count());
+        assertEquals(1, sendTimer("failing", "failed").count());
+        Timer slow = sendTimer("slow", "timed_out");
+        assertEquals(1, slow.count());
+        assertEquals(100, slow.totalTime(TimeUnit.MILLISECONDS), 0.001);
+    }
+
+    private Timer sendTimer(String channel, String outcome) {
+        return meterRegistry.get("notification.channel.send")
+                .tag("channel", channel)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    private NotificationChannel sleepingChannel(String name, long millis) {
+        return namedChannel(name, n -> {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private NotificationChannel namedChannel(String name, Consumer<Notification> body) {
+        return new NotificationChannel() {
+            @Override
+            public void send(Notification notification) {
+                body.accept(notification);
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+}
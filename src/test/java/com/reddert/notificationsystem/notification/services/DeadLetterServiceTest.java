@@ -0,0 +1,82 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.ReplayResultDTO;
+import com.reddert.notificationsystem.notification.model.DeadLetter;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeadLetterServiceTest {
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DeadLetterService deadLetterService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        deadLetterService = new DeadLetterService(
+                deadLetterRepository, outboxService, new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void replay_shouldRequeueChannelAndRemoveDeadLetter() {
+        DeadLetter deadLetter = deadLetter("email");
+        when(deadLetterRepository.findById(deadLetter.getId())).thenReturn(Optional.of(deadLetter));
+
+        ReplayResultDTO result = deadLetterService.replay(deadLetter.getId());
+
+        assertEquals(1, result.replayed());
+        verify(outboxService, times(1)).enqueueForChannel(
+                deadLetter.getNotificationId(), "email", NotificationPriority.NORMAL);
+        verify(deadLetterRepository, times(1)).deleteAllInBatch(List.of(deadLetter));
+    }
+
+    @Test
+    void replay_withUnknownId_shouldThrowException() {
+        when(deadLetterRepository.findById(any())).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> deadLetterService.replay(UUID.randomUUID()));
+    }
+
+    @Test
+    void replayAll_shouldMoveChunksUntilChannelIsEmpty() {
+        when(deadLetterRepository.findByChannelOrderByFailedAt(eq("email"), any(Pageable.class)))
+                .thenReturn(List.of(deadLetter("email"), deadLetter("email")))
+                .thenReturn(List.of());
+
+        ReplayResultDTO result = deadLetterService.replayAll("email");
+
+        assertEquals(2, result.replayed());
+        verify(outboxService, times(2)).enqueueForChannel(any(), eq("email"), any());
+        verify(deadLetterRepository, never()).findAllByOrderByFailedAt(any());
+    }
+
+    private static DeadLetter deadLetter(String channel) {
+        DeadLetter deadLetter = new DeadLetter(UUID.randomUUID(), channel, 5, "SMTP down");
+        deadLetter.setId(UUID.randomUUID());
+        return deadLetter;
+    }
+}
@@ -0,0 +1,140 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.EmailProperties;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.support.FakeSmtpServer;
+import com.reddert.notificationsystem.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailBatcherThroughputTest {
+
+    private static final int EMAILS = 100;
+    private static final int CONCURRENT_SENDERS = 32;
+    private static final int PROVIDER_SESSION_LIMIT = 4;
+
+    private FakeSmtpServer smtpServer;
+    private JavaMailSenderImpl mailSender;
+    private EmailBatcher batcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Every new SMTP session pays 50ms, roughly a STARTTLS + AUTH handshake to a nearby relay,
+        // and like a real provider the server only serves a few sessions at a time
+        smtpServer = new FakeSmtpServer()
+                .withConnectLatency(Duration.ofMillis(50))
+                .withMaxSessions(PROVIDER_SESSION_LIMIT);
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpServer.getPort());
+        Properties mailProperties = new Properties();
+        // Avoid a local hostname lookup for every EHLO and Message-ID
+        mailProperties.setProperty("mail.smtp.localhost", "localhost");
+        mailProperties.setProperty("mail.from", "big.boss@gmail.com");
+        mailSender.setJavaMailProperties(mailProperties);
+        batcher = new EmailBatcher(mailSender, properties(true));
+        batcher.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        batcher.stop();
+        smtpServer.close();
+    }
+
+    @Test
+    void batchedMode_shouldShareSmtpSessionsInsteadOfOpeningOnePerEmail() throws Exception {
+        EmailBatcher disabled = new EmailBatcher(mailSender, properties(false));
+        sendAll(channel(disabled));
+        int singleConnections = smtpServer.getConnectionCount();
+        assertEquals(EMAILS, smtpServer.getAcceptedCount());
+
+        smtpServer.reset();
+        sendAll(channel(batcher));
+        int batchedConnections = smtpServer.getConnectionCount();
+
+        assertEquals(EMAILS, singleConnections);
+        assertEquals(EMAILS, smtpServer.getAcceptedCount());
+        assertTrue(batchedConnections <= EMAILS / 4,
+                "Expected batches to share sessions but opened " + batchedConnections);
+    }
+
+    @Test
+    void batchedMode_shouldReportFailuresPerMessageEvenForIdenticalEmails() throws Exception {
+        smtpServer.withFailureRate(0.3);
+        EmailNotificationChannel batchedChannel = channel(batcher);
+        AtomicInteger failed = new AtomicInteger();
+        // Every email is the same, so they can only be told apart by position in the batch
+        Notification notification = notification(0);
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < EMAILS; i++) {
+                senders.submit(() -> {
+                    try {
+                        batchedChannel.send(notification);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertTrue(smtpServer.getRejectedCount() > 0);
+        assertEquals(smtpServer.getRejectedCount(), failed.get());
+        assertEquals(EMAILS - failed.get(), smtpServer.getAcceptedCount());
+    }
+
+    @Test
+    void submit_afterStop_shouldFailInsteadOfWaitingForever() {
+        batcher.stop();
+
+        CompletableFuture<Void> result = batcher.submit(EmailNotificationChannel.message("late@example.com", "Late"));
+
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    private EmailNotificationChannel channel(EmailBatcher batcher) {
+        return new EmailNotificationChannel(
+                mailSender, batcher, new EmailDigester(mailSender, batcher, properties(batcher.isEnabled())));
+    }
+
+    private static EmailProperties properties(boolean batched) {
+        return new EmailProperties(
+                new EmailProperties.Batch(batched, Duration.ofMillis(20), 50, PROVIDER_SESSION_LIMIT, Duration.ofSeconds(10)),
+                new EmailProperties.Digest(false, Duration.ofMinutes(1), 50));
+    }
+
+    private void sendAll(EmailNotificationChannel channel) throws Exception {
+        try (ExecutorService senders = Executors.newFixedThreadPool(CONCURRENT_SENDERS)) {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < EMAILS; i++) {
+                Notification notification = notification(i);
+                results.add(senders.submit(() -> channel.send(notification)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+    }
+
+    private static Notification notification(int index) {
+        User user = new User("User " + index, "user" + index + "@example.com");
+        user.setId(UUID.randomUUID());
+        return new Notification("Message " + index, false, user);
+    }
+}
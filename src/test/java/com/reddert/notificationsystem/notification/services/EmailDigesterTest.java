@@ -0,0 +1,166 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.EmailProperties;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class EmailDigesterTest {
+
+    private final JavaMailSender mailSender = mock(JavaMailSender.class);
+    private EmailBatcher batcher;
+    private EmailDigester digester;
+
+    @AfterEach
+    void tearDown() {
+        digester.stop();
+    }
+
+    @Test
+    void burst_shouldBeSentAsOneDigestPerUserAfterWindow() throws Exception {
+        digester = digester(Duration.ofMillis(200), 100);
+        User first = user("first@example.com");
+        User second = user("second@example.com");
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                int index = i;
+                senders.submit(() -> digester.add(new Notification("Message " + index, false, first)));
+                senders.submit(() -> digester.add(new Notification("Message " + index, false, second)));
+            }
+        }
+        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, timeout(2000).times(2)).send(sent.capture());
+        SimpleMailMessage digest = sent.getAllValues().stream()
+                .filter(message -> message.getTo()[0].equals("first@example.com"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("50 New Notifications", digest.getSubject());
+        assertTrue(digest.getText().startsWith("You have 50 new notifications:"));
+        assertEquals(51, digest.getText().lines().filter(line -> !line.isEmpty()).count());
+        assertEquals(0, digester.pending());
+    }
+
+    @Test
+    void fullDigest_shouldBeSentBeforeWindowEnds() {
+        digester = digester(Duration.ofHours(1), 3);
+        User user = user("user@example.com");
+
+        for (int i = 0; i < 4; i++) {
+            digester.add(new Notification("Message " + i, false, user));
+        }
+
+        verify(mailSender, times(1)).send(argThat((SimpleMailMessage message) ->
+                message.getSubject().equals("3 New Notifications")));
+        assertEquals(1, digester.pending());
+    }
+
+    @Test
+    void singleNotification_shouldUseRegularMessage() {
+        digester = digester(Duration.ofHours(1), 50);
+        digester.add(new Notification("Only one", false, user("user@example.com")));
+
+        digester.stop();
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender).send(sent.capture());
+        assertEquals("New Notification", sent.getValue().getSubject());
+        assertEquals("You have a new notification: Only one", sent.getValue().getText());
+    }
+
+    @Test
+    void stop_shouldFlushPendingDigests() {
+        digester = digester(Duration.ofHours(1), 50);
+        User user = user("user@example.com");
+        digester.add(new Notification("First", false, user));
+        digester.add(new Notification("Second", false, user));
+
+        digester.stop();
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender).send(sent.capture());
+        assertEquals("You have 2 new notifications:\n\n- First\n- Second", sent.getValue().getText());
+        assertEquals(0, digester.pending());
+    }
+
+    @Test
+    void add_afterStop_shouldSendDirectly() {
+        digester = digester(Duration.ofHours(1), 50);
+        digester.stop();
+
+        digester.add(new Notification("Late", false, user("user@example.com")));
+
+        verify(mailSender, times(1)).send(argThat((SimpleMailMessage message) ->
+                message.getText().equals("You have a new notification: Late")));
+        assertEquals(0, digester.pending());
+    }
+
+    @Test
+    void add_racingWithStop_shouldSendEveryNotification() {
+        digester = digester(Duration.ofHours(1), 1000);
+        User user = user("user@example.com");
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                int index = i;
+                senders.submit(() -> digester.add(new Notification("Message " + index, false, user)));
+                if (i == 100) {
+                    senders.submit(digester::stop);
+                }
+            }
+        }
+
+        ArgumentCaptor<SimpleMailMessage> sent = ArgumentCaptor.forClass(SimpleMailMessage.class);
+        verify(mailSender, atLeastOnce()).send(sent.capture());
+        long delivered = sent.getAllValues().stream().mapToLong(EmailDigesterTest::notificationsIn).sum();
+        assertEquals(200, delivered);
+        assertEquals(0, digester.pending());
+    }
+
+    @Test
+    void emailChannel_inDigestMode_shouldNotSendImmediately() {
+        digester = digester(Duration.ofHours(1), 50);
+        EmailNotificationChannel channel = new EmailNotificationChannel(mailSender, batcher, digester);
+
+        channel.send(new Notification("Queued", false, user("user@example.com")));
+
+        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        assertEquals(1, digester.pending());
+    }
+
+    private EmailDigester digester(Duration window, int maxSize) {
+        EmailProperties properties = new EmailProperties(
+                new EmailProperties.Batch(false, Duration.ofMillis(100), 50, 1, Duration.ofSeconds(10)),
+                new EmailProperties.Digest(true, window, maxSize));
+        batcher = new EmailBatcher(mailSender, properties);
+        EmailDigester created = new EmailDigester(mailSender, batcher, properties);
+        created.start();
+        return created;
+    }
+
+    // A digest lists one notification per line; a single notification has no list
+    private static long notificationsIn(SimpleMailMessage message) {
+        return Math.max(message.getText().lines().filter(line -> line.startsWith("- ")).count(), 1);
+    }
+
+    private static User user(String email) {
+        User user = new User("User", email);
+        user.setId(UUID.randomUUID());
+        return user;
+    }
+}
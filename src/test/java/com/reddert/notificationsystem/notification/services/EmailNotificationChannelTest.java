@@ -1,5 +1,6 @@
 package com.reddert.notificationsystem.notification.services;
 
+import com.reddert.notificationsystem.notification.config.EmailProperties;
 import com.reddert.notificationsystem.notification.model.Notification;
 import com.reddert.notificationsystem.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +12,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.util.UUID;
 
 class EmailNotificationChannelTest {
@@ -21,7 +23,13 @@ class EmailNotificationChannelTest {
     @BeforeEach
     void setUp() {
         mailSender = mock(JavaMailSender.class);
-        emailChannel = new EmailNotificationChannel(mailSender);
+        // Batching and digests are off by default, so the channel sends every email directly
+        EmailProperties properties = new EmailProperties(
+                new EmailProperties.Batch(false, Duration.ofMillis(100), 50, 2, Duration.ofSeconds(10)),
+                new EmailProperties.Digest(false, Duration.ofMinutes(1), 50));
+        EmailBatcher batcher = new EmailBatcher(mailSender, properties);
+        emailChannel = new EmailNotificationChannel(
+                mailSender, batcher, new EmailDigester(mailSender, batcher, properties));
     }
 
     @Test
@@ -0,0 +1,120 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.IdempotencyProperties;
+import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.exceptions.InvalidIdempotencyKeyException;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotencyServiceTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private IdempotencyCache cache;
+    private IdempotencyService idempotencyService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final CreateNotificationDTO request = new CreateNotificationDTO("Your order has shipped");
+    private final NotificationDTO created = new NotificationDTO(UUID.randomUUID(), "Your order has shipped", false);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        cache = new IdempotencyCache(new IdempotencyProperties(Duration.ofMinutes(10), 2), nanoTime::get);
+        idempotencyService = new IdempotencyService(notificationService, notificationRepository, cache);
+    }
+
+    @Test
+    void retry_shouldReturnOriginalNotificationWithoutCreatingAnother() {
+        when(notificationRepository.findDTOByUserIdAndIdempotencyKey(userId, "order-1")).thenReturn(Optional.empty());
+        when(notificationService.createNotification(userId, request, "order-1")).thenReturn(created);
+
+        NotificationDTO first = idempotencyService.createNotification(userId, "order-1", request);
+        NotificationDTO retry = idempotencyService.createNotification(userId, "order-1", request);
+
+        assertEquals(created, first);
+        assertEquals(created, retry);
+        verify(notificationService, times(1)).createNotification(any(), any(), any());
+        verify(notificationRepository, times(1)).findDTOByUserIdAndIdempotencyKey(any(), any());
+    }
+
+    @Test
+    void retryAfterCacheExpired_shouldBeAnsweredFromTheDatabase() {
+        when(notificationRepository.findDTOByUserIdAndIdempotencyKey(userId, "order-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+        when(notificationService.createNotification(userId, request, "order-1")).thenReturn(created);
+        idempotencyService.createNotification(userId, "order-1", request);
+
+        nanoTime.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertEquals(created, idempotencyService.createNotification(userId, "order-1", request));
+        verify(notificationService, times(1)).createNotification(any(), any(), any());
+    }
+
+    @Test
+    void concurrentDuplicate_shouldReturnTheNotificationThatWon() {
+        when(notificationRepository.findDTOByUserIdAndIdempotencyKey(userId, "order-1"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(created));
+        when(notificationService.createNotification(userId, request, "order-1"))
+                .thenThrow(new DataIntegrityViolationException("uk_notification_user_idempotency_key"));
+
+        assertEquals(created, idempotencyService.createNotification(userId, "order-1", request));
+    }
+
+    @Test
+    void sameKeyOfAnotherUser_shouldCreateANewNotification() {
+        UUID otherUser = UUID.randomUUID();
+        when(notificationRepository.findDTOByUserIdAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        when(notificationService.createNotification(any(), any(), any())).thenReturn(created);
+
+        idempotencyService.createNotification(userId, "order-1", request);
+        idempotencyService.createNotification(otherUser, "order-1", request);
+
+        verify(notificationService).createNotification(userId, request, "order-1");
+        verify(notificationService).createNotification(otherUser, request, "order-1");
+    }
+
+    @Test
+    void cache_shouldEvictLeastRecentlyUsedKeyWhenFull() {
+        NotificationDTO other = new NotificationDTO(UUID.randomUUID(), "Other", false);
+        cache.put(userId, "a", created);
+        cache.put(userId, "b", other);
+        cache.get(userId, "a");
+
+        cache.put(userId, "c", other);
+
+        assertEquals(2, cache.size());
+        assertEquals(created, cache.get(userId, "a"));
+        assertNull(cache.get(userId, "b"));
+    }
+
+    @Test
+    void blankOrOversizedKey_shouldBeRejected() {
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyService.createNotification(userId, " ", request));
+        assertThrows(InvalidIdempotencyKeyException.class,
+                () -> idempotencyService.createNotification(userId, "k".repeat(256), request));
+        verifyNoInteractions(notificationService);
+    }
+}
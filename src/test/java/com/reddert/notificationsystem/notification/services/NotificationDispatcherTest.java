@@ -0,0 +1,202 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.DispatchProperties;
+import com.reddert.notificationsystem.notification.config.FanOutProperties;
+import com.reddert.notificationsystem.notification.config.RetryProperties;
+import com.reddert.notificationsystem.notification.dtos.DispatchLatencyDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.OutboxEntry;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.user.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationChannel firstChannel;
+
+    @Mock
+    private NotificationChannel secondChannel;
+
+    private ChannelFanOut fanOut;
+    private CircuitBreakerRegistry circuitBreakers;
+    private NotificationDispatcher dispatcher;
+    private DispatchLatencyTracker latencyTracker;
+    private Notification notification;
+    private OutboxEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(firstChannel.name()).thenReturn("first");
+        when(secondChannel.name()).thenReturn("second");
+        DispatchProperties properties = new DispatchProperties(
+                true, 2, 10, Duration.ofMillis(50), Duration.ofSeconds(30));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        fanOut = new ChannelFanOut(new FanOutProperties(Duration.ofSeconds(1), Map.of()), meterRegistry);
+        circuitBreakers = new CircuitBreakerRegistry(new RetryProperties(
+                5, Duration.ofSeconds(1), 2.0, Duration.ofMinutes(5),
+                new RetryProperties.CircuitBreaker(2, Duration.ofMinutes(1))));
+        latencyTracker = new DispatchLatencyTracker(properties, meterRegistry);
+        dispatcher = new NotificationDispatcher(outboxService, notificationRepository,
+                List.of(firstChannel, secondChannel), fanOut, circuitBreakers, latencyTracker, properties);
+
+        User user = new User("Lionel Messi", "lionel.messi@gmail.com");
+        user.setId(UUID.randomUUID());
+        notification = new Notification("Test notification", false, user);
+        notification.setId(UUID.randomUUID());
+        entry = new OutboxEntry(notification.getId());
+        entry.setId(UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void dispatch_shouldSendViaAllChannelsAndSettleWithoutFailures() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+
+        dispatcher.dispatch(entry);
+
+        verify(firstChannel, times(1)).send(notification);
+        verify(secondChannel, times(1)).send(notification);
+        verify(outboxService, times(1)).settle(entry, List.of());
+    }
+
+    @Test
+    void dispatch_shouldRecordLatencyForPriorityOfEntry() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        OutboxEntry urgent = new OutboxEntry(notification.getId(), null, NotificationPriority.HIGH);
+        urgent.setId(UUID.randomUUID());
+
+        dispatcher.dispatch(urgent);
+
+        DispatchLatencyDTO high = latencyTracker.snapshot().stream()
+                .filter(level -> level.priority() == NotificationPriority.HIGH)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, high.delivered());
+        assertEquals(1.0, high.withinTarget());
+    }
+
+    @Test
+    void dispatch_withFailingChannel_shouldStillSendViaOtherChannels() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        doThrow(new RuntimeException("SMTP down")).when(firstChannel).send(notification);
+
+        dispatcher.dispatch(entry);
+
+        verify(secondChannel, times(1)).send(notification);
+        verify(outboxService, times(1)).settle(eq(entry), argThat(failures ->
+                failures.size() == 1 && failures.get(0).channel().equals("first")
+                        && failures.get(0).status() == ChannelOutcome.Status.FAILED));
+    }
+
+    @Test
+    void dispatch_withOpenCircuitBreaker_shouldSkipChannelWithoutCallingIt() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        doThrow(new RuntimeException("SMTP down")).when(firstChannel).send(notification);
+
+        // Two consecutive failures open the breaker of the first channel
+        dispatcher.dispatch(entry);
+        dispatcher.dispatch(entry);
+        dispatcher.dispatch(entry);
+
+        verify(firstChannel, times(2)).send(notification);
+        verify(secondChannel, times(3)).send(notification);
+        verify(outboxService, times(1)).settle(eq(entry), argThat(failures ->
+                failures.size() == 1 && failures.get(0).status() == ChannelOutcome.Status.CIRCUIT_OPEN));
+    }
+
+    @Test
+    void dispatch_whenFanOutThrows_shouldStillRecordFailureOnBreakers() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        // A stopped fan-out rejects the send before any channel reports an outcome
+        fanOut.shutdown();
+
+        dispatcher.dispatch(entry);
+        dispatcher.dispatch(entry);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.forChannel("first").getState());
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.forChannel("second").getState());
+        verify(outboxService, never()).settle(any(), any());
+    }
+
+    @Test
+    void dispatch_withChannelEntry_shouldOnlySendViaThatChannel() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        OutboxEntry retry = new OutboxEntry(notification.getId(), "second");
+        retry.setId(UUID.randomUUID());
+
+        dispatcher.dispatch(retry);
+
+        verify(firstChannel, never()).send(any());
+        verify(secondChannel, times(1)).send(notification);
+        verify(outboxService, times(1)).settle(retry, List.of());
+    }
+
+    @Test
+    void dispatch_withDeletedNotification_shouldCompleteEntryWithoutSending() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.empty());
+
+        dispatcher.dispatch(entry);
+
+        verify(firstChannel, never()).send(any());
+        verify(outboxService, times(1)).complete(entry);
+    }
+
+    @Test
+    void dispatch_withExpiredLease_shouldSkipEntryWithoutSending() {
+        entry.setClaimToken(UUID.randomUUID());
+        entry.setLockedUntil(LocalDateTime.now().minusSeconds(1));
+
+        dispatcher.dispatch(entry);
+
+        verify(notificationRepository, never()).findById(any());
+        verify(firstChannel, never()).send(any());
+        verify(outboxService, never()).settle(any(), any());
+    }
+
+    @Test
+    void start_shouldDrainClaimedEntriesInBackground() {
+        when(notificationRepository.findById(notification.getId())).thenReturn(Optional.of(notification));
+        when(outboxService.claimBatch(eq(NotificationPriority.NORMAL), anyInt()))
+                .thenReturn(List.of(entry))
+                .thenReturn(List.of());
+
+        dispatcher.start();
+        try {
+            verify(firstChannel, timeout(2000).times(1)).send(notification);
+            verify(outboxService, timeout(2000).times(1)).settle(entry, List.of());
+        } finally {
+            dispatcher.stop();
+        }
+    }
+}
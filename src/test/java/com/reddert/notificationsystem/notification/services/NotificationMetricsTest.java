@@ -0,0 +1,107 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RetryProperties;
+import com.reddert.notificationsystem.notification.dtos.RetentionStatusDTO;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import com.reddert.notificationsystem.notification.repositories.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationMetricsTest {
+
+    @Mock
+    private NotificationDispatcher dispatcher;
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private NotificationScheduler scheduler;
+
+    @Mock
+    private EmailBatcher emailBatcher;
+
+    @Mock
+    private EmailDigester emailDigester;
+
+    @Mock
+    private SseSubscriberRegistry subscribers;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private NotificationPurger purger;
+
+    @Mock
+    private NotificationChannel emailChannel;
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(emailChannel.name()).thenReturn("email");
+        circuitBreakers = new CircuitBreakerRegistry(new RetryProperties(
+                5, Duration.ofSeconds(1), 2.0, Duration.ofMinutes(5),
+                new RetryProperties.CircuitBreaker(1, Duration.ofMinutes(1))));
+        meterRegistry = new SimpleMeterRegistry();
+        new NotificationMetrics(dispatcher, outboxRepository, deadLetterRepository, scheduler, emailBatcher,
+                emailDigester, subscribers, idempotencyCache, rateLimiter, purger, circuitBreakers,
+                List.of(emailChannel)).bindTo(meterRegistry);
+    }
+
+    @Test
+    void gauges_shouldReadQueueSizesWhenScraped() {
+        when(outboxRepository.count()).thenReturn(42L);
+        when(dispatcher.queued(NotificationPriority.HIGH)).thenReturn(3);
+        when(scheduler.pending()).thenReturn(7);
+
+        assertEquals(42, meterRegistry.get("notification.outbox.size").gauge().value());
+        assertEquals(3, meterRegistry.get("notification.dispatch.queue.size")
+                .tag("priority", "HIGH").gauge().value());
+        assertEquals(0, meterRegistry.get("notification.dispatch.queue.size")
+                .tag("priority", "LOW").gauge().value());
+        assertEquals(7, meterRegistry.get("notification.scheduler.pending").gauge().value());
+
+        when(outboxRepository.count()).thenReturn(40L);
+        assertEquals(40, meterRegistry.get("notification.outbox.size").gauge().value());
+    }
+
+    @Test
+    void retentionMeters_shouldFollowPurgerStatus() {
+        when(purger.status()).thenReturn(new RetentionStatusDTO(true, LocalDateTime.now(), 120, 10, 250, 3_000));
+
+        assertEquals(250, meterRegistry.get("notification.retention.purged").functionCounter().count());
+        assertEquals(3, meterRegistry.get("notification.retention.lag").timeGauge().value(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void circuitBreakerState_shouldMarkOnlyTheCurrentState() {
+        circuitBreakers.forChannel("email").onFailure();
+
+        assertEquals(1, meterRegistry.get("notification.circuit-breaker.state")
+                .tags("channel", "email", "state", "OPEN").gauge().value());
+        assertEquals(0, meterRegistry.get("notification.circuit-breaker.state")
+                .tags("channel", "email", "state", "CLOSED").gauge().value());
+    }
+}
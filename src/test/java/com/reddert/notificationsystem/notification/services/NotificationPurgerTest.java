@@ -0,0 +1,125 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RetentionProperties;
+import com.reddert.notificationsystem.notification.dtos.OverflowBoundaryDTO;
+import com.reddert.notificationsystem.notification.dtos.PurgeCandidateDTO;
+import com.reddert.notificationsystem.notification.dtos.RetentionStatusDTO;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationPurgerTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final LocalDateTime old = LocalDateTime.now().minusDays(100);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void purge_shouldDeleteExpiredNotificationsInBatchesAndContinueAfterTheLastOne() {
+        NotificationPurger purger = purger(RetentionProperties.Scope.ALL, 0);
+        PurgeCandidateDTO first = candidate(old, true);
+        PurgeCandidateDTO second = candidate(old.plusMinutes(1), false);
+        PurgeCandidateDTO third = candidate(old.plusMinutes(2), false);
+        when(notificationRepository.findExpiredAfter(any(), any(), any(), eq(true), any()))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        purger.purge();
+
+        verify(notificationRepository).findExpiredAfter(any(), eq(second.timestamp()), eq(second.id()), eq(true), any());
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(first.id(), second.id()));
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(third.id()));
+        verify(unreadCountService, times(2)).decrementAll(List.of(userId));
+        verify(transactionManager, times(2)).commit(any());
+
+        RetentionStatusDTO status = purger.status();
+        assertEquals(3, status.lastRunPurged());
+        assertEquals(3, status.totalPurged());
+        assertEquals(0, status.lagMillis());
+    }
+
+    @Test
+    void purge_readOnly_shouldOnlyAskForReadNotifications() {
+        NotificationPurger purger = purger(RetentionProperties.Scope.READ_ONLY, 0);
+        when(notificationRepository.findExpiredAfter(any(), any(), any(), anyBoolean(), any())).thenReturn(List.of());
+
+        purger.purge();
+
+        verify(notificationRepository).findExpiredAfter(any(), any(), any(), eq(false), any());
+        verify(notificationRepository, never()).deleteAllByIdInBatch(any());
+    }
+
+    @Test
+    void purge_withCapPerUser_shouldDeleteFromTheFirstRowPastTheCap() {
+        NotificationPurger purger = purger(RetentionProperties.Scope.ALL, 10);
+        when(notificationRepository.findExpiredAfter(any(), any(), any(), anyBoolean(), any())).thenReturn(List.of());
+        LocalDateTime boundary = LocalDateTime.now().minusDays(1);
+        UUID boundaryId = UUID.randomUUID();
+        when(notificationRepository.findOverflowBoundariesAfter(any(), eq(11L), any()))
+                .thenReturn(List.of(new OverflowBoundaryDTO(userId, boundary, boundaryId)))
+                .thenReturn(List.of());
+        PurgeCandidateDTO overflow = new PurgeCandidateDTO(boundaryId, userId, true, boundary, "order-1");
+        when(notificationRepository.findOverflowFrom(userId, boundary, boundaryId, true, Limit.of(2)))
+                .thenReturn(List.of(overflow));
+
+        purger.purge();
+
+        verify(notificationRepository).findOverflowBoundariesAfter(eq(userId), eq(11L), any());
+        verify(notificationRepository).deleteAllByIdInBatch(List.of(boundaryId));
+        verify(unreadCountService).decrementAll(List.of());
+        verify(idempotencyCache).evictOnCompletion(userId, "order-1");
+        assertEquals(1, purger.status().lastRunPurged());
+    }
+
+    @Test
+    void purge_whenDisabled_shouldNotTouchTheDatabase() {
+        NotificationPurger purger = new NotificationPurger(notificationRepository, unreadCountService, idempotencyCache,
+                new TransactionTemplate(transactionManager),
+                new RetentionProperties(false, Duration.ofDays(90), 0, RetentionProperties.Scope.ALL, 2, Duration.ZERO));
+
+        purger.purge();
+
+        verifyNoInteractions(notificationRepository);
+        assertNull(purger.status().lastRunStartedAt());
+    }
+
+    private NotificationPurger purger(RetentionProperties.Scope scope, int maxPerUser) {
+        return new NotificationPurger(notificationRepository, unreadCountService, idempotencyCache,
+                new TransactionTemplate(transactionManager),
+                new RetentionProperties(true, Duration.ofDays(90), maxPerUser, scope, 2, Duration.ZERO));
+    }
+
+    private PurgeCandidateDTO candidate(LocalDateTime timestamp, boolean read) {
+        return new PurgeCandidateDTO(UUID.randomUUID(), userId, read, timestamp, null);
+    }
+}
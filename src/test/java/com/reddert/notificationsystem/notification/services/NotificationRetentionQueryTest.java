@@ -0,0 +1,74 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.OverflowBoundaryDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the retention purger's per-user cap query against a real database. Other tests'
+ * users may also be over the cap, so only the users created here are checked. Shares its
+ * configuration with the team query tests so they all run in one context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:teammembershipquery",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "notification.dispatch.enabled=false",
+        "notification.scheduler.enabled=false",
+        "notification.retention.enabled=false"
+})
+class NotificationRetentionQueryTest {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void findOverflowBoundariesAfter_shouldReturnTheFirstRowPastTheCapOfEachUserOverIt() {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        User overCap = userRepository.save(new User("Over", "over-" + UUID.randomUUID() + "@example.com"));
+        User underCap = userRepository.save(new User("Under", "under-" + UUID.randomUUID() + "@example.com"));
+        List<Notification> inbox = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            inbox.add(notification(overCap, start.plusMinutes(i)));
+        }
+        notification(underCap, start);
+        notification(underCap, start.plusMinutes(1));
+
+        // A cap of three keeps the three newest, so the boundary is the fourth newest
+        List<OverflowBoundaryDTO> boundaries = notificationRepository.findOverflowBoundariesAfter(
+                FIRST_ID, 4, Limit.of(1000));
+
+        List<OverflowBoundaryDTO> ours = boundaries.stream()
+                .filter(boundary -> Set.of(overCap.getId(), underCap.getId()).contains(boundary.userId()))
+                .toList();
+        assertEquals(1, ours.size());
+        assertEquals(overCap.getId(), ours.get(0).userId());
+        assertEquals(inbox.get(1).getId(), ours.get(0).id());
+        assertEquals(boundaries.stream().map(OverflowBoundaryDTO::userId).sorted().toList(),
+                boundaries.stream().map(OverflowBoundaryDTO::userId).toList());
+    }
+
+    private Notification notification(User user, LocalDateTime timestamp) {
+        Notification notification = new Notification("Message", true, user);
+        notification.setTimestamp(timestamp);
+        return notificationRepository.save(notification);
+    }
+}
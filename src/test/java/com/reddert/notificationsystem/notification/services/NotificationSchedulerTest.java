@@ -0,0 +1,118 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.SchedulerProperties;
+import com.reddert.notificationsystem.notification.dtos.ScheduleSlotDTO;
+import com.reddert.notificationsystem.notification.repositories.ScheduledNotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationSchedulerTest {
+
+    @Mock
+    private ScheduledNotificationService scheduledNotificationService;
+
+    @Mock
+    private ScheduledNotificationRepository scheduledNotificationRepository;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private NotificationScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        scheduler = new NotificationScheduler(scheduledNotificationService, scheduledNotificationRepository,
+                new SchedulerProperties(true, Duration.ofMillis(100), 64, Duration.ofMinutes(10),
+                        Duration.ofMinutes(1), 2),
+                now::get);
+    }
+
+    @Test
+    void tick_shouldLoadHorizonInPagesAndDeliverWhenDue() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        ScheduleSlotDTO secondSlot = new ScheduleSlotDTO(second, at(2_000));
+        when(scheduledNotificationRepository.findSlotsBetween(any(), any(), any()))
+                .thenReturn(List.of(new ScheduleSlotDTO(first, at(-5_000)), secondSlot));
+        when(scheduledNotificationRepository.findSlotsBetweenAfter(any(), eq(secondSlot.sendAt()), eq(second), any()))
+                .thenReturn(List.of(new ScheduleSlotDTO(third, at(2_000))));
+        scheduler.initialize();
+
+        scheduler.tick();
+        verify(scheduledNotificationService).deliverDue(List.of(first));
+
+        now.addAndGet(2_000);
+        scheduler.tick();
+        verify(scheduledNotificationService).deliverDue(argThat(ids ->
+                ids.size() == 2 && ids.containsAll(List.of(second, third))));
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void onScheduled_withinHorizon_shouldFireWithoutWaitingForLoad() {
+        scheduler.initialize();
+        scheduler.tick();
+        UUID id = UUID.randomUUID();
+
+        scheduler.onScheduled(new ScheduledNotificationService.NotificationScheduledEvent(id, at(1_000)));
+        scheduler.onScheduled(new ScheduledNotificationService.NotificationScheduledEvent(
+                UUID.randomUUID(), at(Duration.ofHours(1).toMillis())));
+        assertEquals(1, scheduler.pending());
+
+        now.addAndGet(1_000);
+        scheduler.tick();
+
+        verify(scheduledNotificationService).deliverDue(List.of(id));
+    }
+
+    @Test
+    void onCancelled_shouldRemoveScheduleFromWheel() {
+        scheduler.initialize();
+        scheduler.tick();
+        UUID id = UUID.randomUUID();
+        scheduler.onScheduled(new ScheduledNotificationService.NotificationScheduledEvent(id, at(1_000)));
+
+        scheduler.onCancelled(new ScheduledNotificationService.ScheduleCancelledEvent(id));
+        now.addAndGet(1_000);
+        scheduler.tick();
+
+        verify(scheduledNotificationService, never()).deliverDue(any());
+    }
+
+    @Test
+    void failedDelivery_shouldBeReloadedAndRetriedOnNextTick() {
+        UUID id = UUID.randomUUID();
+        when(scheduledNotificationRepository.findSlotsBetween(any(), any(), any()))
+                .thenReturn(List.of(new ScheduleSlotDTO(id, at(0))));
+        when(scheduledNotificationService.deliverDue(List.of(id)))
+                .thenThrow(new RuntimeException("Database unavailable"))
+                .thenReturn(1);
+        scheduler.initialize();
+
+        scheduler.tick();
+        // One tick later, well before the regular load interval of a minute
+        now.addAndGet(100);
+        scheduler.tick();
+
+        verify(scheduledNotificationRepository, times(2)).findSlotsBetween(any(), any(), any());
+        verify(scheduledNotificationService, times(2)).deliverDue(List.of(id));
+    }
+
+    private LocalDateTime at(long offsetMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(now.get() + offsetMillis), ZoneId.systemDefault());
+    }
+}
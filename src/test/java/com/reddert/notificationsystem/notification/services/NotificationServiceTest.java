@@ -1,8 +1,16 @@
 package com.reddert.notificationsystem.notification.services;
 
 import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.DeleteCandidateDTO;
+import com.reddert.notificationsystem.notification.dtos.InboxRowDTO;
+import com.reddert.notificationsystem.notification.dtos.MarkReadResultDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationCursor;
 import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.NotificationPageDTO;
+import com.reddert.notificationsystem.notification.exceptions.InvalidCursorException;
+import com.reddert.notificationsystem.notification.exceptions.RateLimitExceededException;
 import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
 import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
 import com.reddert.notificationsystem.user.model.User;
 import com.reddert.notificationsystem.user.repository.UserRepository;
@@ -10,7 +18,12 @@ import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -25,12 +38,20 @@ class NotificationServiceTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private NotificationChannel notificationChannel;
+    private OutboxService outboxService;
 
     @Mock
     private UserRepository userRepository;
 
-    // We'll instantiate NotificationService manually to supply the list of channels.
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private RateLimiter rateLimiter;
+
+    @Mock
+    private IdempotencyCache idempotencyCache;
+
     private NotificationService notificationService;
 
     private User mockUser;
@@ -45,8 +66,10 @@ class NotificationServiceTest {
         mockUser = new User("Lionel Messi", "lionel.messi@gmail.com");
         mockUser.setId(userId);
 
-        // Provide the channels list explicitly using the mocked notificationChannel.
-        notificationService = new NotificationService(notificationRepository, List.of(notificationChannel), userRepository);
+        notificationService = new NotificationService(
+                notificationRepository, outboxService, userRepository, unreadCountService, rateLimiter,
+                idempotencyCache);
+        when(rateLimiter.admit(any())).thenReturn(new RateLimiter.Admission(List.of("email", "in-app"), List.of()));
     }
 
     @Test
@@ -68,16 +91,85 @@ class NotificationServiceTest {
         verify(userRepository, times(1)).findById(userId);
         verify(notificationRepository, times(1)).save(any(Notification.class));
 
-        // Verify that the channel's send() method was called
-        verify(notificationChannel, times(1)).send(notification);
+        // Verify that delivery was queued instead of sent on the request thread
+        verify(outboxService, times(1)).enqueue(notification);
+        verify(unreadCountService, times(1)).adjust(userId, 1);
     }
 
     @Test
-    void getAllNotifications_shouldReturnListOfNotificationDTOs() {
-        // Arrange
+    void createNotification_withPriority_shouldStoreItOnNotification() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+        when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        notificationService.createNotification(userId,
+                new CreateNotificationDTO("Someone signed in from a new device", NotificationPriority.HIGH));
+
+        verify(notificationRepository).save(argThat(saved -> saved.getPriority() == NotificationPriority.HIGH));
+        verify(outboxService).enqueue(argThat(saved -> saved.getPriority() == NotificationPriority.HIGH));
+    }
+
+    @Test
+    void createNotification_withThrottledChannel_shouldQueueOnlyAdmittedChannels() {
         Notification notification = new Notification("Test notification", false, mockUser);
+        notification.setId(notificationId);
+        when(rateLimiter.admit(userId)).thenReturn(new RateLimiter.Admission(List.of("in-app"), List.of("email")));
         when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
-        when(notificationRepository.findByUser(mockUser)).thenReturn(List.of(notification));
+        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+
+        notificationService.createNotification(userId, new CreateNotificationDTO("Test notification"));
+
+        verify(outboxService, never()).enqueue(any());
+        verify(outboxService, times(1)).enqueueForChannel(notificationId, "in-app", NotificationPriority.NORMAL);
+        verify(unreadCountService, times(1)).adjust(userId, 1);
+    }
+
+    @Test
+    void createNotification_overRateLimit_shouldNotSaveNotification() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+        when(rateLimiter.admit(userId)).thenThrow(new RateLimitExceededException("email", Duration.ofSeconds(3)));
+
+        assertThrows(RateLimitExceededException.class, () ->
+                notificationService.createNotification(userId, new CreateNotificationDTO("Test notification")));
+
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void createNotification_forUnknownUser_shouldNotTakeRateLimitToken() {
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () ->
+                notificationService.createNotification(userId, new CreateNotificationDTO("Test notification")));
+
+        verify(rateLimiter, never()).admit(any());
+    }
+
+    @Test
+    void createNotification_whenTransactionRollsBack_shouldRefundRateLimitTokens() {
+        Notification notification = new Notification("Test notification", false, mockUser);
+        notification.setId(notificationId);
+        RateLimiter.Admission admission = new RateLimiter.Admission(List.of("email", "in-app"), List.of());
+        when(rateLimiter.admit(userId)).thenReturn(admission);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(mockUser));
+        when(notificationRepository.save(any(Notification.class))).thenReturn(notification);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            notificationService.createNotification(userId, new CreateNotificationDTO("Test notification"));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(rateLimiter, times(1)).refund(userId, admission);
+    }
+
+    @Test
+    void getAllNotifications_shouldReturnListOfNotificationDTOs() {
+        // Arrange
+        NotificationDTO notification = new NotificationDTO(notificationId, "Test notification", false);
+        when(notificationRepository.findDTOsByUserId(userId)).thenReturn(List.of(notification));
 
         // Act
         List<NotificationDTO> result = notificationService.getAllNotificationsForUser(userId);
@@ -85,15 +177,94 @@ class NotificationServiceTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals("Test notification", result.get(0).message());
-        verify(notificationRepository, times(1)).findByUser(mockUser);
+        verify(notificationRepository, times(1)).findDTOsByUserId(userId);
+        // A non-empty result proves the user exists, so no second query is needed
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getAllNotifications_withNonexistentUser_shouldThrowException() {
+        // Arrange
+        when(notificationRepository.findDTOsByUserId(userId)).thenReturn(List.of());
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> notificationService.getAllNotificationsForUser(userId));
+    }
+
+    @Test
+    void getInbox_withMoreRowsThanLimit_shouldReturnPageAndNextCursor() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        InboxRowDTO newest = rowAt("Newest", now);
+        InboxRowDTO middle = rowAt("Middle", now.minusMinutes(1));
+        InboxRowDTO oldest = rowAt("Oldest", now.minusMinutes(2));
+        when(notificationRepository.findInboxPage(userId, Limit.of(3))).thenReturn(List.of(newest, middle, oldest));
+
+        // Act
+        NotificationPageDTO result = notificationService.getInbox(userId, null, 2);
+
+        // Assert
+        assertEquals(List.of("Newest", "Middle"), result.items().stream().map(NotificationDTO::message).toList());
+        NotificationCursor cursor = NotificationCursor.decode(result.nextCursor());
+        assertEquals(middle.timestamp(), cursor.timestamp());
+        assertEquals(middle.id(), cursor.id());
+        verify(userRepository, never()).existsById(any());
+    }
+
+    @Test
+    void getInbox_withCursor_shouldContinueAfterCursorAndEndWithoutNextCursor() {
+        // Arrange
+        LocalDateTime position = LocalDateTime.now();
+        UUID lastSeenId = UUID.randomUUID();
+        InboxRowDTO older = rowAt("Older", position.minusMinutes(1));
+        String cursor = new NotificationCursor(position, lastSeenId).encode();
+        when(notificationRepository.findInboxPageAfter(userId, position, lastSeenId, Limit.of(3)))
+                .thenReturn(List.of(older));
+
+        // Act
+        NotificationPageDTO result = notificationService.getInbox(userId, cursor, 2);
+
+        // Assert
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    void getInbox_shouldCapPageSize() {
+        // Arrange
+        when(notificationRepository.findInboxPage(eq(userId), any(Limit.class))).thenReturn(List.of());
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        // Act
+        notificationService.getInbox(userId, null, 10_000);
+
+        // Assert
+        verify(notificationRepository).findInboxPage(userId, Limit.of(NotificationService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void getInbox_withNonexistentUser_shouldThrowException() {
+        // Arrange
+        when(notificationRepository.findInboxPage(eq(userId), any(Limit.class))).thenReturn(List.of());
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> notificationService.getInbox(userId, null, null));
+    }
+
+    @Test
+    void getInbox_withMalformedCursor_shouldThrowException() {
+        // Act & Assert
+        assertThrows(InvalidCursorException.class, () -> notificationService.getInbox(userId, "not-a-cursor", null));
     }
 
     @Test
     void getNotificationById_shouldReturnNotificationDTOIfFound() {
         // Arrange
-        Notification notification = new Notification("Test notification", false, mockUser);
-        notification.setId(notificationId);
-        when(notificationRepository.findById(notificationId)).thenReturn(Optional.of(notification));
+        NotificationDTO notification = new NotificationDTO(notificationId, "Test notification", false);
+        when(notificationRepository.findDTOByIdAndUserId(notificationId, userId)).thenReturn(Optional.of(notification));
 
         // Act
         NotificationDTO result = notificationService.getNotificationById(userId, notificationId);
@@ -102,7 +273,19 @@ class NotificationServiceTest {
         assertNotNull(result);
         assertEquals("Test notification", result.message());
         assertEquals(notificationId, result.id());
-        verify(notificationRepository, times(1)).findById(notificationId);
+        verify(notificationRepository, times(1)).findDTOByIdAndUserId(notificationId, userId);
+        verify(notificationRepository, never()).findById(any());
+    }
+
+    @Test
+    void getNotificationById_ofAnotherUser_shouldThrowException() {
+        // Arrange
+        when(notificationRepository.findDTOByIdAndUserId(notificationId, userId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () ->
+                notificationService.getNotificationById(userId, notificationId)
+        );
     }
 
     @Test
@@ -121,6 +304,22 @@ class NotificationServiceTest {
         assertEquals(notificationId, result.id());
         assertTrue(result.read());
         verify(notificationRepository, times(1)).save(notification);
+        verify(unreadCountService, times(1)).adjust(userId, -1);
+    }
+
+    @Test
+    void markAsRead_onAlreadyReadNotification_shouldNotChangeUnreadCount() {
+        // Arrange
+        Notification notification = new Notification("Test notification", true, mockUser);
+        notification.setId(notificationId);
+        when(notificationRepository.findById(notificationId)).thenReturn(Optional.of(notification));
+        when(notificationRepository.save(notification)).thenReturn(notification);
+
+        // Act
+        notificationService.markAsRead(userId, notificationId);
+
+        // Assert
+        verify(unreadCountService, never()).adjust(any(), anyLong());
     }
 
     @Test
@@ -139,20 +338,98 @@ class NotificationServiceTest {
         assertEquals(notificationId, result.id());
         assertFalse(result.read());
         verify(notificationRepository, times(1)).save(notification);
+        verify(unreadCountService, times(1)).adjust(userId, 1);
+    }
+
+    @Test
+    void markAllAsRead_shouldRunSingleUpdateAndAdjustUnreadCount() {
+        // Arrange
+        LocalDateTime upTo = LocalDateTime.now().minusHours(1);
+        when(notificationRepository.markAllAsRead(userId, upTo)).thenReturn(12);
+
+        // Act
+        MarkReadResultDTO result = notificationService.markAllAsRead(userId, upTo);
+
+        // Assert
+        assertEquals(12, result.updated());
+        verify(unreadCountService, times(1)).adjust(userId, -12);
+        verify(notificationRepository, never()).findById(any());
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void markAllAsRead_withoutBound_shouldStopAtCurrentTime() {
+        // Arrange
+        LocalDateTime before = LocalDateTime.now();
+        when(userRepository.existsById(userId)).thenReturn(true);
+
+        // Act
+        MarkReadResultDTO result = notificationService.markAllAsRead(userId, null);
+
+        // Assert
+        assertEquals(0, result.updated());
+        verify(notificationRepository).markAllAsRead(eq(userId), argThat(bound -> !bound.isBefore(before)));
+        verify(unreadCountService, never()).adjust(any(), anyLong());
+    }
+
+    @Test
+    void markAsRead_withIds_shouldRunSingleUpdateScopedToUser() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(notificationRepository.markAsRead(userId, ids)).thenReturn(2);
+
+        // Act
+        MarkReadResultDTO result = notificationService.markAsRead(userId, ids);
+
+        // Assert
+        assertEquals(2, result.updated());
+        verify(unreadCountService, times(1)).adjust(userId, -2);
+    }
+
+    @Test
+    void markAllAsRead_withNonexistentUser_shouldThrowException() {
+        // Arrange
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> notificationService.markAllAsRead(userId, null));
     }
 
     @Test
     void deleteNotification_shouldRemoveNotification() {
         // Arrange
-        Notification notification = new Notification("Test notification", false, mockUser);
-        notification.setId(notificationId);
-        when(notificationRepository.findById(notificationId)).thenReturn(Optional.of(notification));
+        when(notificationRepository.findDeleteCandidate(notificationId, userId))
+                .thenReturn(Optional.of(new DeleteCandidateDTO(false, null)));
 
         // Act
         notificationService.deleteNotification(userId, notificationId);
 
         // Assert
-        verify(notificationRepository, times(1)).delete(notification);
+        verify(notificationRepository, times(1)).deleteAllByIdInBatch(List.of(notificationId));
+        verify(notificationRepository, never()).findById(any());
+        verify(unreadCountService, times(1)).adjust(userId, -1);
+        verify(idempotencyCache, never()).evictOnCompletion(any(), any());
+    }
+
+    @Test
+    void deleteNotification_withIdempotencyKey_shouldEvictCachedResponse() {
+        when(notificationRepository.findDeleteCandidate(notificationId, userId))
+                .thenReturn(Optional.of(new DeleteCandidateDTO(true, "order-1")));
+
+        notificationService.deleteNotification(userId, notificationId);
+
+        verify(idempotencyCache, times(1)).evictOnCompletion(userId, "order-1");
+        verify(unreadCountService, never()).adjust(any(), anyInt());
+    }
+
+    @Test
+    void deleteNotification_ofOtherUser_shouldThrowException() {
+        when(notificationRepository.findDeleteCandidate(notificationId, userId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () ->
+                notificationService.deleteNotification(userId, notificationId)
+        );
+        verify(notificationRepository, never()).deleteAllByIdInBatch(any());
     }
 
     @Test
@@ -191,4 +468,8 @@ class NotificationServiceTest {
                 notificationService.createNotification(userId, createNotificationDTO)
         );
     }
+
+    private static InboxRowDTO rowAt(String message, LocalDateTime timestamp) {
+        return new InboxRowDTO(UUID.randomUUID(), message, false, timestamp);
+    }
 }
@@ -0,0 +1,150 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.DispatchProperties;
+import com.reddert.notificationsystem.notification.config.RetryProperties;
+import com.reddert.notificationsystem.notification.model.DeadLetter;
+import com.reddert.notificationsystem.notification.model.OutboxEntry;
+import com.reddert.notificationsystem.notification.repositories.DeadLetterRepository;
+import com.reddert.notificationsystem.notification.repositories.OutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private DeadLetterRepository deadLetterRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private OutboxService outboxService;
+    private CircuitBreakerRegistry circuitBreakers;
+    private UUID notificationId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        RetryProperties retryProperties = new RetryProperties(3, Duration.ofSeconds(10), 2.0, Duration.ofMinutes(5),
+                new RetryProperties.CircuitBreaker(1, Duration.ofMinutes(2)));
+        circuitBreakers = new CircuitBreakerRegistry(retryProperties);
+        outboxService = new OutboxService(outboxRepository, deadLetterRepository, new RetryPolicy(retryProperties),
+                circuitBreakers, eventPublisher,
+                new DispatchProperties(true, 1, 10, Duration.ofMillis(100), Duration.ofSeconds(30)));
+        notificationId = UUID.randomUUID();
+        when(outboxRepository.deleteClaimed(any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void settle_withoutFailures_shouldRemoveEntry() {
+        OutboxEntry entry = claimed(null, 1);
+
+        outboxService.settle(entry, List.of());
+
+        verify(outboxRepository, times(1)).deleteClaimed(entry.getId(), entry.getClaimToken());
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    void settle_allChannelEntry_shouldSplitFailedChannelsIntoDelayedRetries() {
+        OutboxEntry entry = claimed(null, 1);
+        LocalDateTime before = LocalDateTime.now();
+
+        outboxService.settle(entry, List.of(ChannelOutcome.failed("email", Duration.ofMillis(5),
+                new RuntimeException("SMTP down"))));
+
+        ArgumentCaptor<OutboxEntry> retry = ArgumentCaptor.forClass(OutboxEntry.class);
+        verify(outboxRepository).save(retry.capture());
+        assertEquals("email", retry.getValue().getChannel());
+        assertEquals(1, retry.getValue().getAttempts());
+        assertEquals("SMTP down", retry.getValue().getLastError());
+        // First backoff is 10s with jitter in its upper half
+        assertFalse(retry.getValue().getAvailableAt().isBefore(before.plusSeconds(5)));
+        verify(outboxRepository, times(1)).deleteClaimed(entry.getId(), entry.getClaimToken());
+    }
+
+    @Test
+    void settle_afterEntryWasClaimedAgain_shouldNotSplitOrDeadLetter() {
+        // The lease expired and another claim replaced the token, so the guarded delete finds nothing
+        when(outboxRepository.deleteClaimed(any(), any())).thenReturn(0);
+        OutboxEntry stale = claimed(null, 1);
+        OutboxEntry exhausted = claimed("email", 3);
+
+        outboxService.settle(stale, List.of(ChannelOutcome.failed("email", Duration.ofMillis(5),
+                new RuntimeException("SMTP down"))));
+        outboxService.settle(exhausted, List.of(ChannelOutcome.failed("email", Duration.ofMillis(5),
+                new RuntimeException("SMTP down"))));
+
+        verify(outboxRepository, never()).save(any());
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    @Test
+    void settle_channelEntry_shouldRescheduleInPlaceWithGrowingBackoff() {
+        OutboxEntry entry = claimed("email", 2);
+        LocalDateTime before = LocalDateTime.now();
+
+        outboxService.settle(entry, List.of(ChannelOutcome.timedOut("email", Duration.ofSeconds(15))));
+
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(entry.getId()), eq(entry.getClaimToken()),
+                availableAt.capture(), eq(2), anyString());
+        // Second backoff is 20s with jitter in its upper half
+        assertFalse(availableAt.getValue().isBefore(before.plusSeconds(10)));
+        verify(outboxRepository, never()).deleteClaimed(any(), any());
+    }
+
+    @Test
+    void settle_withExhaustedAttempts_shouldMoveToDeadLetterStore() {
+        OutboxEntry entry = claimed("email", 3);
+
+        outboxService.settle(entry, List.of(ChannelOutcome.failed("email", Duration.ofMillis(5),
+                new RuntimeException("Mailbox unavailable"))));
+
+        ArgumentCaptor<DeadLetter> deadLetter = ArgumentCaptor.forClass(DeadLetter.class);
+        verify(deadLetterRepository).save(deadLetter.capture());
+        assertEquals(notificationId, deadLetter.getValue().getNotificationId());
+        assertEquals("email", deadLetter.getValue().getChannel());
+        assertEquals(3, deadLetter.getValue().getAttempts());
+        verify(outboxRepository, times(1)).deleteClaimed(entry.getId(), entry.getClaimToken());
+        verify(outboxRepository, never()).reschedule(any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void settle_withOpenCircuit_shouldWaitForBreakerAndNotCountAttempt() {
+        circuitBreakers.forChannel("email").onFailure();
+        OutboxEntry entry = claimed("email", 3);
+        LocalDateTime before = LocalDateTime.now();
+
+        outboxService.settle(entry, List.of(ChannelOutcome.circuitOpen("email")));
+
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).reschedule(eq(entry.getId()), any(), availableAt.capture(), eq(2), anyString());
+        assertFalse(availableAt.getValue().isBefore(before.plusSeconds(100)));
+        verify(deadLetterRepository, never()).save(any());
+    }
+
+    private OutboxEntry claimed(String channel, int attempts) {
+        OutboxEntry entry = new OutboxEntry(notificationId, channel);
+        entry.setId(UUID.randomUUID());
+        entry.setAttempts(attempts);
+        entry.setClaimToken(UUID.randomUUID());
+        entry.setLockedUntil(LocalDateTime.now().plusSeconds(30));
+        return entry;
+    }
+}
@@ -0,0 +1,159 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.RateLimitProperties;
+import com.reddert.notificationsystem.notification.exceptions.RateLimitExceededException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void admit_shouldAllowBurstThenRejectWithTimeUntilNextToken() {
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.REJECT);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(limiter.admit(userId).isComplete());
+        }
+
+        RateLimitExceededException exception =
+                assertThrows(RateLimitExceededException.class, () -> limiter.admit(userId));
+
+        // Email refills 3 tokens per minute, one every 20 seconds
+        assertEquals(Duration.ofSeconds(20), exception.getRetryAfter());
+    }
+
+    @Test
+    void admit_shouldRefillOverTime() {
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.REJECT);
+        for (int i = 0; i < 3; i++) {
+            limiter.admit(userId);
+        }
+
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertTrue(limiter.admit(userId).isComplete());
+        assertThrows(RateLimitExceededException.class, () -> limiter.admit(userId));
+    }
+
+    @Test
+    void admit_shouldKeepBucketsPerUser() {
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.REJECT);
+        for (int i = 0; i < 3; i++) {
+            limiter.admit(userId);
+        }
+
+        assertTrue(limiter.admit(UUID.randomUUID()).isComplete());
+    }
+
+    @Test
+    void rejectedRequest_shouldReturnTokensTakenFromOtherChannels() {
+        // in-app is checked first and would allow 10, email only 3
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.REJECT);
+        for (int i = 0; i < 3; i++) {
+            limiter.admit(userId);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThrows(RateLimitExceededException.class, () -> limiter.admit(userId));
+        }
+
+        now.addAndGet(Duration.ofSeconds(20).toNanos());
+
+        assertTrue(limiter.admit(userId).isComplete());
+    }
+
+    @Test
+    void skipChannelMode_shouldReportThrottledChannels() {
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.SKIP_CHANNEL);
+        for (int i = 0; i < 3; i++) {
+            limiter.admit(userId);
+        }
+
+        RateLimiter.Admission admission = limiter.admit(userId);
+
+        assertFalse(admission.isComplete());
+        assertEquals(List.of("in-app"), admission.admitted());
+        assertEquals(List.of("email"), admission.throttled());
+    }
+
+    @Test
+    void refund_shouldPutBackTokensOfAdmittedChannels() {
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.REJECT);
+        limiter.admit(userId);
+        limiter.admit(userId);
+        RateLimiter.Admission last = limiter.admit(userId);
+
+        limiter.refund(userId, last);
+
+        assertTrue(limiter.admit(userId).isComplete());
+        assertThrows(RateLimitExceededException.class, () -> limiter.admit(userId));
+    }
+
+    @Test
+    void disabledLimiter_shouldAdmitEverything() {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(false, RateLimitProperties.Mode.REJECT,
+                new RateLimitProperties.Limit(1, Duration.ofHours(1)), Map.of(), Duration.ofMinutes(1)),
+                List.of("in-app", "email"), now::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.admit(userId).isComplete());
+        }
+        assertEquals(0, limiter.bucketCount());
+    }
+
+    @Test
+    void evictIdle_shouldDropOnlyRefilledBuckets() {
+        RateLimiter limiter = limiter(RateLimitProperties.Mode.REJECT);
+        limiter.admit(userId);
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        limiter.admit(UUID.randomUUID());
+
+        // Only the first user's in-app bucket has refilled: it takes 6s, email takes 20s
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        limiter.evictIdle();
+
+        assertEquals(3, limiter.bucketCount());
+    }
+
+    @Test
+    void concurrentRequests_shouldNeverExceedCapacity() throws Exception {
+        RateLimiter limiter = new RateLimiter(new RateLimitProperties(true, RateLimitProperties.Mode.REJECT,
+                new RateLimitProperties.Limit(100, Duration.ofHours(1)), Map.of(), Duration.ofMinutes(1)),
+                List.of("in-app", "email"), now::get);
+        AtomicInteger admitted = new AtomicInteger();
+
+        try (ExecutorService requests = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                requests.submit(() -> {
+                    try {
+                        limiter.admit(userId);
+                        admitted.incrementAndGet();
+                    } catch (RateLimitExceededException e) {
+                        // over the limit
+                    }
+                });
+            }
+        }
+
+        assertEquals(100, admitted.get());
+    }
+
+    private RateLimiter limiter(RateLimitProperties.Mode mode) {
+        RateLimitProperties properties = new RateLimitProperties(true, mode,
+                new RateLimitProperties.Limit(10, Duration.ofMinutes(1)),
+                Map.of("email", new RateLimitProperties.Limit(3, Duration.ofMinutes(1))),
+                Duration.ofMinutes(1));
+        return new RateLimiter(properties, List.of("in-app", "email"), now::get);
+    }
+}
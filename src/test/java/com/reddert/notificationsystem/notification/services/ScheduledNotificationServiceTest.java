@@ -0,0 +1,122 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.ScheduleNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.ScheduledNotificationDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.ScheduledNotification;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.notification.repositories.ScheduledNotificationRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScheduledNotificationServiceTest {
+
+    @Mock
+    private ScheduledNotificationRepository scheduledNotificationRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ScheduledNotificationService service;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new ScheduledNotificationService(scheduledNotificationRepository, notificationRepository,
+                userRepository, outboxService, unreadCountService, eventPublisher);
+        user = new User("Lionel Messi", "lionel.messi@gmail.com");
+        user.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void schedule_shouldStoreScheduleAndPublishEvent() {
+        LocalDateTime sendAt = LocalDateTime.now().plusHours(1);
+        when(userRepository.existsById(user.getId())).thenReturn(true);
+        when(scheduledNotificationRepository.save(any())).thenAnswer(invocation -> {
+            ScheduledNotification scheduled = invocation.getArgument(0);
+            scheduled.setId(UUID.randomUUID());
+            return scheduled;
+        });
+
+        ScheduledNotificationDTO result = service.schedule(user.getId(),
+                new ScheduleNotificationDTO("Match starts soon", NotificationPriority.HIGH, sendAt));
+
+        assertEquals(sendAt, result.sendAt());
+        assertEquals(NotificationPriority.HIGH, result.priority());
+        verify(eventPublisher).publishEvent(new ScheduledNotificationService.NotificationScheduledEvent(result.id(), sendAt));
+        verify(notificationRepository, never()).save(any());
+    }
+
+    @Test
+    void schedule_forNonexistentUser_shouldThrowException() {
+        when(userRepository.existsById(any())).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> service.schedule(UUID.randomUUID(),
+                new ScheduleNotificationDTO("Hello", null, LocalDateTime.now().plusHours(1))));
+    }
+
+    @Test
+    void cancel_afterDelivery_shouldThrowException() {
+        when(scheduledNotificationRepository.deleteByIdAndUserId(any(), any())).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> service.cancel(user.getId(), UUID.randomUUID()));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void deliverDue_shouldCreateNotificationsOnlyForSchedulesItRemoved() {
+        ScheduledNotification due = scheduled("Kick-off");
+        ScheduledNotification takenByOtherInstance = scheduled("Half-time");
+        when(scheduledNotificationRepository.findAllById(any())).thenReturn(List.of(due, takenByOtherInstance));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user));
+        when(scheduledNotificationRepository.deleteDue(due.getId())).thenReturn(1);
+        when(scheduledNotificationRepository.deleteDue(takenByOtherInstance.getId())).thenReturn(0);
+
+        int delivered = service.deliverDue(List.of(due.getId(), takenByOtherInstance.getId()));
+
+        assertEquals(1, delivered);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Notification>> created = ArgumentCaptor.forClass(List.class);
+        verify(outboxService).enqueueAll(created.capture());
+        assertEquals(1, created.getValue().size());
+        assertEquals("Kick-off", created.getValue().get(0).getMessage());
+        assertEquals(NotificationPriority.LOW, created.getValue().get(0).getPriority());
+        verify(unreadCountService).incrementAll(List.of(user.getId()));
+    }
+
+    private ScheduledNotification scheduled(String message) {
+        ScheduledNotification scheduled = new ScheduledNotification(
+                user.getId(), message, NotificationPriority.LOW, LocalDateTime.now());
+        scheduled.setId(UUID.randomUUID());
+        return scheduled;
+    }
+}
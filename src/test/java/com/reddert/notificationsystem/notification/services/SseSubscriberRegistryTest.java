@@ -0,0 +1,163 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.StreamProperties;
+import com.reddert.notificationsystem.notification.config.StreamProperties.SlowConsumerPolicy;
+import com.reddert.notificationsystem.notification.dtos.NotificationDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SseSubscriberRegistryTest {
+
+    private SseSubscriberRegistry registry;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.shutdown();
+        }
+    }
+
+    @Test
+    void publish_shouldReachEveryConnectionOfTheUserOnly() throws Exception {
+        registry = registry(SlowConsumerPolicy.DROP_NEWEST, 8, Duration.ofMinutes(1));
+        RecordingEmitter laptop = new RecordingEmitter();
+        RecordingEmitter phone = new RecordingEmitter();
+        RecordingEmitter stranger = new RecordingEmitter();
+        registry.register(userId, laptop);
+        registry.register(userId, phone);
+        registry.register(UUID.randomUUID(), stranger);
+
+        int connections = registry.publish(userId, notification("Hello"));
+
+        assertEquals(2, connections);
+        assertTrue(laptop.awaitEvents(1));
+        assertTrue(phone.awaitEvents(1));
+        assertTrue(laptop.events.get(0).contains("event:notification"));
+        assertTrue(laptop.events.get(0).contains("Hello"));
+        assertTrue(stranger.events.isEmpty());
+        assertEquals(3, registry.connectionCount());
+    }
+
+    @Test
+    void publish_toSlowConsumer_shouldDropInsteadOfBlocking() throws Exception {
+        registry = registry(SlowConsumerPolicy.DROP_NEWEST, 2, Duration.ofMinutes(1));
+        StallingEmitter slow = new StallingEmitter();
+        registry.register(userId, slow);
+
+        registry.publish(userId, notification("first"));
+        assertTrue(slow.writing.await(2, TimeUnit.SECONDS));
+        // The writer is stuck on "first"; two more fit in the buffer, the rest are dropped
+        int accepted = 0;
+        for (int i = 0; i < 5; i++) {
+            accepted += registry.publish(userId, notification("next " + i));
+        }
+
+        assertEquals(2, accepted);
+        assertEquals(3, registry.droppedCount());
+        slow.release.countDown();
+    }
+
+    @Test
+    void publish_withDisconnectPolicy_shouldCloseSlowConnection() throws Exception {
+        registry = registry(SlowConsumerPolicy.DISCONNECT, 1, Duration.ofMinutes(1));
+        StallingEmitter slow = new StallingEmitter();
+        SseSubscriberRegistry.Subscription subscription = registry.register(userId, slow);
+
+        registry.publish(userId, notification("first"));
+        assertTrue(slow.writing.await(2, TimeUnit.SECONDS));
+        registry.publish(userId, notification("queued"));
+        registry.publish(userId, notification("overflow"));
+
+        assertTrue(subscription.isClosed());
+        assertEquals(0, registry.connectionCount(userId));
+        slow.release.countDown();
+    }
+
+    @Test
+    void idleConnection_shouldReceiveHeartbeats() throws Exception {
+        registry = registry(SlowConsumerPolicy.DROP_OLDEST, 8, Duration.ofMillis(20));
+        RecordingEmitter emitter = new RecordingEmitter();
+        registry.register(userId, emitter);
+
+        assertTrue(emitter.awaitEvents(2));
+        assertTrue(emitter.events.stream().allMatch(event -> event.startsWith(":heartbeat")));
+    }
+
+    @Test
+    void closedConnection_shouldBeRemovedFromRegistry() {
+        registry = registry(SlowConsumerPolicy.DROP_OLDEST, 8, Duration.ofMinutes(1));
+        SseSubscriberRegistry.Subscription subscription = registry.register(userId, new RecordingEmitter());
+
+        subscription.close();
+
+        assertEquals(0, registry.connectionCount(userId));
+        assertEquals(0, registry.publish(userId, notification("Too late")));
+    }
+
+    private static SseSubscriberRegistry registry(SlowConsumerPolicy policy, int bufferSize, Duration heartbeat) {
+        return new SseSubscriberRegistry(new StreamProperties(bufferSize, heartbeat, Duration.ofMinutes(30), policy));
+    }
+
+    private static NotificationDTO notification(String message) {
+        return new NotificationDTO(UUID.randomUUID(), message, false);
+    }
+
+    private static String render(SseEmitter.SseEventBuilder event) {
+        return event.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder event) {
+            events.add(render(event));
+        }
+
+        boolean awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return events.size() >= count;
+        }
+    }
+
+    // Blocks the writer on its first event, like a client that stopped reading
+    private static class StallingEmitter extends SseEmitter {
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder event) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
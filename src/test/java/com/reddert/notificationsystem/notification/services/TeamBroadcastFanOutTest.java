@@ -0,0 +1,198 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.TeamBroadcastDTO;
+import com.reddert.notificationsystem.notification.model.Notification;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.model.OutboxEntry;
+import com.reddert.notificationsystem.notification.repositories.OutboxRepository;
+import com.reddert.notificationsystem.team.dtos.CreateTeamDTO;
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.RoleRepository;
+import com.reddert.notificationsystem.team.service.BulkMembershipService;
+import com.reddert.notificationsystem.team.service.TeamService;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs team broadcasts against a real database: the fan-out costs the same few statements
+ * however large the team is, and every recipient ends up with a notification, an outbox
+ * entry and a raised unread count. The dispatcher is switched off, so the outbox entries
+ * stay in place to be checked. Shares its configuration with the team query tests so they
+ * all run in one context.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:teammembershipquery",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "notification.dispatch.enabled=false",
+        "notification.scheduler.enabled=false",
+        "notification.retention.enabled=false"
+})
+class TeamBroadcastFanOutTest {
+
+    @Autowired
+    private TeamBroadcastService teamBroadcastService;
+
+    @Autowired
+    private UnreadCountService unreadCountService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private BulkMembershipService bulkMembershipService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (RoleType roleType : RoleType.values()) {
+            if (roleRepository.findByRoleType(roleType).isEmpty()) {
+                roleRepository.save(new Role(roleType));
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void fanOut_shouldUseTheSameStatementsRegardlessOfTeamSize() {
+        UUID smallTeam = createTeam(createUsers(2));
+        UUID largeTeam = createTeam(createUsers(80));
+        // With a cached count, each broadcast also checks the cache for recipients in one query
+        unreadCountService.getUnreadCount(createUsers(1).get(0));
+
+        statistics.clear();
+        int smallRecipients = teamBroadcastService.fanOut(broadcast(smallTeam, null));
+        long smallStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+        int largeRecipients = teamBroadcastService.fanOut(broadcast(largeTeam, null));
+        long largeStatements = statistics.getPrepareStatementCount();
+
+        assertEquals(3, smallRecipients);
+        assertEquals(81, largeRecipients);
+        assertEquals(4, largeStatements);
+        assertEquals(smallStatements, largeStatements);
+    }
+
+    @Test
+    void fanOut_shouldCreateNotificationsOutboxEntriesAndUnreadCounts() {
+        List<UUID> members = createUsers(5);
+        UUID teamId = createTeam(members);
+        // A counter row that already exists is raised in place
+        assertEquals(0, unreadCountService.getUnreadCount(members.get(0)));
+
+        TeamBroadcastDTO broadcast = broadcast(teamId, null);
+        teamBroadcastService.fanOut(broadcast);
+
+        List<Notification> notifications = notificationsOf(broadcast);
+        assertEquals(6, notifications.size());
+        notifications.forEach(notification -> {
+            assertEquals(broadcast.message(), notification.getMessage());
+            assertEquals(NotificationPriority.HIGH, notification.getPriority());
+            assertFalse(notification.isRead());
+            assertNull(notification.getIdempotencyKey());
+        });
+        assertTrue(notifications.stream().map(n -> n.getUser().getId()).collect(Collectors.toSet())
+                .containsAll(members));
+
+        Set<UUID> notificationIds = notifications.stream().map(Notification::getId).collect(Collectors.toSet());
+        List<OutboxEntry> entries = outboxRepository.findAll().stream()
+                .filter(entry -> notificationIds.contains(entry.getNotificationId()))
+                .toList();
+        assertEquals(6, entries.size());
+        entries.forEach(entry -> {
+            assertEquals(NotificationPriority.HIGH, entry.getPriority());
+            assertNull(entry.getChannel());
+            assertEquals(0, entry.getAttempts());
+        });
+
+        assertEquals(1, unreadCountService.getUnreadCount(members.get(0)));
+        assertEquals(1, unreadCountService.getUnreadCount(members.get(1)));
+    }
+
+    @Test
+    void fanOut_shouldOnlyEvictCachedCountsOfRecipients() {
+        List<UUID> members = createUsers(2);
+        UUID teamId = createTeam(members);
+        UUID outsider = createUsers(1).get(0);
+        unreadCountService.getUnreadCount(members.get(0));
+        unreadCountService.getUnreadCount(outsider);
+
+        teamBroadcastService.fanOut(broadcast(teamId, null));
+
+        statistics.clear();
+        assertEquals(0, unreadCountService.getUnreadCount(outsider));
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, unreadCountService.getUnreadCount(members.get(0)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void fanOut_withRole_shouldOnlyNotifyMembersWithThatRole() {
+        UUID teamId = createTeam(createUsers(4));
+
+        TeamBroadcastDTO broadcast = broadcast(teamId, RoleType.OWNER);
+        int recipients = teamBroadcastService.fanOut(broadcast);
+
+        assertEquals(1, recipients);
+        assertEquals(1, notificationsOf(broadcast).size());
+    }
+
+    private TeamBroadcastDTO broadcast(UUID teamId, RoleType roleType) {
+        return new TeamBroadcastDTO(UUID.randomUUID(), teamId, "Release at noon", NotificationPriority.HIGH, roleType);
+    }
+
+    private List<Notification> notificationsOf(TeamBroadcastDTO broadcast) {
+        return entityManager.createQuery(
+                        "select n from Notification n join fetch n.user where n.broadcastId = :broadcastId",
+                        Notification.class)
+                .setParameter("broadcastId", broadcast.broadcastId())
+                .getResultList();
+    }
+
+    private List<UUID> createUsers(int count) {
+        List<UUID> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            userIds.add(userRepository.save(new User("member" + i, "member-" + UUID.randomUUID() + "@example.com")).getId());
+        }
+        return userIds;
+    }
+
+    private UUID createTeam(List<UUID> members) {
+        User owner = userRepository.save(new User("owner", "owner-" + UUID.randomUUID() + "@example.com"));
+        UUID teamId = teamService.createTeam(new CreateTeamDTO("Team " + UUID.randomUUID(), null, owner.getId())).id();
+        bulkMembershipService.addMembersToTeam(teamId, members);
+        return teamId;
+    }
+}
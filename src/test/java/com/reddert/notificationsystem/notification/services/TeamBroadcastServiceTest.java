@@ -0,0 +1,113 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.dtos.CreateNotificationDTO;
+import com.reddert.notificationsystem.notification.dtos.TeamBroadcastDTO;
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.TeamRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TeamBroadcastServiceTest {
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private UnreadCountService unreadCountService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TeamBroadcastService teamBroadcastService;
+    private UUID teamId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        teamId = UUID.randomUUID();
+        teamBroadcastService = new TeamBroadcastService(
+                teamRepository, notificationRepository, outboxService, unreadCountService,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void fanOut_shouldInsertForAllMembersAndQueueDeliveryInOneTransaction() {
+        TeamBroadcastDTO broadcast = new TeamBroadcastDTO(
+                UUID.randomUUID(), teamId, "Team meeting at 10", NotificationPriority.HIGH, RoleType.ADMIN);
+        when(notificationRepository.insertForTeamMembers(eq(teamId), eq(RoleType.ADMIN), eq(broadcast.broadcastId()),
+                eq("Team meeting at 10"), eq(NotificationPriority.HIGH), any(LocalDateTime.class)))
+                .thenReturn(3);
+
+        int recipients = teamBroadcastService.fanOut(broadcast);
+
+        assertEquals(3, recipients);
+        verify(outboxService).enqueueBroadcast(broadcast.broadcastId());
+        verify(unreadCountService).incrementBroadcastRecipients(broadcast.broadcastId());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void fanOut_withNoMatchingMembers_shouldNotQueueAnything() {
+        TeamBroadcastDTO broadcast = new TeamBroadcastDTO(
+                UUID.randomUUID(), teamId, "Anyone there?", NotificationPriority.NORMAL, null);
+
+        assertEquals(0, teamBroadcastService.fanOut(broadcast));
+        verifyNoInteractions(outboxService, unreadCountService);
+    }
+
+    @Test
+    void broadcast_withUnknownTeam_shouldThrowException() {
+        when(teamRepository.existsById(teamId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () ->
+                teamBroadcastService.broadcast(teamId, new CreateNotificationDTO("Hello team"), null)
+        );
+    }
+
+    @Test
+    void broadcast_shouldFanOutBeforeReturning() {
+        when(teamRepository.existsById(teamId)).thenReturn(true);
+
+        TeamBroadcastDTO result = teamBroadcastService.broadcast(
+                teamId, new CreateNotificationDTO("Hello team", NotificationPriority.LOW), RoleType.OWNER);
+
+        assertNotNull(result.broadcastId());
+        assertEquals(teamId, result.teamId());
+        assertEquals(NotificationPriority.LOW, result.priority());
+        verify(notificationRepository, times(1)).insertForTeamMembers(
+                eq(teamId), eq(RoleType.OWNER), eq(result.broadcastId()), eq("Hello team"),
+                eq(NotificationPriority.LOW), any(LocalDateTime.class));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void broadcast_whenFanOutFails_shouldPropagateError() {
+        when(teamRepository.existsById(teamId)).thenReturn(true);
+        when(notificationRepository.insertForTeamMembers(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThrows(IllegalStateException.class, () ->
+                teamBroadcastService.broadcast(teamId, new CreateNotificationDTO("Hello team"), null));
+        verify(transactionManager, times(1)).rollback(any());
+    }
+}
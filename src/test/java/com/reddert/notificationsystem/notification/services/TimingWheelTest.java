@@ -0,0 +1,96 @@
+package com.reddert.notificationsystem.notification.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long START = 1_000_000L;
+
+    // 10ms ticks and 8 slots: level 0 spans 80ms, level 1 640ms, level 2 5.12s
+    private final TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(10), 8, 3, START);
+
+    @Test
+    void timer_shouldFireOnTheTickOfItsDeadline() {
+        wheel.schedule("soon", START + 35);
+
+        assertEquals(List.of(), wheel.advance(START + 30));
+        assertEquals(List.of("soon"), wheel.advance(START + 40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void distantTimers_shouldCascadeDownAndFireOnTime() {
+        wheel.schedule("level1", START + 500);
+        wheel.schedule("level2", START + 4_000);
+
+        assertEquals(List.of(), wheel.advance(START + 490));
+        assertEquals(List.of("level1"), wheel.advance(START + 500));
+        assertEquals(List.of(), wheel.advance(START + 3_990));
+        assertEquals(List.of("level2"), wheel.advance(START + 4_000));
+    }
+
+    @Test
+    void timerBeyondTopLevel_shouldStillFireOnTime() {
+        wheel.schedule("far", START + 60_000);
+
+        assertEquals(List.of(), wheel.advance(START + 59_990));
+        assertEquals(List.of("far"), wheel.advance(START + 60_000));
+    }
+
+    @Test
+    void overdueTimer_shouldFireOnNextAdvance() {
+        wheel.schedule("late", START - 5_000);
+
+        assertEquals(List.of("late"), wheel.advance(START));
+    }
+
+    @Test
+    void cancelledTimer_shouldNotFire() {
+        wheel.schedule("kept", START + 500);
+        wheel.schedule("cancelled", START + 500);
+
+        assertTrue(wheel.cancel("cancelled"));
+        assertFalse(wheel.cancel("cancelled"));
+
+        assertEquals(List.of("kept"), wheel.advance(START + 1_000));
+    }
+
+    @Test
+    void duplicateSchedule_shouldBeIgnored() {
+        assertTrue(wheel.schedule("once", START + 100));
+        assertFalse(wheel.schedule("once", START + 200));
+
+        assertEquals(List.of("once"), wheel.advance(START + 100));
+    }
+
+    @Test
+    void manyRandomTimers_shouldEachFireOnTheirOwnTick() {
+        Random random = new Random(42);
+        Map<String, Long> deadlines = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long deadline = START + 10 + random.nextInt(30_000) / 10 * 10;
+            deadlines.put("t" + i, deadline);
+            wheel.schedule("t" + i, deadline);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long now = START; now <= START + 30_010; now += 10) {
+            for (String key : wheel.advance(now)) {
+                assertEquals(deadlines.get(key), now, "Timer " + key + " fired on the wrong tick");
+                fired.add(key);
+            }
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+}
@@ -0,0 +1,151 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.config.UnreadCountProperties;
+import com.reddert.notificationsystem.notification.model.UserNotificationStats;
+import com.reddert.notificationsystem.notification.repositories.NotificationRepository;
+import com.reddert.notificationsystem.notification.repositories.UserNotificationStatsRepository;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class UnreadCountServiceTest {
+
+    @Mock
+    private UserNotificationStatsRepository statsRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UnreadCountService unreadCountService;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        userId = UUID.randomUUID();
+        unreadCountService = new UnreadCountService(statsRepository, notificationRepository, userRepository,
+                new TransactionTemplate(transactionManager),
+                new UnreadCountProperties(Duration.ofMinutes(1), 100, 2));
+    }
+
+    @Test
+    void getUnreadCount_shouldServeRepeatedReadsFromCache() {
+        when(statsRepository.findById(userId)).thenReturn(Optional.of(new UserNotificationStats(userId, 3)));
+
+        assertEquals(3, unreadCountService.getUnreadCount(userId));
+        assertEquals(3, unreadCountService.getUnreadCount(userId));
+
+        verify(statsRepository, times(1)).findById(userId);
+        verify(notificationRepository, never()).countUnreadByUserId(any());
+    }
+
+    @Test
+    void incrementBroadcastRecipients_shouldOnlyLookUpCachedUsersAndEvictRecipients() {
+        UUID broadcastId = UUID.randomUUID();
+        List<UUID> cachedUsers = List.of(userId, UUID.randomUUID(), UUID.randomUUID());
+        when(statsRepository.findById(any())).thenAnswer(invocation ->
+                Optional.of(new UserNotificationStats(invocation.getArgument(0), 1)));
+        cachedUsers.forEach(unreadCountService::getUnreadCount);
+        when(notificationRepository.findBroadcastRecipientsAmong(eq(broadcastId), anyCollection()))
+                .thenAnswer(invocation -> invocation.<Collection<UUID>>getArgument(1).contains(userId)
+                        ? List.of(userId) : List.of());
+
+        unreadCountService.incrementBroadcastRecipients(broadcastId);
+        cachedUsers.forEach(unreadCountService::getUnreadCount);
+
+        // Three cached users in batches of two
+        verify(notificationRepository, times(2)).findBroadcastRecipientsAmong(eq(broadcastId), anyCollection());
+        verify(statsRepository, times(2)).findById(userId);
+        verify(statsRepository, times(1)).findById(cachedUsers.get(1));
+        verify(statsRepository, times(1)).findById(cachedUsers.get(2));
+    }
+
+    @Test
+    void getUnreadCount_withoutCounter_shouldInitializeItFromNotifications() {
+        when(statsRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(notificationRepository.countUnreadByUserId(userId)).thenReturn(5L);
+
+        assertEquals(5, unreadCountService.getUnreadCount(userId));
+
+        verify(statsRepository, times(1)).saveAndFlush(argThat(stats ->
+                stats.getUserId().equals(userId) && stats.getUnreadCount() == 5));
+    }
+
+    @Test
+    void getUnreadCount_withNonexistentUser_shouldThrowException() {
+        when(statsRepository.findById(userId)).thenReturn(Optional.empty());
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> unreadCountService.getUnreadCount(userId));
+    }
+
+    @Test
+    void getUnreadCount_withDriftedNegativeCounter_shouldReturnZero() {
+        when(statsRepository.findById(userId)).thenReturn(Optional.of(new UserNotificationStats(userId, -2)));
+
+        assertEquals(0, unreadCountService.getUnreadCount(userId));
+    }
+
+    @Test
+    void adjust_shouldApplyRelativeUpdateAndEvictCachedCount() {
+        when(statsRepository.findById(userId))
+                .thenReturn(Optional.of(new UserNotificationStats(userId, 3)))
+                .thenReturn(Optional.of(new UserNotificationStats(userId, 4)));
+        unreadCountService.getUnreadCount(userId);
+
+        unreadCountService.adjust(userId, 1);
+
+        verify(statsRepository, times(1)).adjustUnreadCount(List.of(userId), 1);
+        assertEquals(4, unreadCountService.getUnreadCount(userId));
+    }
+
+    @Test
+    void incrementAll_shouldGroupUsersByNumberOfNewNotifications() {
+        UUID other = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        unreadCountService.incrementAll(List.of(userId, other, userId, third));
+
+        verify(statsRepository, times(1)).adjustUnreadCount(List.of(userId), 2);
+        verify(statsRepository, times(1)).adjustUnreadCount(argThat(users ->
+                users.size() == 2 && users.containsAll(List.of(other, third))), eq(1L));
+    }
+
+    @Test
+    void reconcile_shouldWalkCountersInBatches() {
+        UUID first = new UUID(0L, 1L);
+        UUID second = new UUID(0L, 2L);
+        UUID third = new UUID(0L, 3L);
+        when(statsRepository.findUserIdsAfter(eq(new UUID(0L, 0L)), any())).thenReturn(List.of(first, second));
+        when(statsRepository.findUserIdsAfter(eq(second), any())).thenReturn(List.of(third));
+        when(statsRepository.findUserIdsAfter(eq(third), any())).thenReturn(List.of());
+
+        unreadCountService.reconcile();
+
+        verify(statsRepository, times(1)).reconcile(List.of(first, second));
+        verify(statsRepository, times(1)).reconcile(List.of(third));
+        verify(transactionManager, times(2)).commit(any());
+    }
+}
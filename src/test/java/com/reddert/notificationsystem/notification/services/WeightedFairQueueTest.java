@@ -0,0 +1,78 @@
+package com.reddert.notificationsystem.notification.services;
+
+import com.reddert.notificationsystem.notification.model.NotificationPriority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeightedFairQueueTest {
+
+    private final WeightedFairQueue<String> queue = new WeightedFairQueue<>(Map.of(
+            NotificationPriority.HIGH, 8,
+            NotificationPriority.NORMAL, 3,
+            NotificationPriority.LOW, 1));
+
+    @Test
+    void backloggedLevels_shouldBeServedInProportionToWeight() throws Exception {
+        fill(NotificationPriority.HIGH, 120);
+        fill(NotificationPriority.NORMAL, 120);
+        fill(NotificationPriority.LOW, 120);
+
+        List<String> served = take(120);
+
+        assertEquals(80, count(served, NotificationPriority.HIGH));
+        assertEquals(30, count(served, NotificationPriority.NORMAL));
+        assertEquals(10, count(served, NotificationPriority.LOW));
+    }
+
+    @Test
+    void lowPriority_shouldBeServedWithinOneRoundUnderLoad() throws Exception {
+        fill(NotificationPriority.HIGH, 1000);
+        queue.offer(NotificationPriority.LOW, "LOW-0");
+
+        List<String> served = take(12);
+
+        assertTrue(served.contains("LOW-0"), "Low priority was starved: " + served);
+    }
+
+    @Test
+    void urgentEntry_shouldOvertakeBulkBacklog() throws Exception {
+        fill(NotificationPriority.LOW, 1000);
+        take(1);
+        queue.offer(NotificationPriority.HIGH, "HIGH-0");
+
+        assertEquals("HIGH-0", queue.poll(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void closedQueue_shouldHandOutRemainingItemsThenNull() throws Exception {
+        queue.offer(NotificationPriority.NORMAL, "last");
+        queue.close();
+
+        assertEquals("last", queue.take());
+        assertNull(queue.take());
+    }
+
+    private void fill(NotificationPriority priority, int count) {
+        for (int i = 0; i < count; i++) {
+            queue.offer(priority, priority + "-" + i);
+        }
+    }
+
+    private List<String> take(int count) throws InterruptedException {
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            served.add(queue.poll(1, TimeUnit.SECONDS));
+        }
+        return served;
+    }
+
+    private static long count(List<String> served, NotificationPriority priority) {
+        return served.stream().filter(item -> item.startsWith(priority + "-")).count();
+    }
+}
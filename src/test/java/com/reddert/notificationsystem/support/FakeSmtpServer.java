@@ -0,0 +1,177 @@
+package com.reddert.notificationsystem.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal in-process SMTP server for tests. It accepts plain (non-TLS, unauthenticated)
+ * sessions, counts connections and messages, and can simulate a slow handshake, slow
+ * message acceptance, a random rejection rate and a provider-side cap on concurrent
+ * sessions (connections beyond the cap wait for a free slot before the greeting).
+ */
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    // Platform threads: a client that pins the only virtual thread carrier while it waits
+    // for a reply (JavaMail blocks inside synchronized methods) must not starve the server
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-smtp-session");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+
+    private volatile Duration connectLatency = Duration.ZERO;
+    private volatile Duration messageLatency = Duration.ZERO;
+    private volatile double failureRate = 0.0;
+    private volatile Semaphore sessionSlots = new Semaphore(Integer.MAX_VALUE);
+
+    public FakeSmtpServer() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "fake-smtp-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    // Delay before the greeting, standing in for TCP, STARTTLS and AUTH round trips
+    public FakeSmtpServer withConnectLatency(Duration latency) {
+        this.connectLatency = latency;
+        return this;
+    }
+
+    public FakeSmtpServer withMessageLatency(Duration latency) {
+        this.messageLatency = latency;
+        return this;
+    }
+
+    // Fraction of messages answered with a permanent 554 failure
+    public FakeSmtpServer withFailureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    public FakeSmtpServer withMaxSessions(int maxSessions) {
+        this.sessionSlots = new Semaphore(maxSessions);
+        return this;
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public int getAcceptedCount() {
+        return accepted.get();
+    }
+
+    public int getRejectedCount() {
+        return rejected.get();
+    }
+
+    public void reset() {
+        connections.set(0);
+        accepted.set(0);
+        rejected.set(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.incrementAndGet();
+                sessions.submit(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        Semaphore slots = sessionSlots;
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            return;
+        }
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            pause(connectLatency);
+            reply(out, "220 localhost fake ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250 8BITMIME");
+                    case "HELO", "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        readData(in);
+                        pause(messageLatency);
+                        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+                            rejected.incrementAndGet();
+                            reply(out, "554 Transaction failed");
+                        } else {
+                            accepted.incrementAndGet();
+                            reply(out, "250 OK queued");
+                        }
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // Client went away or the server is shutting down
+        } finally {
+            slots.release();
+        }
+    }
+
+    private static void readData(BufferedReader in) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            // Message content is not kept
+        }
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+
+    private static void pause(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            Thread.sleep(duration);
+        }
+    }
+}
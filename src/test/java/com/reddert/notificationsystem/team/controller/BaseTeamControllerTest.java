@@ -1,5 +1,6 @@
 package com.reddert.notificationsystem.team.controller;
 
+import com.reddert.notificationsystem.team.service.BulkMembershipService;
 import com.reddert.notificationsystem.team.service.TeamService;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +17,8 @@ public abstract class BaseTeamControllerTest {
 
   @MockBean protected TeamService teamService;
 
+  @MockBean protected BulkMembershipService bulkMembershipService;
+
   protected UUID teamId;
   protected String teamName = "Team A";
   protected String teamDescription = "Description A";
@@ -1,14 +1,20 @@
 package com.reddert.notificationsystem.team.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.reddert.notificationsystem.team.dtos.TeamDTO;
+import com.reddert.notificationsystem.team.dtos.TeamPageDTO;
+import com.reddert.notificationsystem.team.dtos.TeamSortField;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
 
 public class GetAllTeamsTest extends BaseTeamControllerTest {
 
@@ -20,15 +26,53 @@ public class GetAllTeamsTest extends BaseTeamControllerTest {
             new TeamDTO(UUID.randomUUID(), teamName, teamDescription),
             new TeamDTO(UUID.randomUUID(), "Team B", "Description B"));
 
-    when(teamService.getAllTeams()).thenReturn(teamList);
+    when(teamService.getTeams(null, TeamSortField.NAME, Sort.Direction.ASC, null, null, true))
+        .thenReturn(new TeamPageDTO(teamList, null, 2L));
 
     mockMvc
         .perform(get("/api/teams"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(2))
-        .andExpect(jsonPath("$[0].name").value(teamName))
-        .andExpect(jsonPath("$[0].description").value(teamDescription))
-        .andExpect(jsonPath("$[1].name").value("Team B"))
-        .andExpect(jsonPath("$[1].description").value("Description B"));
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.items[0].name").value(teamName))
+        .andExpect(jsonPath("$.items[0].description").value(teamDescription))
+        .andExpect(jsonPath("$.items[1].name").value("Team B"))
+        .andExpect(jsonPath("$.items[1].description").value("Description B"))
+        .andExpect(jsonPath("$.total").value(2));
+  }
+
+  @Test
+  void shouldReturnEmptyPageWhenThereAreNoTeams() throws Exception {
+    when(teamService.getTeams(any(), any(), any(), any(), any(), anyBoolean()))
+        .thenReturn(new TeamPageDTO(List.of(), null, 0L));
+
+    mockMvc
+        .perform(get("/api/teams"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(0))
+        .andExpect(jsonPath("$.nextCursor").isEmpty());
+  }
+
+  @Test
+  void shouldPassSearchSortAndPagingParameters() throws Exception {
+    when(teamService.getTeams(any(), any(), any(), any(), any(), anyBoolean()))
+        .thenReturn(new TeamPageDTO(List.of(), null, null));
+
+    mockMvc
+        .perform(get("/api/teams")
+            .param("name", "Team")
+            .param("sort", "CREATED_AT")
+            .param("direction", "DESC")
+            .param("cursor", "abc")
+            .param("limit", "10")
+            .param("includeTotal", "false"))
+        .andExpect(status().isOk());
+
+    verify(teamService)
+        .getTeams("Team", TeamSortField.CREATED_AT, Sort.Direction.DESC, "abc", 10, false);
+  }
+
+  @Test
+  void shouldReturn400ForUnknownSortField() throws Exception {
+    mockMvc.perform(get("/api/teams").param("sort", "SIZE")).andExpect(status().isBadRequest());
   }
 }
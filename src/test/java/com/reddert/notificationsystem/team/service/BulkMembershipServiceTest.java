@@ -0,0 +1,134 @@
+package com.reddert.notificationsystem.team.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reddert.notificationsystem.team.dtos.BulkAddMembersResultDTO;
+import com.reddert.notificationsystem.team.dtos.BulkMemberResultDTO;
+import com.reddert.notificationsystem.team.model.MemberOf;
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.model.Team;
+import com.reddert.notificationsystem.team.repository.MemberOfRepository;
+import com.reddert.notificationsystem.team.repository.TeamRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class BulkMembershipServiceTest {
+
+  @Mock private TeamRepository teamRepository;
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private MemberOfRepository memberOfRepository;
+
+  @Mock private RoleCache roleCache;
+
+  @Mock private EntityManager entityManager;
+
+  private BulkMembershipService bulkMembershipService;
+  private UUID teamId;
+  private final List<List<MemberOf>> writtenChunks = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    bulkMembershipService = new BulkMembershipService(
+        teamRepository, userRepository, memberOfRepository, roleCache, entityManager, 2);
+
+    teamId = UUID.randomUUID();
+    Team team = mock(Team.class);
+    when(team.getId()).thenReturn(teamId);
+    when(teamRepository.existsById(teamId)).thenReturn(true);
+    when(entityManager.getReference(Team.class, teamId)).thenReturn(team);
+    when(roleCache.get(RoleType.MEMBER)).thenReturn(new Role(RoleType.MEMBER));
+    when(entityManager.getReference(eq(User.class), any())).thenAnswer(invocation -> {
+      User user = new User();
+      user.setId(invocation.getArgument(1));
+      return user;
+    });
+    // Copy each chunk, since the service reuses the list once it is written
+    when(memberOfRepository.saveAll(anyList())).thenAnswer(invocation -> {
+      List<MemberOf> chunk = invocation.getArgument(0);
+      writtenChunks.add(List.copyOf(chunk));
+      return chunk;
+    });
+  }
+
+  @Test
+  void addMembersToTeam_shouldQueryOnceAndReportPerUserOutcomes() {
+    UUID newUser = UUID.randomUUID();
+    UUID otherNewUser = UUID.randomUUID();
+    UUID thirdNewUser = UUID.randomUUID();
+    UUID existingMember = UUID.randomUUID();
+    UUID unknownUser = UUID.randomUUID();
+    when(userRepository.findExistingIds(anyCollection()))
+        .thenReturn(List.of(newUser, otherNewUser, thirdNewUser, existingMember));
+    when(memberOfRepository.findMemberIdsIn(eq(teamId), anyCollection()))
+        .thenReturn(List.of(existingMember));
+
+    BulkAddMembersResultDTO result = bulkMembershipService.addMembersToTeam(teamId, Arrays.asList(
+        newUser, existingMember, unknownUser, null, otherNewUser, newUser, thirdNewUser));
+
+    assertEquals(3, result.added());
+    assertEquals(4, result.rejected());
+    assertEquals(
+        List.of(
+            BulkMemberResultDTO.Status.ADDED,
+            BulkMemberResultDTO.Status.ALREADY_MEMBER,
+            BulkMemberResultDTO.Status.USER_NOT_FOUND,
+            BulkMemberResultDTO.Status.INVALID,
+            BulkMemberResultDTO.Status.ADDED,
+            BulkMemberResultDTO.Status.ALREADY_MEMBER,
+            BulkMemberResultDTO.Status.ADDED),
+        result.results().stream().map(BulkMemberResultDTO::status).toList());
+    verify(userRepository, times(1)).findExistingIds(anyCollection());
+    verify(memberOfRepository, times(1)).findMemberIdsIn(eq(teamId), anyCollection());
+  }
+
+  @Test
+  void addMembersToTeam_shouldWriteMembersInChunksWithTheMemberRole() {
+    List<UUID> userIds = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+    when(userRepository.findExistingIds(anyCollection())).thenReturn(userIds);
+
+    bulkMembershipService.addMembersToTeam(teamId, userIds);
+
+    assertEquals(List.of(2, 1), writtenChunks.stream().map(List::size).toList());
+    writtenChunks.stream().flatMap(List::stream).forEach(member -> {
+      assertEquals(RoleType.MEMBER, member.getRole().getRoleType());
+      assertEquals(teamId, member.getId().getTeamId());
+    });
+    verify(entityManager, times(2)).flush();
+    verify(entityManager, times(2)).clear();
+  }
+
+  @Test
+  void addMembersToTeam_shouldThrowWhenTeamDoesNotExist() {
+    UUID missingTeam = UUID.randomUUID();
+    when(teamRepository.existsById(missingTeam)).thenReturn(false);
+
+    assertThrows(
+        EntityNotFoundException.class,
+        () -> bulkMembershipService.addMembersToTeam(missingTeam, List.of(UUID.randomUUID())));
+    verify(memberOfRepository, never()).saveAll(anyList());
+  }
+}
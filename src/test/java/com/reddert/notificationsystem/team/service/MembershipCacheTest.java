@@ -0,0 +1,97 @@
+package com.reddert.notificationsystem.team.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reddert.notificationsystem.team.config.MembershipCacheProperties;
+import com.reddert.notificationsystem.team.model.MemberOfId;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.MemberOfRepository;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class MembershipCacheTest {
+
+  @Mock private MemberOfRepository memberOfRepository;
+
+  private final AtomicLong clock = new AtomicLong();
+  private MembershipCache membershipCache;
+  private UUID userId;
+  private UUID teamId;
+  private MemberOfId id;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    membershipCache = new MembershipCache(
+        memberOfRepository, new MembershipCacheProperties(Duration.ofMinutes(5), 100), clock::get);
+    userId = UUID.randomUUID();
+    teamId = UUID.randomUUID();
+    id = new MemberOfId(userId, teamId);
+  }
+
+  @Test
+  void roleOf_shouldServeRepeatedLookupsFromCache() {
+    when(memberOfRepository.findRole_RoleTypeById(id)).thenReturn(RoleType.ADMIN);
+
+    assertEquals(Optional.of(RoleType.ADMIN), membershipCache.roleOf(userId, teamId));
+    assertEquals(Optional.of(RoleType.ADMIN), membershipCache.roleOf(userId, teamId));
+
+    verify(memberOfRepository, times(1)).findRole_RoleTypeById(id);
+  }
+
+  @Test
+  void roleOf_forNonMember_shouldReturnEmptyAndNotCache() {
+    assertTrue(membershipCache.roleOf(userId, teamId).isEmpty());
+    assertTrue(membershipCache.roleOf(userId, teamId).isEmpty());
+
+    verify(memberOfRepository, times(2)).findRole_RoleTypeById(id);
+    assertEquals(0, membershipCache.size());
+  }
+
+  @Test
+  void evict_shouldReloadTheChangedRole() {
+    when(memberOfRepository.findRole_RoleTypeById(id))
+        .thenReturn(RoleType.MEMBER)
+        .thenReturn(RoleType.ADMIN);
+    membershipCache.roleOf(userId, teamId);
+
+    membershipCache.evict(id);
+
+    assertEquals(Optional.of(RoleType.ADMIN), membershipCache.roleOf(userId, teamId));
+  }
+
+  @Test
+  void roleOf_shouldNotCacheAValueReadWhileAWriteWasEvicting() {
+    when(memberOfRepository.findRole_RoleTypeById(id))
+        .thenAnswer(invocation -> {
+          // A concurrent role change evicts between this read and the caller caching it
+          membershipCache.evict(id);
+          return RoleType.MEMBER;
+        })
+        .thenReturn(RoleType.ADMIN);
+
+    assertEquals(Optional.of(RoleType.MEMBER), membershipCache.roleOf(userId, teamId));
+    assertEquals(Optional.of(RoleType.ADMIN), membershipCache.roleOf(userId, teamId));
+  }
+
+  @Test
+  void roleOf_shouldReloadAfterTheEntryExpires() {
+    when(memberOfRepository.findRole_RoleTypeById(id)).thenReturn(RoleType.GUEST);
+    membershipCache.roleOf(userId, teamId);
+
+    clock.addAndGet(Duration.ofMinutes(6).toNanos());
+    membershipCache.roleOf(userId, teamId);
+
+    verify(memberOfRepository, times(2)).findRole_RoleTypeById(id);
+  }
+}
@@ -0,0 +1,121 @@
+package com.reddert.notificationsystem.team.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reddert.notificationsystem.notification.exceptions.InvalidCursorException;
+import com.reddert.notificationsystem.team.dtos.TeamDTO;
+import com.reddert.notificationsystem.team.dtos.TeamPageDTO;
+import com.reddert.notificationsystem.team.dtos.TeamSortField;
+import com.reddert.notificationsystem.team.model.Team;
+import com.reddert.notificationsystem.team.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Pages through the team catalog against a real database. Teams are created under a
+ * prefix unique to each test so other tests' teams never show up in the results. Shares
+ * its configuration with {@link TeamMembershipQueryTest} so both run in one context.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:teammembershipquery",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "notification.dispatch.enabled=false",
+    "notification.scheduler.enabled=false",
+    "notification.retention.enabled=false"
+})
+class TeamCatalogQueryTest {
+
+  @Autowired private TeamService teamService;
+
+  @Autowired private TeamRepository teamRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private String prefix;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    prefix = "Catalog " + UUID.randomUUID() + " ";
+  }
+
+  @Test
+  void getTeams_shouldPageThroughMatchingTeamsInNameOrder() {
+    // Duplicate names make sure ties are broken by id, not skipped or repeated
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      names.add(prefix + (char) ('g' - i));
+      names.add(prefix + (char) ('g' - i));
+    }
+    names.forEach(name -> teamRepository.save(new Team(name)));
+
+    List<String> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      TeamPageDTO page = teamService.getTeams(
+          prefix, TeamSortField.NAME, Sort.Direction.DESC, cursor, 4, true);
+      assertEquals(14, page.total());
+      page.items().stream().map(TeamDTO::name).forEach(seen::add);
+      cursor = page.nextCursor();
+    } while (cursor != null);
+
+    names.sort(Comparator.reverseOrder());
+    assertEquals(names, seen);
+  }
+
+  @Test
+  void getTeams_shouldCostOneStatementPerPageWithoutTotal() {
+    for (int i = 0; i < 30; i++) {
+      teamRepository.save(new Team(prefix + i));
+    }
+    TeamPageDTO first = teamService.getTeams(
+        prefix, TeamSortField.CREATED_AT, Sort.Direction.ASC, null, 10, false);
+
+    statistics.clear();
+    TeamPageDTO second = teamService.getTeams(
+        prefix, TeamSortField.CREATED_AT, Sort.Direction.ASC, first.nextCursor(), 10, false);
+
+    assertEquals(1, statistics.getPrepareStatementCount());
+    assertNull(second.total());
+    assertEquals(10, second.items().size());
+    second.items().forEach(team -> assertFalse(first.items().contains(team)));
+  }
+
+  @Test
+  void getTeams_shouldReturnEmptyPageWhenNothingMatches() {
+    TeamPageDTO page = teamService.getTeams(
+        prefix, TeamSortField.NAME, Sort.Direction.ASC, null, null, true);
+
+    assertEquals(List.of(), page.items());
+    assertNull(page.nextCursor());
+    assertEquals(0, page.total());
+  }
+
+  @Test
+  void getTeams_shouldRejectCursorIssuedForAnotherOrdering() {
+    for (int i = 0; i < 3; i++) {
+      teamRepository.save(new Team(prefix + i));
+    }
+    String cursor = teamService.getTeams(
+        prefix, TeamSortField.NAME, Sort.Direction.ASC, null, 1, false).nextCursor();
+
+    assertThrows(
+        InvalidCursorException.class,
+        () -> teamService.getTeams(
+            prefix, TeamSortField.CREATED_AT, Sort.Direction.ASC, cursor, 1, false));
+  }
+}
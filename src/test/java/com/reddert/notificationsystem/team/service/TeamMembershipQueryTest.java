@@ -0,0 +1,139 @@
+package com.reddert.notificationsystem.team.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reddert.notificationsystem.team.dtos.CreateTeamDTO;
+import com.reddert.notificationsystem.team.dtos.CreateUserMemberShipDTO;
+import com.reddert.notificationsystem.team.dtos.MembershipPageDTO;
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.repository.RoleRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Checks the statements behind the membership listings against a real database: a page
+ * costs one query however many members it holds, and no entities are loaded. The
+ * background jobs are switched off so they do not add to the session factory statistics.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:teammembershipquery",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "notification.dispatch.enabled=false",
+    "notification.scheduler.enabled=false",
+    "notification.retention.enabled=false"
+})
+class TeamMembershipQueryTest {
+
+  @Autowired private TeamService teamService;
+
+  @Autowired private UserRepository userRepository;
+
+  @Autowired private RoleRepository roleRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    for (RoleType roleType : RoleType.values()) {
+      if (roleRepository.findByRoleType(roleType).isEmpty()) {
+        roleRepository.save(new Role(roleType));
+      }
+    }
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void getAllMembersInTeam_shouldUseOneStatementRegardlessOfTeamSize() {
+    UUID smallTeam = createTeam(2);
+    UUID largeTeam = createTeam(60);
+
+    Counted<MembershipPageDTO> small = count(() -> teamService.getAllMembersInTeam(smallTeam, null, null));
+    Counted<MembershipPageDTO> large = count(() -> teamService.getAllMembersInTeam(largeTeam, null, null));
+
+    assertEquals(3, small.result().items().size());
+    assertEquals(61, large.result().items().size());
+    assertEquals(1, small.statements());
+    assertEquals(small.statements(), large.statements());
+    assertEquals(0, large.entityLoads());
+  }
+
+  @Test
+  void getAllMembersInTeam_shouldPageThroughEveryMemberOnce() {
+    UUID teamId = createTeam(24);
+
+    Set<UUID> seen = new HashSet<>();
+    UUID cursor = null;
+    int pages = 0;
+    do {
+      MembershipPageDTO page = teamService.getAllMembersInTeam(teamId, cursor, 10);
+      page.items().forEach(member -> {
+        assertEquals(teamId, member.teamId());
+        seen.add(member.userId());
+      });
+      cursor = page.nextCursor();
+      pages++;
+    } while (cursor != null);
+
+    assertEquals(25, seen.size());
+    assertEquals(3, pages);
+  }
+
+  @Test
+  void getUserMemberships_shouldUseOneStatementRegardlessOfMembershipCount() {
+    User user = userRepository.save(new User("member", "member-" + UUID.randomUUID() + "@example.com"));
+    List<UUID> teams = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      UUID teamId = createTeam(0);
+      teamService.addMemberToTeam(new CreateUserMemberShipDTO(user.getId(), teamId, null, null));
+      teams.add(teamId);
+    }
+    User newcomer = userRepository.save(new User("newcomer", "newcomer-" + UUID.randomUUID() + "@example.com"));
+    teamService.addMemberToTeam(new CreateUserMemberShipDTO(newcomer.getId(), teams.get(0), null, null));
+
+    Counted<MembershipPageDTO> few = count(() -> teamService.getUserMemberships(newcomer.getId(), null, null));
+    Counted<MembershipPageDTO> many = count(() -> teamService.getUserMemberships(user.getId(), null, null));
+
+    assertEquals(1, few.result().items().size());
+    assertEquals(12, many.result().items().size());
+    assertEquals(RoleType.MEMBER.name(), many.result().items().get(0).roleTypeName());
+    assertNull(many.result().nextCursor());
+    assertEquals(few.statements(), many.statements());
+    assertEquals(0, many.entityLoads());
+  }
+
+  private UUID createTeam(int members) {
+    User owner = userRepository.save(new User("owner", "owner-" + UUID.randomUUID() + "@example.com"));
+    UUID teamId = teamService.createTeam(new CreateTeamDTO("Team " + UUID.randomUUID(), null, owner.getId())).id();
+    for (int i = 0; i < members; i++) {
+      User user = userRepository.save(new User("user" + i, "user-" + UUID.randomUUID() + "@example.com"));
+      teamService.addMemberToTeam(new CreateUserMemberShipDTO(user.getId(), teamId, null, null));
+    }
+    return teamId;
+  }
+
+  private <T> Counted<T> count(Supplier<T> call) {
+    statistics.clear();
+    T result = call.get();
+    return new Counted<>(result, statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+  }
+
+  private record Counted<T>(T result, long statements, long entityLoads) {
+  }
+}
@@ -0,0 +1,143 @@
+package com.reddert.notificationsystem.team.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reddert.notificationsystem.team.config.MembershipCacheProperties;
+import com.reddert.notificationsystem.team.model.MemberOf;
+import com.reddert.notificationsystem.team.model.MemberOfId;
+import com.reddert.notificationsystem.team.model.Role;
+import com.reddert.notificationsystem.team.model.RoleType;
+import com.reddert.notificationsystem.team.model.Team;
+import com.reddert.notificationsystem.team.repository.MemberOfRepository;
+import com.reddert.notificationsystem.team.repository.RoleRepository;
+import com.reddert.notificationsystem.team.repository.TeamRepository;
+import com.reddert.notificationsystem.user.model.User;
+import com.reddert.notificationsystem.user.repository.UserRepository;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+class TeamServiceTest {
+
+  @Mock private TeamRepository teamRepository;
+
+  @Mock private UserRepository userRepository;
+
+  @Mock private MemberOfRepository memberOfRepository;
+
+  @Mock private RoleRepository roleRepository;
+
+  private final Map<RoleType, Role> roles = new EnumMap<>(RoleType.class);
+  private TeamService teamService;
+  private Team team;
+  private UUID teamId;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    Arrays.stream(RoleType.values()).forEach(roleType -> roles.put(roleType, new Role(roleType)));
+    when(roleRepository.findAll()).thenReturn(List.copyOf(roles.values()));
+    RoleCache roleCache = new RoleCache(roleRepository);
+    roleCache.load();
+    teamService = new TeamService(teamRepository, userRepository, memberOfRepository,
+        new MembershipCache(
+            memberOfRepository, new MembershipCacheProperties(Duration.ofMinutes(5), 100)),
+        roleCache);
+
+    teamId = UUID.randomUUID();
+    team = mock(Team.class);
+    when(team.getId()).thenReturn(teamId);
+  }
+
+  @Test
+  void changeUserRole_deniedOnCacheHit_shouldNotQuery() {
+    MemberOf requester = member(RoleType.MEMBER);
+    MemberOf target = member(RoleType.GUEST);
+    UUID requesterId = requester.getUser().getId();
+    UUID targetId = target.getUser().getId();
+
+    assertThrows(IllegalArgumentException.class,
+        () -> teamService.changeUserRole(teamId, requesterId, targetId, "member"));
+    clearInvocations(memberOfRepository);
+    clearInvocations(roleRepository);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> teamService.changeUserRole(teamId, requesterId, targetId, "member"));
+    verifyNoInteractions(memberOfRepository, roleRepository);
+  }
+
+  @Test
+  void changeUserRole_ownerTransfer_shouldAssignSharedRoleRows() {
+    MemberOf owner = member(RoleType.OWNER);
+    MemberOf admin = member(RoleType.ADMIN);
+
+    teamService.changeUserRole(teamId, owner.getUser().getId(), admin.getUser().getId(), "owner");
+
+    assertSame(roles.get(RoleType.OWNER), admin.getRole());
+    assertSame(roles.get(RoleType.ADMIN), owner.getRole());
+    verify(roleRepository, never()).findByRoleType(any());
+  }
+
+  @Test
+  void deleteMemberFromTeam_ownerLeaving_shouldPromoteAdminWithoutChangingRoleRows() {
+    MemberOf owner = member(RoleType.OWNER);
+    MemberOf admin = member(RoleType.ADMIN);
+    when(memberOfRepository.findAllByTeam_IdAndRole_RoleType(teamId, RoleType.ADMIN))
+        .thenReturn(List.of(admin));
+    UUID ownerId = owner.getUser().getId();
+
+    teamService.deleteMemberFromTeam(teamId, ownerId, ownerId);
+
+    verify(memberOfRepository).delete(owner);
+    assertSame(roles.get(RoleType.OWNER), admin.getRole());
+    assertEquals(RoleType.ADMIN, roles.get(RoleType.ADMIN).getRoleType());
+    verify(teamRepository, never()).deleteById(any());
+  }
+
+  @Test
+  void deleteMemberFromTeam_lastOwnerLeaving_shouldDeleteTheTeam() {
+    MemberOf owner = member(RoleType.OWNER);
+    UUID ownerId = owner.getUser().getId();
+
+    teamService.deleteMemberFromTeam(teamId, ownerId, ownerId);
+
+    verify(teamRepository).deleteById(teamId);
+  }
+
+  @Test
+  void removeMemberFromTeam_shouldCheckTheRequestorsOwnRole() {
+    MemberOf requestor = member(RoleType.MEMBER);
+    MemberOf target = member(RoleType.GUEST);
+
+    assertThrows(IllegalArgumentException.class, () -> teamService.removeMemberFromTeam(
+        teamId, requestor.getUser().getId(), target.getUser().getId()));
+    verify(memberOfRepository, never()).deleteById(any());
+  }
+
+  private MemberOf member(RoleType roleType) {
+    User user = new User("Member " + roleType, roleType + "@example.com");
+    user.setId(UUID.randomUUID());
+    MemberOf member = new MemberOf(user, team, roles.get(roleType));
+    MemberOfId id = new MemberOfId(user.getId(), teamId);
+    when(memberOfRepository.findRole_RoleTypeById(id)).thenReturn(roleType);
+    when(memberOfRepository.findById(id)).thenReturn(Optional.of(member));
+    return member;
+  }
+}